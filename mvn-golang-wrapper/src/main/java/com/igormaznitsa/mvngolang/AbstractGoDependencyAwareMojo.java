@@ -17,20 +17,26 @@ package com.igormaznitsa.mvngolang;
 
 import com.igormaznitsa.meta.annotation.MustNotContainNull;
 import static com.igormaznitsa.meta.common.utils.Assertions.assertNotNull;
+import com.igormaznitsa.meta.common.utils.GetUtils;
+import com.igormaznitsa.mvngolang.utils.DependencyStore;
 import com.igormaznitsa.mvngolang.utils.GoMod;
 import com.igormaznitsa.mvngolang.utils.IOUtils;
 import com.igormaznitsa.mvngolang.utils.MavenUtils;
 import com.igormaznitsa.mvngolang.utils.ProxySettings;
 import com.igormaznitsa.mvngolang.utils.Tuple;
+import com.igormaznitsa.mvngolang.utils.UnpackMarker;
+import com.igormaznitsa.mvngolang.utils.UnpackUtils;
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import org.apache.commons.compress.archivers.zip.ZipFile;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.io.filefilter.FileFilterUtils;
@@ -40,12 +46,14 @@ import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.shared.transfer.artifact.resolve.ArtifactResolverException;
-import org.zeroturnaround.zip.ZipUtil;
 
 public abstract class AbstractGoDependencyAwareMojo extends AbstractGolangMojo {
 
   public static final String GO_MOD_FILE_NAME_BAK = ".#go.mod.mvn.orig";
 
+  private static final String DEPENDENCY_STORE_FOLDER = ".depstore";
+  private static final long DEPENDENCY_STORE_MAX_AGE = 30L * 24L * 3600L * 1000L;
+
   /**
    * Internal variable to keep GOPATH part containing folders of unpacked
    * mvn-golang dependencies.
@@ -54,6 +62,13 @@ public abstract class AbstractGoDependencyAwareMojo extends AbstractGolangMojo {
    */
   private String extraGoPathSectionInOsFormat = "";
 
+  /**
+   * Internal variable to keep files of found mvn-golang dependency artifacts.
+   *
+   * @since 2.3.5
+   */
+  private List<File> dependencyArtifactFiles = Collections.emptyList();
+
   /**
    * Find artifacts generated by Mvn-Golang among scope dependencies, unpack
    * them and add unpacked folders into GOPATH during execution.
@@ -92,6 +107,51 @@ public abstract class AbstractGoDependencyAwareMojo extends AbstractGolangMojo {
   @Parameter(name = "syncSessionIfModules", defaultValue = "true")
   private boolean syncSessionIfModules;
 
+  /**
+   * Max number of threads to resolve mvn-golang dependency artifacts, all
+   * artifacts found on the same depth of dependency tree are resolved
+   * concurrently. Value 1 turns off concurrent resolution. Can be defined
+   * through property 'mvn.golang.dependency.resolve.threads'
+   *
+   * @since 2.3.5
+   */
+  @Parameter(name = "dependencyResolveThreads", defaultValue = "4")
+  private int dependencyResolveThreads = 4;
+
+  /**
+   * Way to make unpacked dependency folders. If it is 'none' then every
+   * dependency archive is unpacked directly into dependency temp folder,
+   * otherwise archives are unpacked once into shared store in 'storeFolder'
+   * (keyed by SHA-1 of archive) and folders are made as 'hardlink' (folder
+   * tree with hard linked files), 'symlink' (symbolic link to the store
+   * folder) or 'copy'. Links are replaced by copies if they are not supported
+   * by file system, 'symlink' is replaced by 'hardlink' in module mode
+   * because go.mod files of dependencies can be changed. Folders of the store
+   * which have not been used for 30 days are removed. Can be defined through
+   * property 'mvn.golang.dependency.link.mode'
+   *
+   * @since 2.3.5
+   */
+  @Parameter(name = "dependencyLinkMode", defaultValue = "none")
+  private String dependencyLinkMode = "none";
+
+  @Nonnull
+  public String getDependencyLinkMode() {
+    return findMvnProperty("mvn.golang.dependency.link.mode", GetUtils.ensureNonNull(this.dependencyLinkMode, "none")).trim();
+  }
+
+  public void setDependencyLinkMode(@Nullable final String value) {
+    this.dependencyLinkMode = value;
+  }
+
+  public int getDependencyResolveThreads() {
+    return Math.max(1, Integer.parseInt(findMvnProperty("mvn.golang.dependency.resolve.threads", Integer.toString(this.dependencyResolveThreads)).trim()));
+  }
+
+  public void setDependencyResolveThreads(final int value) {
+    this.dependencyResolveThreads = value;
+  }
+
   public boolean isSyncSessionIfModules() {
     return Boolean.parseBoolean(findMvnProperty("mvn.golang.sync.session.if.modules", Boolean.toString(this.syncSessionIfModules)));
   }
@@ -215,6 +275,7 @@ public abstract class AbstractGoDependencyAwareMojo extends AbstractGolangMojo {
     for (final Tuple<GoMod, File> i : parsed) {
       if (replaceLinksToModules(i, parsed)) {
         changedCounter = 0;
+        DependencyStore.detach(i.right());
         FileUtils.write(i.right(), i.left().toString(), StandardCharsets.UTF_8);
       }
     }
@@ -260,11 +321,22 @@ public abstract class AbstractGoDependencyAwareMojo extends AbstractGolangMojo {
                 this.getSession(),
                 this.getExecution(),
                 this.getArtifactResolver(),
-                this.getRemoteRepositories());
+                this.getRemoteRepositories(),
+                this.getDependencyResolveThreads(),
+                this.getSessionCache());
       } catch (ArtifactResolverException ex) {
         throw new MojoFailureException("Can't resolve artifact", ex);
       }
 
+      final List<File> artifactFiles = new ArrayList<>();
+      for (final Tuple<Artifact, File> t : foundArtifacts) {
+        final File file = t.left().getFile();
+        if (file != null) {
+          artifactFiles.add(file);
+        }
+      }
+      this.dependencyArtifactFiles = Collections.unmodifiableList(artifactFiles);
+
       if (foundArtifacts.isEmpty()) {
         getLog().debug("Mvn golang dependencies are not found");
         this.extraGoPathSectionInOsFormat = "";
@@ -356,80 +428,131 @@ public abstract class AbstractGoDependencyAwareMojo extends AbstractGolangMojo {
       throw new MojoExecutionException("Can't create folder to unpack dependencies: " + targetFolder);
     }
 
+    final DependencyStore.LinkMode linkMode;
+    final String linkModeName = this.getDependencyLinkMode();
+    if ("none".equalsIgnoreCase(linkModeName)) {
+      linkMode = null;
+    } else {
+      try {
+        final DependencyStore.LinkMode parsed = DependencyStore.LinkMode.parse(linkModeName);
+        linkMode = parsed == DependencyStore.LinkMode.SYMLINK && this.isModuleMode() ? DependencyStore.LinkMode.HARDLINK : parsed;
+      } catch (IllegalArgumentException ex) {
+        throw new MojoExecutionException("Unsupported dependency link mode: " + linkModeName, ex);
+      }
+    }
+    final DependencyStore store = linkMode == null ? null : new DependencyStore(new File(this.getStoreFolder(), DEPENDENCY_STORE_FOLDER));
+
     for (final Tuple<Artifact, File> zipFile : zippedArtifacts) {
       final File outDir = new File(targetFolder, FilenameUtils.getBaseName(zipFile.right().getName()));
 
       final boolean doUnpackArch;
       if (outDir.isDirectory()) {
         this.getLog().debug("Unpacked dependemcy folder already exists: " + outDir);
-        if (Boolean.parseBoolean(MavenUtils.findProperty(this.getSession(), this.getProject(), "mvn.golang.force.clean.dependency", "false"))) {
-          this.getLog().debug("Forcing dependency folder delete: " + outDir);
+        final boolean forceClean = Boolean.parseBoolean(MavenUtils.findProperty(this.getSession(), this.getProject(), "mvn.golang.force.clean.dependency", "false"));
+        final boolean actual;
+        try {
+          actual = !forceClean && UnpackMarker.isActual(outDir, zipFile.right());
+        } catch (IOException ex) {
+          throw new MojoExecutionException("Can't check dependency archive: " + zipFile.right(), ex);
+        }
+        if (actual) {
+          getLog().debug("Ignoring dependency unpack because archive is not changed: " + outDir);
+          final UnpackMarker marker = store == null ? null : UnpackMarker.load(outDir);
+          if (marker != null) {
+            store.touch(marker.getSha1(), System.currentTimeMillis());
+          }
+          doUnpackArch = false;
+        } else {
+          if (forceClean) {
+            this.getLog().debug("Forcing dependency folder delete: " + outDir);
+          } else {
+            this.getLog().info("Dependency folder is out of date and will be unpacked again: " + outDir);
+          }
           try {
+            UnpackMarker.delete(outDir);
             FileUtils.deleteDirectory(outDir);
           } catch (IOException ex) {
             throw new MojoExecutionException("Can't delete dependency folder: " + outDir, ex);
           }
           doUnpackArch = true;
-        } else {
-          getLog().debug("Ignoring dependency unpack because folder exists: " + outDir);
-          doUnpackArch = false;
         }
       } else {
         doUnpackArch = true;
       }
 
       if (doUnpackArch) {
-        if (ZipUtil.containsEntry(zipFile.right(), GolangMvnInstallMojo.MVNGOLANG_BUILD_FOLDERS_FILE)) {
-          final File srcTargetFolder = new File(outDir, "src");
-          try {
-            unzipSrcFoldersContent(zipFile.right(), srcTargetFolder);
-          } catch (Exception ex) {
-            throw new MojoExecutionException("Can't unpack source folders from dependency archive '" + zipFile.right().getName() + "' into folder '" + srcTargetFolder + '\'', ex);
+        try {
+          UnpackMarker.delete(outDir);
+          if (Files.isSymbolicLink(outDir.toPath())) {
+            Files.delete(outDir.toPath());
           }
-        } else {
-          try {
-            getLog().debug("Unpack dependency archive: " + zipFile);
-            ZipUtil.unpack(zipFile.right(), outDir, StandardCharsets.UTF_8);
-          } catch (Exception ex) {
-            throw new MojoExecutionException("Can't unpack dependency archive '" + zipFile.right().getName() + "' into folder '" + targetFolder + '\'', ex);
+          final UnpackMarker marker = UnpackMarker.of(zipFile.right());
+          if (store == null) {
+            this.unpackDependencyArchive(zipFile, outDir);
+          } else {
+            final File storedFolder = store.unpack(zipFile.right(), marker.getSha1(), folder -> this.unpackDependencyArchive(zipFile, folder));
+            final DependencyStore.LinkMode usedMode = DependencyStore.materialize(storedFolder, outDir, linkMode);
+            getLog().debug(String.format("Dependency folder %s made as %s of %s", outDir, usedMode, storedFolder));
           }
+          marker.save(outDir, zipFile.right());
+        } catch (IOException ex) {
+          throw new MojoExecutionException("Can't make dependency folder '" + outDir + "' for archive: " + zipFile.right(), ex);
         }
       }
 
       resultFolders.add(Tuple.of(zipFile.left(), outDir));
     }
-    return resultFolders;
-  }
 
-  private boolean unzipSrcFoldersContent(@Nonnull
-          final File artifactZip, @Nonnull
-          final File targetFolder) {
-    final byte[] buildFolderListFile = ZipUtil.unpackEntry(artifactZip, GolangMvnInstallMojo.MVNGOLANG_BUILD_FOLDERS_FILE);
-    if (buildFolderListFile == null) {
-      return false;
-    } else {
-      final List<String> folderList = new ArrayList<>();
-      for (final String folder : new String(buildFolderListFile, StandardCharsets.UTF_8).split("\\n")) {
-        final String trimmed = folder.trim();
-        if (trimmed.isEmpty()) {
-          continue;
-        }
-        folderList.add(folder + '/');
+    if (store != null) {
+      final int removed = store.prune(DEPENDENCY_STORE_MAX_AGE, System.currentTimeMillis());
+      if (removed > 0) {
+        logOptionally("Removed " + removed + " not used folder(s) from dependency store");
       }
+    }
+    return resultFolders;
+  }
 
-      for (final String folder : folderList) {
-        ZipUtil.unpack(artifactZip, targetFolder, (@Nonnull
-        final String name) -> {
-          if (name.startsWith(folder)) {
-            return name.substring(folder.length());
+  /**
+   * Unpack dependency archive by single pass. If the archive contains list of
+   * build folders then only content of the folders is unpacked into 'src'
+   * subfolder, otherwise whole archive is unpacked.
+   */
+  private void unpackDependencyArchive(@Nonnull final Tuple<Artifact, File> zipFile, @Nonnull final File outDir) throws MojoExecutionException {
+    final int threads = Runtime.getRuntime().availableProcessors();
+    try (final ZipFile zip = new ZipFile(zipFile.right())) {
+      final byte[] buildFolderListFile = UnpackUtils.readZipEntry(zip, GolangMvnInstallMojo.MVNGOLANG_BUILD_FOLDERS_FILE);
+      if (buildFolderListFile == null) {
+        getLog().debug("Unpack dependency archive: " + zipFile);
+        UnpackUtils.unpackZipFolders(getLog(), zip, null, outDir, threads);
+      } else {
+        final List<String> folderList = new ArrayList<>();
+        for (final String folder : new String(buildFolderListFile, StandardCharsets.UTF_8).split("\\n")) {
+          final String trimmed = folder.trim();
+          if (!trimmed.isEmpty()) {
+            folderList.add(trimmed);
           }
-          return null;
-        });
+        }
+        final File srcTargetFolder = new File(outDir, "src");
+        getLog().debug(String.format("Unpack %d source folder(s) of dependency archive: %s", folderList.size(), zipFile));
+        UnpackUtils.unpackZipFolders(getLog(), zip, folderList, srcTargetFolder, threads);
       }
-      return true;
+    } catch (IOException ex) {
+      throw new MojoExecutionException("Can't unpack dependency archive '" + zipFile.right().getName() + "' into folder '" + outDir + '\'', ex);
     }
   }
 
+  /**
+   * Get files of found mvn-golang dependency artifacts.
+   *
+   * @return list of artifact files, empty if dependencies are not scanned
+   * @since 2.3.5
+   */
+  @Nonnull
+  @MustNotContainNull
+  protected List<File> getDependencyArtifactFiles() {
+    return this.dependencyArtifactFiles;
+  }
+
   @Nonnull
   @Override
   protected final String getSpecialPartOfGoPath() {
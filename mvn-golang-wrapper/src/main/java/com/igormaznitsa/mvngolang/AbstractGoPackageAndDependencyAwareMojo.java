@@ -18,8 +18,15 @@ package com.igormaznitsa.mvngolang;
 import com.igormaznitsa.meta.annotation.MustNotContainNull;
 import com.igormaznitsa.meta.common.utils.ArrayUtils;
 import com.igormaznitsa.meta.common.utils.GetUtils;
+import com.igormaznitsa.mvngolang.utils.ProxySettings;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.Parameter;
 
 public abstract class AbstractGoPackageAndDependencyAwareMojo extends AbstractGoDependencyAwareMojo {
@@ -30,6 +37,42 @@ public abstract class AbstractGoPackageAndDependencyAwareMojo extends AbstractGo
   @Parameter(name = "packages")
   private String[] packages;
 
+  /**
+   * Number of shards to split the package list for concurrent execution. It
+   * is used only by commands processing each package independently (vet, fmt,
+   * fix, generate), shards are executed by threads which number is not
+   * greater than number of available processors. Output of each shard is
+   * printed as separated block. Value 1 disables sharding, 0 means number of
+   * available processors. Can be defined through property
+   * 'mvn.golang.package.shards'
+   *
+   * @since 2.3.5
+   */
+  @Parameter(name = "packageShards", defaultValue = "1")
+  private int packageShards = 1;
+
+  private final ThreadLocal<String[]> currentPackageShard = new ThreadLocal<>();
+
+  public int getPackageShards() {
+    final int value = Integer.parseInt(findMvnProperty("mvn.golang.package.shards", Integer.toString(this.packageShards)).trim());
+    return value == 0 ? Runtime.getRuntime().availableProcessors() : value;
+  }
+
+  public void setPackageShards(final int value) {
+    this.packageShards = value;
+  }
+
+  /**
+   * Check that the command processes each package independently so that
+   * packages can be split into shards executed concurrently.
+   *
+   * @return true if packages can be processed by concurrent shards
+   * @since 2.3.5
+   */
+  protected boolean isPackageShardingSupported() {
+    return false;
+  }
+
   @Nullable
   @MustNotContainNull
   protected String[] getDefaultPackages() {
@@ -50,7 +93,40 @@ public abstract class AbstractGoPackageAndDependencyAwareMojo extends AbstractGo
   @Nonnull
   @MustNotContainNull
   public String[] getTailArguments() {
-    return GetUtils.ensureNonNull(getPackages(), ArrayUtils.EMPTY_STRING_ARRAY);
+    final String[] shard = this.currentPackageShard.get();
+    return shard == null ? GetUtils.ensureNonNull(getPackages(), ArrayUtils.EMPTY_STRING_ARRAY) : shard.clone();
+  }
+
+  @Override
+  protected boolean doMainBusiness(@Nullable final ProxySettings proxySettings, final int maxAttempts) throws InterruptedException, MojoFailureException, MojoExecutionException, IOException {
+    final String[] allPackages = GetUtils.ensureNonNull(getPackages(), ArrayUtils.EMPTY_STRING_ARRAY);
+    final int shards = Math.min(this.getPackageShards(), allPackages.length);
+
+    if (!this.isPackageShardingSupported() || shards <= 1) {
+      return super.doMainBusiness(proxySettings, maxAttempts);
+    }
+
+    if (this.isWholeConsoleOutNeeded()) {
+      getLog().warn("Package shards are not used because whole console output is needed (for instance to be saved into log file)");
+      return super.doMainBusiness(proxySettings, maxAttempts);
+    }
+
+    final List<List<String>> split = new ArrayList<>();
+    for (int i = 0; i < shards; i++) {
+      split.add(new ArrayList<>());
+    }
+    for (int i = 0; i < allPackages.length; i++) {
+      split.get(i % shards).add(allPackages[i]);
+    }
+
+    final List<String[]> shardList = new ArrayList<>();
+    for (final List<String> s : split) {
+      shardList.add(s.toArray(new String[0]));
+    }
+
+    final int threads = Math.min(shards, Runtime.getRuntime().availableProcessors());
+    return this.doMainBusinessConcurrently(proxySettings, maxAttempts, threads, shardList, this.currentPackageShard,
+        shard -> "shard " + (shardList.indexOf(shard) + 1) + '/' + shardList.size() + ' ' + Arrays.toString(shard));
   }
 
   @Override
@@ -28,8 +28,19 @@ import com.igormaznitsa.meta.common.utils.ArrayUtils;
 import com.igormaznitsa.meta.common.utils.Assertions;
 import com.igormaznitsa.meta.common.utils.GetUtils;
 import com.igormaznitsa.meta.common.utils.StrUtils;
+import com.igormaznitsa.mvngolang.cvs.AbstractRepo;
+import com.igormaznitsa.mvngolang.utils.ConsoleCapture;
+import com.igormaznitsa.mvngolang.utils.ConsoleLineBuffer;
 import com.igormaznitsa.mvngolang.utils.IOUtils;
+import com.igormaznitsa.mvngolang.utils.InterProcessLock;
+import com.igormaznitsa.mvngolang.utils.PartialDownload;
+import com.igormaznitsa.mvngolang.utils.ProcessPolicy;
+import com.igormaznitsa.mvngolang.utils.ProcessWatchdog;
 import com.igormaznitsa.mvngolang.utils.ProxySettings;
+import com.igormaznitsa.mvngolang.utils.SdkListCache;
+import com.igormaznitsa.mvngolang.utils.SdkManifest;
+import com.igormaznitsa.mvngolang.utils.SessionCache;
+import com.igormaznitsa.mvngolang.utils.SegmentedDownloader;
 import com.igormaznitsa.mvngolang.utils.SysUtils;
 import com.igormaznitsa.mvngolang.utils.UnpackUtils;
 import com.igormaznitsa.mvngolang.utils.WildCardMatcher;
@@ -40,12 +51,17 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
 import java.io.StringReader;
+import java.io.Writer;
 import java.net.InetAddress;
 import java.net.URLEncoder;
 import java.net.UnknownHostException;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
 import java.security.cert.CertificateException;
@@ -55,23 +71,36 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.regex.Pattern;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.TrustManager;
 import javax.net.ssl.X509TrustManager;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.io.filefilter.FileFilterUtils;
+import org.apache.commons.io.input.ProxyInputStream;
+import org.apache.commons.io.input.TeeInputStream;
 import org.apache.commons.io.filefilter.TrueFileFilter;
 import org.apache.commons.lang3.SystemUtils;
 import org.apache.http.Header;
@@ -88,6 +117,7 @@ import org.apache.http.client.CredentialsProvider;
 import org.apache.http.client.HttpClient;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpHead;
 import org.apache.http.config.Registry;
 import org.apache.http.config.RegistryBuilder;
 import org.apache.http.conn.routing.HttpRoute;
@@ -100,8 +130,8 @@ import org.apache.http.impl.client.BasicCredentialsProvider;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.client.HttpClients;
-import org.apache.http.impl.conn.BasicHttpClientConnectionManager;
 import org.apache.http.impl.conn.DefaultProxyRoutePlanner;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.apache.http.protocol.HttpContext;
 import org.apache.http.util.EntityUtils;
 import org.apache.maven.artifact.repository.ArtifactRepository;
@@ -116,11 +146,6 @@ import org.apache.maven.project.MavenProject;
 import org.apache.maven.settings.Proxy;
 import org.apache.maven.settings.Settings;
 import org.apache.maven.shared.transfer.artifact.resolve.ArtifactResolver;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.NodeList;
-import org.xml.sax.InputSource;
-import org.xml.sax.SAXException;
 import org.zeroturnaround.exec.ProcessExecutor;
 import org.zeroturnaround.exec.ProcessResult;
 
@@ -135,7 +160,14 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
    */
   public static final String NAME_PATTERN = "go%s.%s-%s%s";
   private static final List<String> ALLOWED_SDKARCHIVE_CONTENT_TYPE = Collections.unmodifiableList(Arrays.asList("application/octet-stream", "application/zip", "application/x-tar", "application/x-gzip"));
-  private static final ReentrantLock LOCKER = new ReentrantLock();
+  /**
+   * Locks per SDK to prevent concurrent check and load of the same SDK by
+   * threads of parallel build.
+   */
+  private static final ConcurrentMap<String, ReentrantLock> SDK_LOCKS = new ConcurrentHashMap<>();
+  private static final long DOWNLOAD_CHECKPOINT_BYTES = 4L * 1024L * 1024L;
+  private static final long DOWNLOAD_CHECKPOINT_PERIOD_MS = 2000L;
+  private static final String SDK_LOCK_FILE_EXTENSION = ".lock";
   private static final String[] BANNER = new String[] {"______  ___             _________     ______",
       "___   |/  /__   __________  ____/________  / ______ ______________ _",
       "__  /|_/ /__ | / /_  __ \\  / __ _  __ \\_  /  _  __ `/_  __ \\_  __ `/",
@@ -535,6 +567,149 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
   @Parameter(name = "connectionTimeout", defaultValue = "60000")
   private int connectionTimeout = 60000;
 
+  /**
+   * Max number of parallel HTTP connections to download SDK archive through
+   * byte ranges. If the value is greater than 1 and server provides
+   * 'Accept-Ranges' then the archive is loaded by segments concurrently,
+   * otherwise it is loaded through single stream. Can be defined through
+   * property 'mvn.golang.sdk.download.threads'
+   *
+   * @since 2.3.5
+   */
+  @Parameter(name = "sdkDownloadThreads", defaultValue = "1")
+  private int sdkDownloadThreads = 1;
+
+  /**
+   * Keep partially loaded SDK archive in a '.part' file with checkpoint if
+   * download is interrupted, next attempt continues the download through HTTP
+   * Range request if the remote archive is not changed. Can be defined through
+   * property 'mvn.golang.sdk.download.resume'
+   *
+   * @since 2.3.5
+   */
+  @Parameter(name = "resumeSdkDownload", defaultValue = "true")
+  private boolean resumeSdkDownload = true;
+
+  /**
+   * Number of threads to unpack ZIP SDK archive, ZIP entries are unpacked
+   * concurrently if the value is greater than 1. Zero or negative value means
+   * number of available processors. Can be defined through property
+   * 'mvn.golang.sdk.unpack.threads'
+   *
+   * @since 2.3.5
+   */
+  @Parameter(name = "sdkUnpackThreads", defaultValue = "0")
+  private int sdkUnpackThreads;
+
+  /**
+   * Check cached SDK folder through its manifest (list of files with sizes
+   * made after unpack) before use. If the folder is damaged then it is deleted
+   * and SDK is loaded again. Can be defined through property
+   * 'mvn.golang.sdk.verify'
+   *
+   * @since 2.3.5
+   */
+  @Parameter(name = "verifySdkCache", defaultValue = "false")
+  private boolean verifySdkCache;
+
+  /**
+   * Unpack TAR.GZ SDK archive directly from HTTP stream during its download so
+   * that download, hash check and unpack are overlapped. The archive is saved
+   * on disk only if 'keepSdkArchive' is set. The mode is not used for
+   * concurrent ranged download and such download can't be resumed. Can be
+   * defined through property 'mvn.golang.sdk.stream.unpack'
+   *
+   * @since 2.3.5
+   */
+  @Parameter(name = "streamSdkUnpack", defaultValue = "false")
+  private boolean streamSdkUnpack;
+
+  /**
+   * Time in seconds to use the list of SDKs cached in the store folder without
+   * check on the SDK site. After the time the cached list is revalidated with
+   * conditional request. Zero makes revalidation for each request and negative
+   * value disables the cache. Can be defined through property
+   * 'mvn.golang.sdk.list.ttl'
+   *
+   * @since 2.3.5
+   */
+  @Parameter(name = "sdkListCacheTtl", defaultValue = "3600")
+  private long sdkListCacheTtl = 3600L;
+
+  /**
+   * Number of last lines of process console output (separately for out and
+   * err) to be kept in memory and printed if the process is failed while its
+   * output has not been printed. Can be defined through property
+   * 'mvn.golang.console.tail.lines'
+   *
+   * @since 2.3.5
+   */
+  @Parameter(name = "consoleTailLines", defaultValue = "1000")
+  private int consoleTailLines = 1000;
+
+  /**
+   * Max size in bytes of captured process console output (separately for out
+   * and err) to be kept in memory if whole output is needed by mojo (for
+   * instance to be written into 'outLogFile'), bigger output is moved into
+   * temporary file. Negative value keeps whole output in memory. Can be
+   * defined through property 'mvn.golang.console.spill.threshold'
+   *
+   * @since 2.3.5
+   */
+  @Parameter(name = "consoleSpillThreshold", defaultValue = "1048576")
+  private long consoleSpillThreshold = 1048576L;
+
+  /**
+   * Max execution time in seconds for each started external process (go tool
+   * and repository commands). If the process is not completed in time then
+   * its process tree is printed, it is stopped and after grace period it is
+   * destroyed forcibly. Zero disables the timeout. Can be defined through
+   * property 'mvn.golang.process.timeout'
+   *
+   * @since 2.3.5
+   */
+  @Parameter(name = "processTimeout", defaultValue = "0")
+  private long processTimeout;
+
+  /**
+   * Time in seconds given to process stopped by timeout to be completed
+   * before its forcible destroy. Can be defined through property
+   * 'mvn.golang.process.kill.grace'
+   *
+   * @since 2.3.5
+   */
+  @Parameter(name = "processKillGrace", defaultValue = "10")
+  private long processKillGrace = 10L;
+
+  /**
+   * Number of retries of external process if it has been stopped by timeout
+   * (or completed with error if 'processRetryOnError' is true). Can be
+   * defined through property 'mvn.golang.process.retries'
+   *
+   * @since 2.3.5
+   */
+  @Parameter(name = "processRetries", defaultValue = "0")
+  private int processRetries;
+
+  /**
+   * Delay in milliseconds before the first retry of external process, the
+   * delay is doubled for each next retry (but not more than one minute). Can
+   * be defined through property 'mvn.golang.process.retry.backoff'
+   *
+   * @since 2.3.5
+   */
+  @Parameter(name = "processRetryBackoff", defaultValue = "2000")
+  private long processRetryBackoff = 2000L;
+
+  /**
+   * Retry external process completed with error exit code. Can be defined
+   * through property 'mvn.golang.process.retry.on.error'
+   *
+   * @since 2.3.5
+   */
+  @Parameter(name = "processRetryOnError", defaultValue = "false")
+  private boolean processRetryOnError;
+
   /**
    * Keep unpacked wrongly SDK folder.
    */
@@ -550,10 +725,10 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
   private String[] addToGoPath;
   @LazyInited
   private CloseableHttpClient httpClient;
-  @LazyInited
-  private ByteArrayOutputStream consoleErrBuffer;
-  @LazyInited
-  private ByteArrayOutputStream consoleOutBuffer;
+  private final ThreadLocal<ConsoleState> consoleState = new ThreadLocal<>();
+  private volatile String[] listFlags;
+  private final ThreadLocal<String> concurrentExecutionLabel = new ThreadLocal<>();
+  private final Object consolePrintLock = new Object();
 
   private static final Pattern GOBINFOLDER_PATTERN = Pattern.compile("(?:\\\\|/)go[0-9\\-\\+.]*(?:\\\\|/)bin(?:\\\\|/)?$", Pattern.CASE_INSENSITIVE);
 
@@ -726,130 +901,92 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
       @Nonnull final String baseSdkName,
       final boolean dontLoadIfNotInCache
   ) throws IOException, MojoExecutionException {
-    synchronized (AbstractGolangMojo.class) {
-      final File sdkFolder = new File(cacheFolder, baseSdkName);
+    final File sdkFolder = new File(cacheFolder, baseSdkName);
 
-      if (sdkFolder.isDirectory()) {
-        return sdkFolder;
-      }
+    if (sdkFolder.isDirectory() && this.isCachedSdkOk(sdkFolder)) {
+      return sdkFolder;
+    }
 
-      final File lockFile = new File(cacheFolder, ".lck" + baseSdkName);
-      lockFile.deleteOnExit();
-      try {
-        if (!lockFile.createNewFile()) {
-          this.getLog().info("Detected SDK loading, waiting for the process end");
-          while (lockFile.exists()) {
-            try {
-              Thread.sleep(100L);
-            } catch (InterruptedException ex) {
-              throw new IOException("Wait of SDK loading is interrupted", ex);
-            }
-          }
-          this.getLog().info("Loading process has been completed");
-          return sdkFolder;
-        }
+    final File lockFile = new File(cacheFolder, '.' + baseSdkName + SDK_LOCK_FILE_EXTENSION);
+    try (final InterProcessLock lock = InterProcessLock.acquire(lockFile, () -> this.getLog().info("Detected SDK loading, waiting for the process end"))) {
+      this.getLog().debug("Acquired SDK lock : " + lock);
 
-        if (sdkFolder.isDirectory()) {
+      if (sdkFolder.isDirectory()) {
+        if (this.isCachedSdkOk(sdkFolder)) {
           if (this.isVerbose() || this.getLog().isDebugEnabled()) {
             this.getLog().info("SDK cache folder : " + sdkFolder);
           }
           return sdkFolder;
-        } else if (dontLoadIfNotInCache || this.session.isOffline()) {
-          this.getLog().error("Can't find cached Golang SDK and downloading is disabled or Maven in offline mode");
-          throw new IOException("Can't find " + baseSdkName + " in the cache but loading is directly disabled");
         }
+        this.getLog().warn("Cached SDK folder is damaged and will be deleted : " + sdkFolder);
+        deleteFileIfExists(SdkManifest.findManifestFile(sdkFolder));
+        FileUtils.deleteDirectory(sdkFolder);
+      }
 
-        final String predefinedLink = this.getSdkDownloadUrl();
+      if (dontLoadIfNotInCache || this.session.isOffline()) {
+        this.getLog().error("Can't find cached Golang SDK and downloading is disabled or Maven in offline mode");
+        throw new IOException("Can't find " + baseSdkName + " in the cache but loading is directly disabled");
+      }
 
-        final File archiveFile;
-        final String linkForDownloading;
+      final String predefinedLink = this.getSdkDownloadUrl();
 
-        if (isSafeEmpty(predefinedLink)) {
-          this.logOptionally("There is not any predefined SDK URL");
-          final String sdkFileName = this.findSdkArchiveFileName(proxySettings, baseSdkName);
-          archiveFile = new File(cacheFolder, sdkFileName);
-          linkForDownloading = this.getSdkSite() + sdkFileName;
-        } else {
-          final String extension = extractExtensionOfArchive(assertNotNull(predefinedLink));
-          archiveFile = new File(cacheFolder, baseSdkName + '.' + extension);
-          linkForDownloading = predefinedLink;
-          this.logOptionally("Using predefined URL to download SDK : " + linkForDownloading);
-          this.logOptionally("Detected extension of archive : " + extension);
-        }
+      final File archiveFile;
+      final String linkForDownloading;
 
-        if (archiveFile.exists()) {
-          this.logOptionally("Detected existing archive " + archiveFile + ", deleting it and reload");
-          if (!archiveFile.delete()) {
-            throw new IOException("Can't delete archive file: " + archiveFile);
-          }
+      if (isSafeEmpty(predefinedLink)) {
+        this.logOptionally("There is not any predefined SDK URL");
+        final String sdkFileName = this.findSdkArchiveFileName(proxySettings, cacheFolder, baseSdkName);
+        archiveFile = new File(cacheFolder, sdkFileName);
+        linkForDownloading = this.getSdkSite() + sdkFileName;
+      } else {
+        final String extension = extractExtensionOfArchive(assertNotNull(predefinedLink));
+        archiveFile = new File(cacheFolder, baseSdkName + '.' + extension);
+        linkForDownloading = predefinedLink;
+        this.logOptionally("Using predefined URL to download SDK : " + linkForDownloading);
+        this.logOptionally("Detected extension of archive : " + extension);
+      }
+
+      if (archiveFile.exists()) {
+        this.logOptionally("Detected existing archive " + archiveFile + ", deleting it and reload");
+        if (!archiveFile.delete()) {
+          throw new IOException("Can't delete archive file: " + archiveFile);
         }
+      }
 
-        final HttpGet methodGet = new HttpGet(linkForDownloading);
-        final RequestConfig config = this.processRequestConfig(proxySettings, this.getConnectionTimeout(), RequestConfig.custom()).build();
-        methodGet.setConfig(config);
+      final RequestConfig config = this.processRequestConfig(proxySettings, this.getConnectionTimeout(), RequestConfig.custom()).build();
 
-        boolean errorsDuringLoading = true;
-        boolean showProgressBar;
+      boolean errorsDuringLoading = true;
 
-        try {
+      try {
+        final File interFolder;
+        final File unpackFolder = new File(cacheFolder, ".#" + baseSdkName);
+        if (unpackFolder.exists()) {
+          this.logOptionally("Deleting stale unpack folder left by interrupted process : " + unpackFolder);
+          FileUtils.deleteDirectory(unpackFolder);
+        }
+        if (this.isStreamSdkUnpack() && this.getSdkDownloadThreads() <= 1 && archiveFile.getName().toLowerCase(Locale.ENGLISH).endsWith(".tar.gz")) {
+          this.getLog().warn("Loading and unpacking SDK archive with URL : " + linkForDownloading);
+          interFolder = this.loadAndUnpackSdkArchiveThroughStream(proxySettings, config, linkForDownloading, archiveFile, "go", unpackFolder);
+          errorsDuringLoading = false;
+        } else {
           if (!archiveFile.isFile()) {
             this.getLog().warn("Loading SDK archive with URL : " + linkForDownloading);
 
-            final HttpResponse response = this.getHttpClient(proxySettings).execute(methodGet);
-            final StatusLine statusLine = response.getStatusLine();
+            XGoogHashHeader xGoogHash = null;
 
-            this.getLog().debug("HttpResponse: " + response);
-
-            if (statusLine.getStatusCode() != HttpStatus.SC_OK) {
-              throw new IOException(String.format("Can't load SDK archive from %s : %d %s", linkForDownloading, statusLine.getStatusCode(), statusLine.getReasonPhrase()));
+            final int downloadThreads = this.getSdkDownloadThreads();
+            if (downloadThreads > 1) {
+              xGoogHash = this.loadSdkArchiveThroughRanges(proxySettings, config, linkForDownloading, archiveFile, downloadThreads);
             }
 
-            final XGoogHashHeader xGoogHash = new XGoogHashHeader(response.getHeaders("x-goog-hash"));
-            this.getLog().debug("XGoogHashHeader: " + xGoogHash);
-
-            final HttpEntity entity = response.getEntity();
-            final Header contentType = entity.getContentType();
-
-            if (!ALLOWED_SDKARCHIVE_CONTENT_TYPE.contains(contentType.getValue())) {
-              throw new IOException("Unsupported content type : " + contentType.getValue());
+            if (xGoogHash == null) {
+              xGoogHash = this.loadSdkArchiveThroughSingleStream(proxySettings, config, linkForDownloading, archiveFile);
             }
 
-            final long size = entity.getContentLength();
-            try (final InputStream inStream = entity.getContent()) {
-              showProgressBar = size > 0L && !this.session.isParallel();
-              this.getLog().info("Downloading SDK archive into file : " + archiveFile);
-              long loadedCounter = 0L;
-              final byte[] buffer = new byte[1024 * 1024];
-              int lastRenderedValue = -1;
-              final int PROGRESSBAR_WIDTH = 10;
-              final String LOADING_TITLE = "Loading " + size / (1024L * 1024L) + " Mb ";
-              if (showProgressBar) {
-                lastRenderedValue = IOUtils.printTextProgressBar(LOADING_TITLE, 0, size, PROGRESSBAR_WIDTH, lastRenderedValue);
-              }
-              final OutputStream fileOutStream = new BufferedOutputStream(new FileOutputStream(archiveFile), 128 * 16384);
-              try {
-                while (!Thread.currentThread().isInterrupted()) {
-                  final int readCounter = inStream.read(buffer);
-                  if (readCounter < 0) {
-                    break;
-                  }
-                  fileOutStream.write(buffer, 0, readCounter);
-                  loadedCounter += readCounter;
-                  if (showProgressBar) {
-                    lastRenderedValue = IOUtils.printTextProgressBar(LOADING_TITLE, loadedCounter, size, PROGRESSBAR_WIDTH, lastRenderedValue);
-                  }
-                }
-              } finally {
-                if (showProgressBar) {
-                  System.out.println();
-                }
-                IOUtils.closeSilently(fileOutStream);
-              }
-              if (Thread.currentThread().isInterrupted()) {
-                throw new MojoExecutionException("Interrupted");
-              }
-              this.getLog().info("Archived SDK has been succesfully downloaded, its size is " + (archiveFile.length() / 1024L) + " Kb");
+            if (Thread.currentThread().isInterrupted()) {
+              throw new MojoExecutionException("Interrupted");
             }
+            this.getLog().info("Archived SDK has been succesfully downloaded, its size is " + (archiveFile.length() / 1024L) + " Kb");
 
             if (this.isCheckSdkHash()) {
               if (xGoogHash.isValid() && xGoogHash.hasData()) {
@@ -863,7 +1000,7 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
                 }
               } else {
                 if (!xGoogHash.isValid()) {
-                  throw new MojoExecutionException("Couldn't parse x-goog-hash from response: " + response);
+                  throw new MojoExecutionException("Couldn't parse x-goog-hash from response of " + linkForDownloading);
                 } else {
                   throw new MojoExecutionException("Parsed x-goog-hash has not needed data: " + xGoogHash);
                 }
@@ -876,166 +1013,764 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
 
           errorsDuringLoading = false;
 
-          final File interFolder = this.unpackArchToFolder(archiveFile, "go", new File(cacheFolder, ".#" + baseSdkName));
-
-          this.getLog().info("Renaming " + interFolder.getName() + " to " + sdkFolder.getName());
-          if (interFolder.renameTo(sdkFolder)) {
-            this.logOptionally("Renamed successfully: " + interFolder + " -> " + sdkFolder);
-          } else {
-            throw new IOException("Can't rename temp GoSDK folder: " + interFolder + " -> " + sdkFolder);
-          }
+          interFolder = this.unpackArchToFolder(archiveFile, "go", unpackFolder);
+        }
 
-          return sdkFolder;
-        } finally {
-          methodGet.releaseConnection();
-          if (errorsDuringLoading || !this.isKeepSdkArchive()) {
-            this.logOptionally("Deleting archive : " + archiveFile + (errorsDuringLoading ? " (because error during loading)" : ""));
-            deleteFileIfExists(archiveFile);
-          } else {
-            this.logOptionally("Archive file is kept for special flag : " + archiveFile);
-          }
+        this.getLog().info("Renaming " + interFolder.getName() + " to " + sdkFolder.getName());
+        if (interFolder.renameTo(sdkFolder)) {
+          this.logOptionally("Renamed successfully: " + interFolder + " -> " + sdkFolder);
+          this.saveSdkManifest(sdkFolder);
+        } else {
+          throw new IOException("Can't rename temp GoSDK folder: " + interFolder + " -> " + sdkFolder);
         }
+
+        return sdkFolder;
       } finally {
-        final boolean deleted = FileUtils.deleteQuietly(lockFile);
-        this.getLog().debug("Lock file " + lockFile + " deleted : " + deleted);
+        if (errorsDuringLoading || !this.isKeepSdkArchive()) {
+          this.logOptionally("Deleting archive : " + archiveFile + (errorsDuringLoading ? " (because error during loading)" : ""));
+          deleteFileIfExists(archiveFile);
+        } else {
+          this.logOptionally("Archive file is kept for special flag : " + archiveFile);
+        }
       }
     }
   }
 
-  public boolean isFilterEnvPath() {
-    return this.filterEnvPath;
-  }
-
-  @Nullable
-  protected String findMvnProperty(@Nonnull final String key, @Nullable final String dflt) {
-    return findProperty(this.session, this.project, key, dflt);
-  }
+  /**
+   * Check cached SDK folder through its manifest if verification is enabled.
+   * If there is no manifest (SDK unpacked by old plug-in version) then it is
+   * made for existing folder.
+   *
+   * @param sdkFolder SDK folder, must not be null
+   * @return true if SDK can be used, false if it is damaged
+   */
+  private boolean isCachedSdkOk(@Nonnull final File sdkFolder) {
+    if (!this.isVerifySdkCache()) {
+      return true;
+    }
 
-  public boolean isSkip() {
-    final boolean result = Boolean.parseBoolean(findMvnProperty("mvn.golang.skip", Boolean.toString(this.skip)));
+    final long start = System.currentTimeMillis();
+    final SdkManifest manifest = SdkManifest.load(SdkManifest.findManifestFile(sdkFolder));
+    if (manifest == null) {
+      if (!new File(sdkFolder, "bin").isDirectory()) {
+        this.getLog().warn("Cached SDK doesn't have manifest and bin folder : " + sdkFolder);
+        return false;
+      }
+      this.getLog().info("Cached SDK doesn't have manifest, making it for existing folder : " + sdkFolder);
+      this.saveSdkManifest(sdkFolder);
+      return true;
+    }
 
-    final String skipMojoSuffix = this.getSkipMojoPropertySuffix();
-    return skipMojoSuffix == null ? result : result
-        || Boolean.parseBoolean(findMvnProperty(String.format("mvn.golang.%s.skip", skipMojoSuffix), "false"));
+    final String mismatch = manifest.findMismatch(sdkFolder);
+    this.getLog().debug(String.format("Cached SDK %s (content %s) checked through manifest for %d ms", sdkFolder.getName(), manifest.getContentHash(), System.currentTimeMillis() - start));
+    if (mismatch != null) {
+      this.getLog().warn("Cached SDK doesn't match its manifest : " + mismatch);
+      return false;
+    }
+    return true;
   }
 
-  public boolean isEnforceGoPathToEnd() {
-    return this.enforceGoPathToEnd;
+  private void saveSdkManifest(@Nonnull final File sdkFolder) {
+    final long start = System.currentTimeMillis();
+    try {
+      final SdkManifest manifest = SdkManifest.create(sdkFolder);
+      manifest.save(SdkManifest.findManifestFile(sdkFolder));
+      this.logOptionally(String.format("Saved SDK manifest, %d file(s), content %s, spent %d ms", manifest.getEntries().size(), manifest.getContentHash(), System.currentTimeMillis() - start));
+    } catch (IOException ex) {
+      this.getLog().warn("Can't save manifest of SDK folder " + sdkFolder + " : " + ex.getMessage());
+    }
   }
 
-  @Nonnull
-  public MavenProject getProject() {
-    return this.project;
+  private static void assertSdkArchiveContentType(@Nullable final String contentType) throws IOException {
+    if (!ALLOWED_SDKARCHIVE_CONTENT_TYPE.contains(contentType)) {
+      throw new IOException("Unsupported content type : " + contentType);
+    }
   }
 
+  /**
+   * Load SDK archive through one HTTP GET request. If resume is allowed then
+   * loaded data is kept in a part file with checkpoint and next call continues
+   * download through HTTP Range request.
+   *
+   * @param proxySettings proxy settings, can be null
+   * @param config request config, must not be null
+   * @param link link to the archive, must not be null
+   * @param archiveFile target file, must not be null
+   * @return parsed x-goog-hash header of the response, must not be null
+   * @throws IOException it will be thrown if any transport or file error
+   * @throws MojoExecutionException it will be thrown if HTTP client can't be
+   * created
+   */
   @Nonnull
-  public MojoExecution getExecution() {
-    return this.execution;
-  }
+  private XGoogHashHeader loadSdkArchiveThroughSingleStream(
+      @Nullable final ProxySettings proxySettings,
+      @Nonnull final RequestConfig config,
+      @Nonnull final String link,
+      @Nonnull final File archiveFile
+  ) throws IOException, MojoExecutionException {
+    final boolean resume = this.isResumeSdkDownload();
+    final PartialDownload saved = resume ? PartialDownload.load(archiveFile) : null;
+    final PartialDownload partial = saved != null && saved.getSegments().isEmpty() ? saved : PartialDownload.forFile(archiveFile);
 
-  @Nonnull
-  public MavenSession getSession() {
-    return this.session;
-  }
+    final HttpGet methodGet = new HttpGet(link);
+    methodGet.setConfig(config);
 
-  public boolean isIgnoreErrorExitCode() {
-    return this.ignoreErrorExitCode;
-  }
+    long offset = 0L;
+    if (partial == saved && partial.getReceived() > 0L) {
+      offset = partial.getReceived();
+      methodGet.addHeader("Range", "bytes=" + offset + '-');
+      methodGet.addHeader("If-Range", partial.getIfRangeValue());
+      this.getLog().info(String.format("Detected partially loaded SDK archive (%d Kb), trying to continue download", offset / 1024L));
+    }
 
-  @Nonnull
-  public Map<?, ?> getEnv() {
-    return GetUtils.ensureNonNull(this.env, Collections.EMPTY_MAP);
-  }
+    boolean completed = false;
+    long loadedCounter = offset;
+    try {
+      final HttpResponse response = this.getHttpClient(proxySettings).execute(methodGet);
+      final StatusLine statusLine = response.getStatusLine();
 
-  @Nullable
-  public String getSdkDownloadUrl() {
-    return this.sdkDownloadUrl;
-  }
+      this.getLog().debug("HttpResponse: " + response);
 
-  @Nonnull
-  public String getExecSubpath() {
-    return ensureNoSurroundingSlashes(assertNotNull(this.execSubpath));
-  }
+      if (offset > 0L && statusLine.getStatusCode() == HttpStatus.SC_PARTIAL_CONTENT) {
+        final Header contentRange = response.getFirstHeader("Content-Range");
+        if (contentRange == null || !contentRange.getValue().trim().startsWith("bytes " + offset + '-')) {
+          throw new IOException("Unexpected content range in response: " + contentRange);
+        }
+        this.logOptionally("Server accepted range request, continue from position " + offset);
+      } else if (statusLine.getStatusCode() == HttpStatus.SC_OK) {
+        if (offset > 0L) {
+          this.logOptionally("Server has sent whole archive, partially loaded data is ignored");
+        }
+        offset = 0L;
+        loadedCounter = 0L;
+      } else {
+        throw new IOException(String.format("Can't load SDK archive from %s : %d %s", link, statusLine.getStatusCode(), statusLine.getReasonPhrase()));
+      }
 
-  public int getConnectionTimeout() {
-    return this.connectionTimeout;
-  }
+      final HttpEntity entity = response.getEntity();
+      final Header contentType = entity.getContentType();
+      assertSdkArchiveContentType(contentType == null ? null : contentType.getValue());
 
-  @Nonnull
-  public String getExec() {
-    return ensureNoSurroundingSlashes(assertNotNull(this.exec));
-  }
+      final long size = entity.getContentLength() < 0L ? -1L : offset + entity.getContentLength();
 
-  public boolean isUseEnvVars() {
-    return this.useEnvVars;
-  }
+      XGoogHashHeader xGoogHash = new XGoogHashHeader(response.getHeaders("x-goog-hash"));
+      if (offset == 0L) {
+        partial.rememberResource(response, size);
+      } else if (!xGoogHash.hasData()) {
+        xGoogHash = new XGoogHashHeader(partial.getHashHeaders());
+      }
+      this.getLog().debug("XGoogHashHeader: " + xGoogHash);
 
-  public boolean isKeepSdkArchive() {
-    return this.keepSdkArchive;
-  }
+      try (final RandomAccessFile partFile = new RandomAccessFile(partial.getPartFile(), "rw")) {
+        partFile.setLength(offset);
+      }
 
-  public boolean isKeepUnarchFolderIfError() {
-    return this.keepUnarchFolderIfError;
-  }
+      try (final InputStream inStream = entity.getContent()) {
+        final boolean showProgressBar = size > 0L && !this.session.isParallel();
+        this.getLog().info("Downloading SDK archive into file : " + archiveFile);
+        final byte[] buffer = new byte[1024 * 1024];
+        int lastRenderedValue = -1;
+        long lastCheckpoint = loadedCounter;
+        final int PROGRESSBAR_WIDTH = 10;
+        final String LOADING_TITLE = "Loading " + size / (1024L * 1024L) + " Mb ";
+        if (showProgressBar) {
+          lastRenderedValue = IOUtils.printTextProgressBar(LOADING_TITLE, loadedCounter, size, PROGRESSBAR_WIDTH, lastRenderedValue);
+        }
+        final OutputStream fileOutStream = new BufferedOutputStream(new FileOutputStream(partial.getPartFile(), true), 128 * 16384);
+        try {
+          while (!Thread.currentThread().isInterrupted()) {
+            final int readCounter = inStream.read(buffer);
+            if (readCounter < 0) {
+              break;
+            }
+            fileOutStream.write(buffer, 0, readCounter);
+            loadedCounter += readCounter;
+            if (resume && loadedCounter - lastCheckpoint >= DOWNLOAD_CHECKPOINT_BYTES) {
+              fileOutStream.flush();
+              partial.setReceived(loadedCounter);
+              partial.save();
+              lastCheckpoint = loadedCounter;
+            }
+            if (showProgressBar) {
+              lastRenderedValue = IOUtils.printTextProgressBar(LOADING_TITLE, loadedCounter, size, PROGRESSBAR_WIDTH, lastRenderedValue);
+            }
+          }
+        } finally {
+          if (showProgressBar) {
+            System.out.println();
+          }
+          IOUtils.closeSilently(fileOutStream);
+        }
+      }
 
-  @Nullable
-  public String getSdkArchiveName() {
-    return this.sdkArchiveName;
-  }
+      if (Thread.currentThread().isInterrupted()) {
+        throw new InterruptedIOException("SDK archive download has been interrupted");
+      }
 
-  @Nonnull
-  public String getReportsFolder() {
-    return this.reportsFolder;
-  }
+      if (size >= 0L && loadedCounter != size) {
+        throw new IOException(String.format("SDK archive is incomplete, loaded %d byte(s) from %d", loadedCounter, size));
+      }
 
-  @Nullable
-  public String getOutLogFile() {
-    return this.outLogFile;
+      partial.complete(archiveFile);
+      completed = true;
+      return xGoogHash;
+    } finally {
+      methodGet.releaseConnection();
+      if (!completed) {
+        this.saveOrDeletePartialDownload(partial, resume, loadedCounter);
+      }
+    }
   }
 
-  @Nullable
-  public String getErrLogFile() {
-    return this.errLogFile;
-  }
+  /**
+   * Load TAR.GZ SDK archive through one HTTP GET request and unpack it directly
+   * from the response stream, the hash is calculated over the same stream and
+   * checked after unpack. The archive is saved into file only if it should be
+   * kept.
+   *
+   * @param proxySettings proxy settings, can be null
+   * @param config request config, must not be null
+   * @param link link to the archive, must not be null
+   * @param archiveFile file to save archive if it should be kept, must not be
+   * null
+   * @param folderInArchive folder in archive to be unpacked, must not be null
+   * @param destinationFolder folder to unpack archive, must not be null
+   * @return the destination folder, must not be null
+   * @throws IOException it will be thrown if any transport, unpack or file
+   * error
+   * @throws MojoExecutionException it will be thrown if hash is wrong or HTTP
+   * client can't be created
+   */
+  @ReturnsOriginal
+  @Nonnull
+  private File loadAndUnpackSdkArchiveThroughStream(
+      @Nullable final ProxySettings proxySettings,
+      @Nonnull final RequestConfig config,
+      @Nonnull final String link,
+      @Nonnull final File archiveFile,
+      @Nonnull final String folderInArchive,
+      @Nonnull final File destinationFolder
+  ) throws IOException, MojoExecutionException {
+    final HttpGet methodGet = new HttpGet(link);
+    methodGet.setConfig(config);
 
-  public boolean isCheckSdkHash() {
-    return this.checkSdkHash;
-  }
+    final boolean keepArchive = this.isKeepSdkArchive();
+    OutputStream archiveOutStream = null;
+    boolean detectedError = true;
+    try {
+      final HttpResponse response = this.getHttpClient(proxySettings).execute(methodGet);
+      final StatusLine statusLine = response.getStatusLine();
 
-  @Nonnull
-  public String getStoreFolder() {
-    return this.storeFolder;
-  }
+      this.getLog().debug("HttpResponse: " + response);
 
-  @Nullable
-  public String getUseGoTool() {
-    return this.useGoTool;
-  }
+      if (statusLine.getStatusCode() != HttpStatus.SC_OK) {
+        throw new IOException(String.format("Can't load SDK archive from %s : %d %s", link, statusLine.getStatusCode(), statusLine.getReasonPhrase()));
+      }
 
-  public boolean isVerbose() {
-    return Boolean.parseBoolean(findMvnProperty("mvn.golang.verbose", Boolean.toString(this.verbose)));
-  }
+      final HttpEntity entity = response.getEntity();
+      final Header contentType = entity.getContentType();
+      assertSdkArchiveContentType(contentType == null ? null : contentType.getValue());
 
-  public boolean isDisableSdkLoad() {
-    return this.disableSdkLoad;
-  }
+      final long size = entity.getContentLength();
 
-  @Nonnull
-  public String getSdkSite() {
-    return assertNotNull(this.sdkSite);
-  }
+      final XGoogHashHeader xGoogHash = new XGoogHashHeader(response.getHeaders("x-goog-hash"));
+      this.getLog().debug("XGoogHashHeader: " + xGoogHash);
 
-  @Nonnull
-  @MustNotContainNull
-  public String[] getBuildFlags() {
-    final List<String> result = new ArrayList<>();
-    for (final String s : ArrayUtils.joinArrays(GetUtils.ensureNonNull(this.buildFlags, ArrayUtils.EMPTY_STRING_ARRAY), getExtraBuildFlags())) {
-      if (!this.buildFlagsToIgnore.contains(s)) {
-        result.add(s);
+      final boolean checkHash = this.isCheckSdkHash();
+      if (checkHash && !(xGoogHash.isValid() && xGoogHash.hasData())) {
+        if (!xGoogHash.isValid()) {
+          throw new MojoExecutionException("Couldn't parse x-goog-hash from response of " + link);
+        } else {
+          throw new MojoExecutionException("Parsed x-goog-hash has not needed data: " + xGoogHash);
+        }
       }
-    }
 
-    result.addAll(this.tempBuildFlags);
+      if (keepArchive) {
+        archiveOutStream = new BufferedOutputStream(new FileOutputStream(archiveFile), 128 * 16384);
+      }
+
+      getLog().info(String.format("Unpacking archive stream to folder %s", destinationFolder.getName()));
+
+      final boolean showProgressBar = size > 0L && !this.session.isParallel();
+      final int PROGRESSBAR_WIDTH = 10;
+      final String LOADING_TITLE = "Loading " + size / (1024L * 1024L) + " Mb ";
+
+      try (final InputStream entityStream = entity.getContent()) {
+        final long[] loadedCounter = new long[1];
+        final int[] lastRenderedValue = new int[] {-1};
+
+        final InputStream countingStream = new ProxyInputStream(entityStream) {
+          @Override
+          protected void beforeRead(final int n) throws IOException {
+            if (Thread.currentThread().isInterrupted()) {
+              throw new InterruptedIOException("SDK archive download has been interrupted");
+            }
+          }
+
+          @Override
+          protected void afterRead(final int n) {
+            if (n > 0) {
+              loadedCounter[0] += n;
+              if (showProgressBar) {
+                lastRenderedValue[0] = IOUtils.printTextProgressBar(LOADING_TITLE, loadedCounter[0], size, PROGRESSBAR_WIDTH, lastRenderedValue[0]);
+              }
+            }
+          }
+        };
+
+        final InputStream teeStream = archiveOutStream == null ? countingStream : new TeeInputStream(countingStream, archiveOutStream, false);
+        final XGoogHashHeader.HashingInputStream hashingStream = checkHash ? xGoogHash.makeHashingStream(teeStream) : null;
+        final InputStream archiveStream = hashingStream == null ? teeStream : hashingStream;
+
+        final int unpackedFileCounter;
+        try {
+          unpackedFileCounter = UnpackUtils.unpackTarGzStreamToFolder(getLog(), folderInArchive, archiveStream, destinationFolder, true);
+          // rest of stream (tar padding and gzip trailer) is needed for hash and kept archive
+          readToEnd(archiveStream);
+        } finally {
+          if (showProgressBar) {
+            System.out.println();
+          }
+        }
+
+        if (size >= 0L && loadedCounter[0] != size) {
+          throw new IOException(String.format("SDK archive is incomplete, loaded %d byte(s) from %d", loadedCounter[0], size));
+        }
+        this.getLog().info("Archived SDK has been succesfully downloaded, its size is " + (loadedCounter[0] / 1024L) + " Kb");
+
+        if (unpackedFileCounter == 0) {
+          throw new IOException("Couldn't find folder '" + folderInArchive + "' in archive or the archive is empty");
+        } else {
+          getLog().info("Unpacked " + unpackedFileCounter + " file(s)");
+        }
+
+        if (hashingStream != null) {
+          if (hashingStream.isHashOk(this.getLog())) {
+            this.getLog().info("Downloaded archive file hash is OK");
+          } else {
+            this.getLog().error("Downloaded archive file hash is BAD");
+            throw new MojoExecutionException("Downloaded SDK archive has wrong hash");
+          }
+        }
+      }
+
+      if (archiveOutStream != null) {
+        archiveOutStream.close();
+        archiveOutStream = null;
+      }
+
+      detectedError = false;
+    } finally {
+      methodGet.releaseConnection();
+      IOUtils.closeSilently(archiveOutStream);
+      if (detectedError && !isKeepUnarchFolderIfError()) {
+        logOptionally("Deleting folder because error during unpack : " + destinationFolder);
+        FileUtils.deleteQuietly(destinationFolder);
+      }
+    }
+    return destinationFolder;
+  }
+
+  private static void readToEnd(@Nonnull final InputStream in) throws IOException {
+    final byte[] buffer = new byte[16384];
+    while (in.read(buffer) >= 0) {
+      // just read
+    }
+  }
+
+  private void saveOrDeletePartialDownload(@Nonnull final PartialDownload partial, final boolean resume, final long received) {
+    try {
+      if (resume && partial.hasValidator() && partial.getPartFile().isFile()) {
+        partial.setReceived(received);
+        partial.save();
+        this.getLog().info("Partially loaded SDK archive is kept to continue download later: " + partial.getPartFile());
+      } else {
+        partial.delete();
+      }
+    } catch (IOException ex) {
+      this.getLog().warn("Can't process partially loaded SDK archive: " + ex.getMessage());
+    }
+  }
+
+  /**
+   * Try to load SDK archive through several concurrent HTTP Range requests. If
+   * server doesn't advertise byte range support or archive is too small then
+   * nothing is loaded and null is returned. If resume is allowed then loaded
+   * segments are kept in a part file with checkpoint and can be continued by
+   * next call.
+   *
+   * @param proxySettings proxy settings, can be null
+   * @param config request config, must not be null
+   * @param link link to the archive, must not be null
+   * @param archiveFile target file, must not be null
+   * @param threads max number of concurrent requests
+   * @return parsed x-goog-hash header if archive has been loaded, null if
+   * single stream load should be used
+   * @throws IOException it will be thrown if any transport or file error
+   * @throws MojoExecutionException it will be thrown if HTTP client can't be
+   * created
+   * @since 2.3.5
+   */
+  @Nullable
+  private XGoogHashHeader loadSdkArchiveThroughRanges(
+      @Nullable final ProxySettings proxySettings,
+      @Nonnull final RequestConfig config,
+      @Nonnull final String link,
+      @Nonnull final File archiveFile,
+      final int threads
+  ) throws IOException, MojoExecutionException {
+    final HttpClient client = this.getHttpClient(proxySettings);
+    final boolean resume = this.isResumeSdkDownload();
+
+    final HttpHead methodHead = new HttpHead(link);
+    methodHead.setConfig(config);
+
+    final PartialDownload partial;
+    XGoogHashHeader xGoogHash;
+    final long size;
+    try {
+      final HttpResponse response = client.execute(methodHead);
+      final StatusLine statusLine = response.getStatusLine();
+      this.getLog().debug("HttpResponse (HEAD): " + response);
+
+      if (statusLine.getStatusCode() != HttpStatus.SC_OK) {
+        this.logOptionally(String.format("HEAD request is not supported for %s (%d %s), using single stream", link, statusLine.getStatusCode(), statusLine.getReasonPhrase()));
+        return null;
+      }
+
+      final Header lengthHeader = response.getFirstHeader("Content-Length");
+      size = lengthHeader == null ? -1L : Long.parseLong(lengthHeader.getValue().trim());
+
+      if (!SegmentedDownloader.isRangeSupported(response) || SegmentedDownloader.calculateSegmentNumber(size, threads) < 2) {
+        this.logOptionally("Server doesn't provide byte ranges or SDK archive is too small, using single stream");
+        return null;
+      }
+
+      final Header contentType = response.getFirstHeader("Content-Type");
+      assertSdkArchiveContentType(contentType == null ? null : contentType.getValue());
+
+      xGoogHash = new XGoogHashHeader(response.getHeaders("x-goog-hash"));
+
+      final PartialDownload saved = resume ? PartialDownload.load(archiveFile) : null;
+      if (saved != null
+          && !saved.getSegments().isEmpty()
+          && saved.isSameResource(response, size)
+          && saved.getPartFile().length() == size) {
+        partial = saved;
+        long alreadyLoaded = 0L;
+        for (final SegmentedDownloader.Segment s : partial.getSegments()) {
+          alreadyLoaded += s.getLoaded();
+        }
+        this.getLog().info(String.format("Detected partially loaded SDK archive (%d Kb), trying to continue download", alreadyLoaded / 1024L));
+        if (!xGoogHash.hasData()) {
+          xGoogHash = new XGoogHashHeader(partial.getHashHeaders());
+        }
+      } else {
+        partial = PartialDownload.forFile(archiveFile);
+        partial.rememberResource(response, size);
+        partial.setSegments(SegmentedDownloader.splitIntoSegments(size, SegmentedDownloader.calculateSegmentNumber(size, threads)));
+      }
+      this.getLog().debug("XGoogHashHeader: " + xGoogHash);
+    } catch (NumberFormatException ex) {
+      this.logOptionally("Can't parse content length, using single stream: " + ex.getMessage());
+      return null;
+    } finally {
+      methodHead.releaseConnection();
+    }
+
+    this.getLog().info(String.format("Downloading SDK archive into file through %d parallel connections : %s", partial.getSegments().size(), archiveFile));
+
+    final boolean showProgressBar = !this.session.isParallel();
+    final int PROGRESSBAR_WIDTH = 10;
+    final String LOADING_TITLE = "Loading " + size / (1024L * 1024L) + " Mb ";
+    final int[] lastRenderedValue = new int[] {-1};
+    final long[] lastCheckpointTime = new long[] {System.currentTimeMillis()};
+
+    boolean completed = false;
+    try {
+      SegmentedDownloader.download(this.getLog(), client, config, link, partial.getIfRangeValue(), partial.getPartFile(), size, partial.getSegments(), loaded -> {
+        if (showProgressBar) {
+          lastRenderedValue[0] = IOUtils.printTextProgressBar(LOADING_TITLE, loaded, size, PROGRESSBAR_WIDTH, lastRenderedValue[0]);
+        }
+        final long now = System.currentTimeMillis();
+        if (resume && now - lastCheckpointTime[0] >= DOWNLOAD_CHECKPOINT_PERIOD_MS) {
+          lastCheckpointTime[0] = now;
+          try {
+            partial.save();
+          } catch (IOException ex) {
+            this.getLog().debug("Can't save download checkpoint: " + ex.getMessage());
+          }
+        }
+      });
+      partial.complete(archiveFile);
+      completed = true;
+    } finally {
+      if (showProgressBar) {
+        System.out.println();
+      }
+      if (!completed) {
+        this.saveOrDeletePartialDownload(partial, resume, 0L);
+      }
+    }
+    return xGoogHash;
+  }
+
+  public boolean isFilterEnvPath() {
+    return this.filterEnvPath;
+  }
+
+  @Nullable
+  protected String findMvnProperty(@Nonnull final String key, @Nullable final String dflt) {
+    return findProperty(this.session, this.project, key, dflt);
+  }
+
+  public boolean isSkip() {
+    final boolean result = Boolean.parseBoolean(findMvnProperty("mvn.golang.skip", Boolean.toString(this.skip)));
+
+    final String skipMojoSuffix = this.getSkipMojoPropertySuffix();
+    return skipMojoSuffix == null ? result : result
+        || Boolean.parseBoolean(findMvnProperty(String.format("mvn.golang.%s.skip", skipMojoSuffix), "false"));
+  }
+
+  public boolean isEnforceGoPathToEnd() {
+    return this.enforceGoPathToEnd;
+  }
+
+  @Nonnull
+  public MavenProject getProject() {
+    return this.project;
+  }
+
+  @Nonnull
+  public MojoExecution getExecution() {
+    return this.execution;
+  }
+
+  @Nonnull
+  public MavenSession getSession() {
+    return this.session;
+  }
+
+  public boolean isIgnoreErrorExitCode() {
+    return this.ignoreErrorExitCode;
+  }
+
+  @Nonnull
+  public Map<?, ?> getEnv() {
+    return GetUtils.ensureNonNull(this.env, Collections.EMPTY_MAP);
+  }
+
+  @Nullable
+  public String getSdkDownloadUrl() {
+    return this.sdkDownloadUrl;
+  }
+
+  @Nonnull
+  public String getExecSubpath() {
+    return ensureNoSurroundingSlashes(assertNotNull(this.execSubpath));
+  }
+
+  public int getConnectionTimeout() {
+    return this.connectionTimeout;
+  }
+
+  public int getSdkDownloadThreads() {
+    return Math.max(1, Integer.parseInt(findMvnProperty("mvn.golang.sdk.download.threads", Integer.toString(this.sdkDownloadThreads)).trim()));
+  }
+
+  public void setSdkDownloadThreads(final int value) {
+    this.sdkDownloadThreads = value;
+  }
+
+  public boolean isResumeSdkDownload() {
+    return Boolean.parseBoolean(findMvnProperty("mvn.golang.sdk.download.resume", Boolean.toString(this.resumeSdkDownload)));
+  }
+
+  public void setResumeSdkDownload(final boolean value) {
+    this.resumeSdkDownload = value;
+  }
+
+  public int getSdkUnpackThreads() {
+    final int value = Integer.parseInt(findMvnProperty("mvn.golang.sdk.unpack.threads", Integer.toString(this.sdkUnpackThreads)).trim());
+    return value <= 0 ? Runtime.getRuntime().availableProcessors() : value;
+  }
+
+  public void setSdkUnpackThreads(final int value) {
+    this.sdkUnpackThreads = value;
+  }
+
+  public boolean isVerifySdkCache() {
+    return Boolean.parseBoolean(findMvnProperty("mvn.golang.sdk.verify", Boolean.toString(this.verifySdkCache)));
+  }
+
+  public void setVerifySdkCache(final boolean value) {
+    this.verifySdkCache = value;
+  }
+
+  public boolean isStreamSdkUnpack() {
+    return Boolean.parseBoolean(findMvnProperty("mvn.golang.sdk.stream.unpack", Boolean.toString(this.streamSdkUnpack)));
+  }
+
+  public void setStreamSdkUnpack(final boolean value) {
+    this.streamSdkUnpack = value;
+  }
+
+  public int getConsoleTailLines() {
+    return Integer.parseInt(findMvnProperty("mvn.golang.console.tail.lines", Integer.toString(this.consoleTailLines)).trim());
+  }
+
+  public void setConsoleTailLines(final int value) {
+    this.consoleTailLines = value;
+  }
+
+  public long getConsoleSpillThreshold() {
+    return Long.parseLong(findMvnProperty("mvn.golang.console.spill.threshold", Long.toString(this.consoleSpillThreshold)).trim());
+  }
+
+  public void setConsoleSpillThreshold(final long value) {
+    this.consoleSpillThreshold = value;
+  }
+
+  public long getProcessTimeout() {
+    return Long.parseLong(findMvnProperty("mvn.golang.process.timeout", Long.toString(this.processTimeout)).trim());
+  }
+
+  public void setProcessTimeout(final long value) {
+    this.processTimeout = value;
+  }
+
+  public long getProcessKillGrace() {
+    return Long.parseLong(findMvnProperty("mvn.golang.process.kill.grace", Long.toString(this.processKillGrace)).trim());
+  }
+
+  public void setProcessKillGrace(final long value) {
+    this.processKillGrace = value;
+  }
+
+  public int getProcessRetries() {
+    return Integer.parseInt(findMvnProperty("mvn.golang.process.retries", Integer.toString(this.processRetries)).trim());
+  }
+
+  public void setProcessRetries(final int value) {
+    this.processRetries = value;
+  }
+
+  public long getProcessRetryBackoff() {
+    return Long.parseLong(findMvnProperty("mvn.golang.process.retry.backoff", Long.toString(this.processRetryBackoff)).trim());
+  }
+
+  public void setProcessRetryBackoff(final long value) {
+    this.processRetryBackoff = value;
+  }
+
+  public boolean isProcessRetryOnError() {
+    return Boolean.parseBoolean(findMvnProperty("mvn.golang.process.retry.on.error", Boolean.toString(this.processRetryOnError)));
+  }
+
+  public void setProcessRetryOnError(final boolean value) {
+    this.processRetryOnError = value;
+  }
+
+  /**
+   * Make policy of external process execution from mojo parameters.
+   *
+   * @return the policy, must not be null
+   * @since 2.3.5
+   */
+  @Nonnull
+  public ProcessPolicy getProcessPolicy() {
+    return new ProcessPolicy(
+        this.getProcessTimeout() * 1000L,
+        this.getProcessKillGrace() * 1000L,
+        this.getProcessRetries(),
+        this.getProcessRetryBackoff(),
+        this.isProcessRetryOnError()
+    );
+  }
+
+  public long getSdkListCacheTtl() {
+    return Long.parseLong(findMvnProperty("mvn.golang.sdk.list.ttl", Long.toString(this.sdkListCacheTtl)).trim());
+  }
+
+  public void setSdkListCacheTtl(final long value) {
+    this.sdkListCacheTtl = value;
+  }
+
+  @Nonnull
+  public String getExec() {
+    return ensureNoSurroundingSlashes(assertNotNull(this.exec));
+  }
+
+  public boolean isUseEnvVars() {
+    return this.useEnvVars;
+  }
+
+  public boolean isKeepSdkArchive() {
+    return this.keepSdkArchive;
+  }
+
+  public boolean isKeepUnarchFolderIfError() {
+    return this.keepUnarchFolderIfError;
+  }
+
+  @Nullable
+  public String getSdkArchiveName() {
+    return this.sdkArchiveName;
+  }
+
+  @Nonnull
+  public String getReportsFolder() {
+    return this.reportsFolder;
+  }
+
+  @Nullable
+  public String getOutLogFile() {
+    return this.outLogFile;
+  }
+
+  @Nullable
+  public String getErrLogFile() {
+    return this.errLogFile;
+  }
+
+  public boolean isCheckSdkHash() {
+    return this.checkSdkHash;
+  }
+
+  @Nonnull
+  public String getStoreFolder() {
+    return this.storeFolder;
+  }
+
+  @Nullable
+  public String getUseGoTool() {
+    return this.useGoTool;
+  }
+
+  public boolean isVerbose() {
+    return Boolean.parseBoolean(findMvnProperty("mvn.golang.verbose", Boolean.toString(this.verbose)));
+  }
+
+  public boolean isDisableSdkLoad() {
+    return this.disableSdkLoad;
+  }
+
+  @Nonnull
+  public String getSdkSite() {
+    return assertNotNull(this.sdkSite);
+  }
+
+  @Nonnull
+  @MustNotContainNull
+  public String[] getBuildFlags() {
+    final List<String> result = new ArrayList<>();
+    for (final String s : ArrayUtils.joinArrays(GetUtils.ensureNonNull(this.buildFlags, ArrayUtils.EMPTY_STRING_ARRAY), getExtraBuildFlags())) {
+      if (!this.buildFlagsToIgnore.contains(s)) {
+        result.add(s);
+      }
+    }
+
+    result.addAll(this.tempBuildFlags);
 
     return result.toArray(new String[0]);
   }
@@ -1049,45 +1784,36 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
   @Nonnull
   @MustNotContainNull
   public File[] findGoPath(final boolean ensureExist) throws IOException {
-    LOCKER.lock();
-    try {
-      final String foundGoPath = getGoPath();
-      if (getLog().isDebugEnabled()) {
-        getLog().debug("findGoPath(" + ensureExist + "), getGoPath() returns " + foundGoPath);
-      }
+    final String foundGoPath = getGoPath();
+    if (getLog().isDebugEnabled()) {
+      getLog().debug("findGoPath(" + ensureExist + "), getGoPath() returns " + foundGoPath);
+    }
 
-      final List<File> result = new ArrayList<>();
+    final List<File> result = new ArrayList<>();
 
-      for (final String p : foundGoPath.split(String.format("\\%s", File.pathSeparator))) {
-        final File folder = new File(p);
-        result.add(folder);
-        if (ensureExist && !folder.isDirectory() && !folder.mkdirs()) {
-          throw new IOException("Can't create folder for GOPATH : " + folder.getAbsolutePath());
-        }
+    for (final String p : foundGoPath.split(String.format("\\%s", File.pathSeparator))) {
+      final File folder = new File(p);
+      result.add(folder);
+      // the folder can be made concurrently by another module of parallel build
+      if (ensureExist && !folder.mkdirs() && !folder.isDirectory()) {
+        throw new IOException("Can't create folder for GOPATH : " + folder.getAbsolutePath());
       }
-
-      return result.toArray(new File[0]);
-    } finally {
-      LOCKER.unlock();
     }
+
+    return result.toArray(new File[0]);
   }
 
   @Nullable
   public File findGoRootBootstrap(final boolean ensureExist) throws IOException {
-    LOCKER.lock();
-    try {
-      final String value = getGoRootBootstrap();
-      File result = null;
-      if (value != null) {
-        result = new File(value);
-        if (ensureExist && !result.isDirectory()) {
-          throw new IOException("Can't find folder for GOROOT_BOOTSTRAP: " + result);
-        }
+    final String value = getGoRootBootstrap();
+    File result = null;
+    if (value != null) {
+      result = new File(value);
+      if (ensureExist && !result.isDirectory()) {
+        throw new IOException("Can't find folder for GOROOT_BOOTSTRAP: " + result);
       }
-      return result;
-    } finally {
-      LOCKER.unlock();
     }
+    return result;
   }
 
   @Nonnull
@@ -1309,6 +2035,10 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
       builder.setUserAgent("mvn-golang-wrapper-agent/1.0");
       builder.disableCookieManagement();
 
+      final int maxConnections = Math.max(2, this.getSdkDownloadThreads());
+      builder.setMaxConnPerRoute(maxConnections);
+      builder.setMaxConnTotal(maxConnections * 2);
+
       if (this.isDisableSslCheck()) {
         this.getLog().warn("SSL certificate check is disabled");
         try {
@@ -1336,7 +2066,10 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
               .register("https", sslfactory)
               .register("http", new PlainConnectionSocketFactory()).build();
 
-          builder.setConnectionManager(new BasicHttpClientConnectionManager(r));
+          final PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(r);
+          connectionManager.setDefaultMaxPerRoute(maxConnections);
+          connectionManager.setMaxTotal(maxConnections * 2);
+          builder.setConnectionManager(connectionManager);
           builder.setSSLSocketFactory(sslfactory);
           builder.setSSLContext(sslcontext);
         } catch (final KeyManagementException | NoSuchAlgorithmException ex) {
@@ -1378,9 +2111,18 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
   }
 
   @Nonnull
-  private String loadGoLangSdkList(@Nullable final ProxySettings proxySettings, @Nullable final String keyPrefix) throws IOException, MojoExecutionException {
+  private String loadGoLangSdkList(@Nullable final ProxySettings proxySettings, @Nonnull final File cacheFolder, @Nullable final String keyPrefix) throws IOException, MojoExecutionException {
     final String sdksite = getSdkSite() + (keyPrefix == null ? "" : "?prefix=" + keyPrefix);
 
+    final long ttl = this.getSdkListCacheTtl();
+    final SdkListCache cache = ttl < 0L ? null : SdkListCache.forUrl(cacheFolder, sdksite);
+    final String cachedContent = cache == null ? null : cache.getContent();
+
+    if (cache != null && cache.isFresh(ttl * 1000L, System.currentTimeMillis())) {
+      logOptionally("Using cached list of GoLang SDKs for " + sdksite);
+      return assertNotNull(cachedContent);
+    }
+
     getLog().warn("Loading list of available GoLang SDKs from " + sdksite);
     final HttpGet get = new HttpGet(sdksite);
 
@@ -1388,6 +2130,9 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
     get.setConfig(config);
 
     get.addHeader("Accept", "application/xml");
+    if (cache != null) {
+      cache.addValidators(get);
+    }
 
     try {
       final HttpResponse response = getHttpClient(proxySettings).execute(get);
@@ -1396,33 +2141,36 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
         final String content = EntityUtils.toString(response.getEntity());
         getLog().info("GoLang SDK list has been loaded successfuly");
         getLog().debug(content);
+        if (cache != null) {
+          try {
+            cache.update(response, content, System.currentTimeMillis());
+          } catch (IOException ex) {
+            getLog().warn("Can't save SDK list in cache : " + ex.getMessage());
+          }
+        }
         return content;
+      } else if (statusLine.getStatusCode() == HttpStatus.SC_NOT_MODIFIED && cachedContent != null) {
+        getLog().info("Cached GoLang SDK list is not modified");
+        try {
+          cache.markChecked(System.currentTimeMillis());
+        } catch (IOException ex) {
+          getLog().warn("Can't save SDK list cache state : " + ex.getMessage());
+        }
+        return cachedContent;
       } else {
         throw new IOException(String.format("Can't load list of SDKs from %s : %d %s", sdksite, statusLine.getStatusCode(), statusLine.getReasonPhrase()));
       }
+    } catch (IOException ex) {
+      if (cachedContent == null || ex instanceof InterruptedIOException) {
+        throw ex;
+      }
+      getLog().warn("Can't check SDK list on server, cached one is used : " + ex.getMessage());
+      return cachedContent;
     } finally {
       get.releaseConnection();
     }
   }
 
-  @Nonnull
-  private Document convertSdkListToDocument(@Nonnull final String sdkListAsString) throws IOException {
-    try {
-      final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-      final DocumentBuilder builder = factory.newDocumentBuilder();
-      return builder.parse(new InputSource(new StringReader(sdkListAsString)));
-    } catch (ParserConfigurationException ex) {
-      getLog().error("Can't configure XML parser", ex);
-      throw new IOException("Can't configure XML parser", ex);
-    } catch (SAXException ex) {
-      getLog().error("Can't parse document", ex);
-      throw new IOException("Can't parse document", ex);
-    } catch (IOException ex) {
-      getLog().error("Unexpected IOException", ex);
-      throw new IOException("Unexpected IOException", ex);
-    }
-  }
-
   private void printEcho() {
     if (this.echoWarn != null) {
       for (final String s : this.echoWarn) {
@@ -1445,8 +2193,145 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
 
   protected void initConsoleBuffers() {
     getLog().debug("Initing console out and console err buffers");
-    this.consoleErrBuffer = new ByteArrayOutputStream();
-    this.consoleOutBuffer = new ByteArrayOutputStream();
+
+    final boolean forcePrint = this.isEnforcePrintOutput() || (this.isVerbose() && this.isCommandSupportVerbose());
+    final boolean printOut = forcePrint || getLog().isDebugEnabled();
+    final boolean keepWhole = this.isWholeConsoleOutNeeded();
+    final int tailLines = this.getConsoleTailLines();
+    final long spillThreshold = this.getConsoleSpillThreshold();
+
+    final String label = this.concurrentExecutionLabel.get();
+    final boolean live = label == null;
+    final ConsoleState state = new ConsoleState(label, printOut, forcePrint);
+
+    state.out = new ConsoleLineBuffer(Charset.defaultCharset(), tailLines, line -> {
+      if (live && printOut) {
+        if (!state.outPrintedLive) {
+          state.outPrintedLive = true;
+          getLog().info("");
+          getLog().info(state.makeTitle("Out"));
+        }
+        getLog().info(StrUtils.trimRight(line));
+      }
+      this.processConsoleOutLine(line);
+    }, keepWhole ? new ConsoleCapture(spillThreshold) : null);
+
+    state.err = new ConsoleLineBuffer(Charset.defaultCharset(), tailLines, line -> {
+      if (live) {
+        if (forcePrint) {
+          if (!state.errPrintedLive) {
+            state.errPrintedLive = true;
+            getLog().warn("");
+            getLog().warn(state.makeTitle("Err"));
+          }
+          getLog().warn(StrUtils.trimRight(line));
+        } else {
+          getLog().debug(StrUtils.trimRight(line));
+        }
+      }
+      this.processConsoleErrLine(line);
+    }, keepWhole ? new ConsoleCapture(spillThreshold) : null);
+
+    this.consoleState.set(state);
+  }
+
+  /**
+   * Drop console buffers of the current thread, they are made during executor
+   * preparation and must be released if the executor is used outside of the
+   * standard execution flow.
+   */
+  protected void releaseConsoleState() {
+    this.consoleState.remove();
+  }
+
+  @Nonnull
+  private ConsoleState getConsoleState() {
+    final ConsoleState result = this.consoleState.get();
+    if (result == null) {
+      throw new IllegalStateException("Console buffers are not inited");
+    }
+    return result;
+  }
+
+  /**
+   * Get label of the current concurrent execution.
+   *
+   * @return label of execution made by
+   * {@link #doMainBusinessConcurrently(ProxySettings, int, int, List, ThreadLocal, Function)}
+   * or null if the current thread is not such one
+   * @since 2.3.5
+   */
+  @Nullable
+  protected String getConcurrentExecutionLabel() {
+    return this.concurrentExecutionLabel.get();
+  }
+
+  /**
+   * Check that whole text of process console output must be kept in memory to
+   * be provided for {@link #processConsoleOut(int, CharSequence, CharSequence)}
+   * and
+   * {@link #doesNeedOneMoreAttempt(ProcessResult, CharSequence, CharSequence)},
+   * otherwise they get empty strings and the output can be processed line by
+   * line. Big output is provided as lazy sequence reading temporary file. By
+   * default the output is kept if it should be written into log file or if
+   * any form of the hooks is overridden.
+   *
+   * @return true if whole console output must be kept
+   * @see #processConsoleOutLine(String)
+   * @see #processConsoleErrLine(String)
+   * @since 2.3.5
+   */
+  protected boolean isWholeConsoleOutNeeded() {
+    final String fileOut = this.getOutLogFile();
+    final String fileErr = this.getErrLogFile();
+    return (fileOut != null && !fileOut.trim().isEmpty()) || (fileErr != null && !fileErr.trim().isEmpty())
+        || this.isHookOverridden("processConsoleOut", int.class, String.class, String.class)
+        || this.isHookOverridden("processConsoleOut", int.class, CharSequence.class, CharSequence.class)
+        || this.isHookOverridden("doesNeedOneMoreAttempt", ProcessResult.class, String.class, String.class)
+        || this.isHookOverridden("doesNeedOneMoreAttempt", ProcessResult.class, CharSequence.class, CharSequence.class);
+  }
+
+  /**
+   * Check that a method declared in the abstract mojo is overridden by the
+   * mojo class.
+   *
+   * @param name name of method, must not be null
+   * @param types parameter types of method, must not be null
+   * @return true if some class between the mojo class and the abstract mojo
+   * declares the method
+   */
+  private boolean isHookOverridden(@Nonnull final String name, @Nonnull @MustNotContainNull final Class<?>... types) {
+    for (Class<?> klazz = this.getClass(); klazz != null && klazz != AbstractGolangMojo.class; klazz = klazz.getSuperclass()) {
+      try {
+        klazz.getDeclaredMethod(name, types);
+        return true;
+      } catch (NoSuchMethodException ex) {
+        // not in the class, check super class
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Process line of console output during process execution. It is called
+   * from output pump thread.
+   *
+   * @param line line without line separator, must not be null
+   * @since 2.3.5
+   */
+  protected void processConsoleOutLine(@Nonnull final String line) {
+
+  }
+
+  /**
+   * Process line of console error output during process execution. It is
+   * called from error pump thread.
+   *
+   * @param line line without line separator, must not be null
+   * @since 2.3.5
+   */
+  protected void processConsoleErrLine(@Nonnull final String line) {
+
   }
 
   @ReturnsOriginal
@@ -1457,7 +2342,7 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
     boolean detectedError = true;
     try {
 
-      final int unpackedFileCounter = UnpackUtils.unpackFileToFolder(getLog(), folderInArchive, archiveFile, destinationFolder, true);
+      final int unpackedFileCounter = UnpackUtils.unpackFileToFolder(getLog(), folderInArchive, archiveFile, destinationFolder, true, this.getSdkUnpackThreads());
       if (unpackedFileCounter == 0) {
         throw new IOException("Couldn't find folder '" + folderInArchive + "' in archive or the archive is empty");
       } else {
@@ -1476,7 +2361,7 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
   }
 
   @Nonnull
-  private String extractSDKFileName(@Nonnull final String listUrl, @Nonnull final Document doc, @Nonnull final String sdkBaseName, @Nonnull @MustNotContainNull final String[] allowedExtensions) throws IOException {
+  private String extractSDKFileName(@Nonnull final String listUrl, @Nonnull final String sdkList, @Nonnull final String sdkBaseName, @Nonnull @MustNotContainNull final String[] allowedExtensions) throws IOException {
     getLog().debug("Looking for SDK started with base name : " + sdkBaseName);
 
     final Set<String> variants = new HashSet<>();
@@ -1486,56 +2371,87 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
 
     final List<String> listedSdk = new ArrayList<>();
 
-    final Element root = doc.getDocumentElement();
-    if ("ListBucketResult".equals(root.getTagName())) {
-      final NodeList list = root.getElementsByTagName("Contents");
-      for (int i = 0; i < list.getLength(); i++) {
-        final Element element = (Element) list.item(i);
-        final NodeList keys = element.getElementsByTagName("Key");
-        if (keys.getLength() > 0) {
-          final String text = keys.item(0).getTextContent();
-          if (variants.contains(text)) {
-            logOptionally("Detected compatible SDK in the SDK list : " + text);
-            return text;
+    final XMLInputFactory factory = XMLInputFactory.newInstance();
+    factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+    factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+
+    XMLStreamReader reader = null;
+    try {
+      reader = factory.createXMLStreamReader(new StringReader(sdkList));
+      reader.nextTag();
+      if (!"ListBucketResult".equals(reader.getLocalName())) {
+        throw new IOException("It is not a ListBucket file [" + reader.getLocalName() + ']');
+      }
+
+      int depth = 1;
+      boolean insideContents = false;
+      while (depth > 0 && reader.hasNext()) {
+        final int event = reader.next();
+        if (event == XMLStreamConstants.START_ELEMENT) {
+          if (depth == 1 && "Contents".equals(reader.getLocalName())) {
+            insideContents = true;
+            depth++;
+          } else if (depth == 2 && insideContents && "Key".equals(reader.getLocalName())) {
+            final String text = reader.getElementText();
+            if (variants.contains(text)) {
+              logOptionally("Detected compatible SDK in the SDK list : " + text);
+              return text;
+            } else {
+              listedSdk.add(text);
+            }
           } else {
-            listedSdk.add(text);
+            depth++;
+          }
+        } else if (event == XMLStreamConstants.END_ELEMENT) {
+          depth--;
+          if (depth == 1) {
+            insideContents = false;
           }
         }
       }
-
-      if (this.supposeSdkArchiveFileName) {
-        final String supposedSdkName = sdkBaseName + '.' + (SystemUtils.IS_OS_WINDOWS ? "zip" : "tar.gz");
-        getLog().warn("Can't find SDK file in the loaded list");
-        getLog().debug("..................................................");
-        for (final String s : listedSdk) {
-          getLog().debug(s);
+    } catch (XMLStreamException ex) {
+      getLog().error("Can't parse document", ex);
+      throw new IOException("Can't parse document", ex);
+    } finally {
+      if (reader != null) {
+        try {
+          reader.close();
+        } catch (XMLStreamException ex) {
+          getLog().debug("Can't close XML reader : " + ex.getMessage());
         }
-        getLog().debug("..................................................");
-
-        getLog().warn("Supposed name of SDK archive is " + supposedSdkName + ", trying to load it directly! It can be disabled with <supposeSdkArchiveFileName>false</supposeSdkArchiveFileName>)");
-        return supposedSdkName;
       }
+    }
 
-      getLog().error("Can't find any SDK to be used as " + sdkBaseName);
-      getLog().error("GoLang list contains listed SDKs (" + listUrl + ")");
-      getLog().error("It is possible directly define link to SDK through configuration parameter <sdkDownloadUrl>..</sdkDownloadUrl>");
-      getLog().error("..................................................");
+    if (this.supposeSdkArchiveFileName) {
+      final String supposedSdkName = sdkBaseName + '.' + (SystemUtils.IS_OS_WINDOWS ? "zip" : "tar.gz");
+      getLog().warn("Can't find SDK file in the loaded list");
+      getLog().debug("..................................................");
       for (final String s : listedSdk) {
-        getLog().error(s);
+        getLog().debug(s);
       }
+      getLog().debug("..................................................");
 
-      throw new IOException("Can't find SDK : " + sdkBaseName);
-    } else {
-      throw new IOException("It is not a ListBucket file [" + root.getTagName() + ']');
+      getLog().warn("Supposed name of SDK archive is " + supposedSdkName + ", trying to load it directly! It can be disabled with <supposeSdkArchiveFileName>false</supposeSdkArchiveFileName>)");
+      return supposedSdkName;
+    }
+
+    getLog().error("Can't find any SDK to be used as " + sdkBaseName);
+    getLog().error("GoLang list contains listed SDKs (" + listUrl + ")");
+    getLog().error("It is possible directly define link to SDK through configuration parameter <sdkDownloadUrl>..</sdkDownloadUrl>");
+    getLog().error("..................................................");
+    for (final String s : listedSdk) {
+      getLog().error(s);
     }
+
+    throw new IOException("Can't find SDK : " + sdkBaseName);
   }
 
   @Nonnull
-  private String findSdkArchiveFileName(@Nullable final ProxySettings proxySettings, @Nonnull final String sdkBaseName) throws IOException, MojoExecutionException {
+  private String findSdkArchiveFileName(@Nullable final ProxySettings proxySettings, @Nonnull final File cacheFolder, @Nonnull final String sdkBaseName) throws IOException, MojoExecutionException {
     String result = getSdkArchiveName();
     if (isSafeEmpty(result)) {
-      final Document parsed = convertSdkListToDocument(loadGoLangSdkList(proxySettings, URLEncoder.encode(sdkBaseName, "UTF-8")));
-      result = extractSDKFileName(getSdkSite(), parsed, sdkBaseName, new String[] {"tar.gz", "zip"});
+      final String sdkList = loadGoLangSdkList(proxySettings, cacheFolder, URLEncoder.encode(sdkBaseName, "UTF-8"));
+      result = extractSDKFileName(getSdkSite(), sdkList, sdkBaseName, new String[] {"tar.gz", "zip"});
     } else {
       getLog().info("SDK archive name is predefined : " + result);
     }
@@ -1555,47 +2471,90 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
     }
   }
 
+  /**
+   * Get storage of values computed once per Maven session.
+   *
+   * @return session storage, must not be null
+   * @since 2.3.5
+   */
+  @Nonnull
+  protected ConcurrentMap<String, Object> getSessionCache() {
+    return SessionCache.forSession(this.session == null ? this : this.session.getRequest());
+  }
+
   @Nonnull
   protected File findGoRoot(@Nullable final ProxySettings proxySettings) throws IOException, MojoFailureException, MojoExecutionException {
-    final File result;
-    LOCKER.lock();
-    try {
-      final String predefinedGoRoot = this.getGoRoot();
+    final String key = "goroot\n" + this.getGoRoot() + '\n' + this.storeFolder + '\n' + this.getGoVersion() + '\n' + this.getOs() + '\n' + this.getArch() + '\n' + this.getOSXVersion() + '\n' + this.isVerifySdkCache() + '\n' + this.isDisableSdkLoad();
+    final ConcurrentMap<String, Object> cache = this.getSessionCache();
 
-      if (isSafeEmpty(predefinedGoRoot)) {
-        final File cacheFolder = new File(this.storeFolder);
+    final File cached = findCachedGoRoot(cache, key);
+    if (cached != null) {
+      return cached;
+    }
 
-        if (!cacheFolder.isDirectory()) {
-          if (cacheFolder.isFile()) {
-            throw new IOException("Can't create folder '" + cacheFolder + "' because there is presented a file with such name!");
-          }
-          logOptionally("Making SDK cache folder : " + cacheFolder);
-          FileUtils.forceMkdir(cacheFolder);
-        }
+    final File result = this.resolveGoRoot(proxySettings, cache, key);
+    cache.put(key, result);
+    return result;
+  }
+
+  @Nullable
+  private static File findCachedGoRoot(@Nonnull final ConcurrentMap<String, Object> cache, @Nonnull final String key) {
+    final File cached = (File) cache.get(key);
+    return cached != null && cached.isDirectory() ? cached : null;
+  }
 
-        final String definedOsxVersion = this.getOSXVersion();
-        final String sdkVersion = this.getGoVersion();
+  @Nonnull
+  private File resolveGoRoot(@Nullable final ProxySettings proxySettings, @Nonnull final ConcurrentMap<String, Object> cache, @Nonnull final String key) throws IOException, MojoFailureException, MojoExecutionException {
+    final String predefinedGoRoot = this.getGoRoot();
 
-        this.getLog().debug(String.format("SdkVersion = %s, osxVersion = %s", sdkVersion, definedOsxVersion));
+    if (!isSafeEmpty(predefinedGoRoot)) {
+      logOptionally("Detected predefined SDK root folder : " + predefinedGoRoot);
+      final File result = new File(predefinedGoRoot);
+      if (!result.isDirectory()) {
+        throw new MojoFailureException("Predefined SDK root is not a directory : " + result);
+      }
+      return result;
+    }
 
-        if (isSafeEmpty(sdkVersion)) {
-          throw new MojoFailureException("GoLang SDK version is not defined!");
-        }
+    final File cacheFolder = new File(this.storeFolder);
 
-        final String sdkBaseName = String.format(NAME_PATTERN, sdkVersion, this.getOs(), this.getArch(), isSafeEmpty(definedOsxVersion) ? "" : "-" + definedOsxVersion);
-        warnIfContainsUC("Prefer usage of lower case chars only for SDK base name", sdkBaseName);
-        result = loadSDKAndUnpackIntoCache(proxySettings, cacheFolder, sdkBaseName, isDisableSdkLoad());
-      } else {
-        logOptionally("Detected predefined SDK root folder : " + predefinedGoRoot);
-        result = new File(predefinedGoRoot);
-        if (!result.isDirectory()) {
-          throw new MojoFailureException("Predefined SDK root is not a directory : " + result);
+    final String definedOsxVersion = this.getOSXVersion();
+    final String sdkVersion = this.getGoVersion();
+
+    this.getLog().debug(String.format("SdkVersion = %s, osxVersion = %s", sdkVersion, definedOsxVersion));
+
+    if (isSafeEmpty(sdkVersion)) {
+      throw new MojoFailureException("GoLang SDK version is not defined!");
+    }
+
+    final String sdkBaseName = String.format(NAME_PATTERN, sdkVersion, this.getOs(), this.getArch(), isSafeEmpty(definedOsxVersion) ? "" : "-" + definedOsxVersion);
+    warnIfContainsUC("Prefer usage of lower case chars only for SDK base name", sdkBaseName);
+
+    final String sdkKey = cacheFolder.getAbsolutePath() + File.separatorChar + sdkBaseName;
+
+    final ReentrantLock sdkLock = SDK_LOCKS.computeIfAbsent(sdkKey, k -> new ReentrantLock());
+    sdkLock.lock();
+    try {
+      final File checkedByOtherThread = findCachedGoRoot(cache, key);
+      if (checkedByOtherThread != null) {
+        this.getLog().debug("SDK already checked in the session : " + checkedByOtherThread);
+        return checkedByOtherThread;
+      }
+
+      if (!cacheFolder.isDirectory()) {
+        if (cacheFolder.isFile()) {
+          throw new IOException("Can't create folder '" + cacheFolder + "' because there is presented a file with such name!");
         }
+        logOptionally("Making SDK cache folder : " + cacheFolder);
+        FileUtils.forceMkdir(cacheFolder);
       }
+
+      final File result = loadSDKAndUnpackIntoCache(proxySettings, cacheFolder, sdkBaseName, isDisableSdkLoad());
+      cache.put(key, result);
+      return result;
     } finally {
-      LOCKER.unlock();
+      sdkLock.unlock();
     }
-    return result;
   }
 
   private void printBanner() {
@@ -1608,43 +2567,216 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
     return this.hideBanner;
   }
 
+  /**
+   * Check that process must be started one more time. By default calls
+   * {@link #doesNeedOneMoreAttempt(ProcessResult, String, String)} if it is
+   * overridden.
+   *
+   * @param result result of the process, must not be null
+   * @param consoleOut console output if whole output is kept, must not be
+   * null
+   * @param consoleErr console error output if whole output is kept, must not
+   * be null
+   * @return true if the process must be started again
+   * @since 2.3.5
+   */
+  @SuppressWarnings("deprecation")
+  protected boolean doesNeedOneMoreAttempt(@Nonnull final ProcessResult result, @Nonnull final CharSequence consoleOut, @Nonnull final CharSequence consoleErr) throws IOException, MojoExecutionException {
+    if (this.isHookOverridden("doesNeedOneMoreAttempt", ProcessResult.class, String.class, String.class)) {
+      return this.doesNeedOneMoreAttempt(result, consoleOut.toString(), consoleErr.toString());
+    }
+    return false;
+  }
+
+  /**
+   * Old form of the hook, it is still called for overriding mojos but gets
+   * whole output as strings.
+   *
+   * @deprecated override
+   * {@link #doesNeedOneMoreAttempt(ProcessResult, CharSequence, CharSequence)}
+   */
+  @Deprecated
   protected boolean doesNeedOneMoreAttempt(@Nonnull final ProcessResult result, @Nonnull final String consoleOut, @Nonnull final String consoleErr) throws IOException, MojoExecutionException {
     return false;
   }
 
+  /**
+   * Check that process completed with error can be retried by the process
+   * policy. It is called only if
+   * {@link #doesNeedOneMoreAttempt(ProcessResult, CharSequence, CharSequence)}
+   * doesn't request one more attempt. Process stopped by timeout is always
+   * retried while there are retries in the policy.
+   *
+   * @param result result of the process, must not be null
+   * @param consoleOut console output if whole output is kept, must not be
+   * null
+   * @param consoleErr console error output if whole output is kept, must not
+   * be null
+   * @return true if the process can be retried
+   * @see #getProcessPolicy()
+   * @since 2.3.5
+   */
+  protected boolean isRetryableFailure(@Nonnull final ProcessResult result, @Nonnull final CharSequence consoleOut, @Nonnull final CharSequence consoleErr) {
+    return result.getExitValue() != 0 && this.getProcessPolicy().isRetryOnError();
+  }
+
   protected boolean doMainBusiness(@Nullable final ProxySettings proxySettings, final int maxAttempts) throws InterruptedException, MojoFailureException, MojoExecutionException, IOException {
+    return this.executeWithAttempts(proxySettings, maxAttempts);
+  }
+
+  /**
+   * Execute several processes concurrently, each execution is made for own
+   * shard provided to the executing thread through thread local variable.
+   * Console output of concurrent execution is not printed during execution
+   * but printed as whole block after end of the execution. All executions are
+   * completed even if some of them failed.
+   *
+   * @param <T> type of shard
+   * @param proxySettings proxy settings, can be null
+   * @param maxAttempts max number of attempts for each execution
+   * @param threads max number of threads
+   * @param shards list of shards, must not be null
+   * @param currentShard thread local variable to provide shard for execution,
+   * must not be null
+   * @param labeler function to make label of shard, must not be null
+   * @return true if error detected in any execution
+   * @throws InterruptedException if the thread is interrupted
+   * @throws MojoFailureException if any execution throws it
+   * @throws MojoExecutionException if any execution throws it
+   * @throws IOException if any execution throws it
+   * @since 2.3.5
+   */
+  protected <T> boolean doMainBusinessConcurrently(
+      @Nullable final ProxySettings proxySettings,
+      final int maxAttempts,
+      final int threads,
+      @Nonnull @MustNotContainNull final List<T> shards,
+      @Nonnull final ThreadLocal<T> currentShard,
+      @Nonnull final Function<T, String> labeler
+  ) throws InterruptedException, MojoFailureException, MojoExecutionException, IOException {
+    final int workers = Math.max(1, Math.min(threads, shards.size()));
+    getLog().info(String.format("Executing %d shard(s) by %d thread(s)", shards.size(), workers));
+
+    final AtomicInteger threadCounter = new AtomicInteger();
+    final ExecutorService executor = Executors.newFixedThreadPool(workers, r -> {
+      final Thread thread = new Thread(r, "mvn-golang-exec-" + threadCounter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+
+    try {
+      final List<Future<Boolean>> futures = new ArrayList<>();
+      for (final T shard : shards) {
+        final String label = labeler.apply(shard);
+        futures.add(executor.submit(() -> {
+          currentShard.set(shard);
+          this.concurrentExecutionLabel.set(label);
+          try {
+            return this.executeWithAttempts(proxySettings, maxAttempts);
+          } finally {
+            this.concurrentExecutionLabel.remove();
+            currentShard.remove();
+          }
+        }));
+      }
+      executor.shutdown();
+
+      boolean error = false;
+      Exception detected = null;
+      for (final Future<Boolean> f : futures) {
+        try {
+          error |= f.get();
+        } catch (ExecutionException ex) {
+          final Throwable cause = ex.getCause();
+          final Exception exception = cause instanceof Exception ? (Exception) cause : new MojoExecutionException("Error during concurrent execution", cause);
+          if (detected == null) {
+            detected = exception;
+          } else {
+            detected.addSuppressed(exception);
+          }
+        }
+      }
+
+      if (detected instanceof InterruptedException) {
+        throw (InterruptedException) detected;
+      } else if (detected instanceof MojoFailureException) {
+        throw (MojoFailureException) detected;
+      } else if (detected instanceof MojoExecutionException) {
+        throw (MojoExecutionException) detected;
+      } else if (detected instanceof IOException) {
+        throw (IOException) detected;
+      } else if (detected != null) {
+        throw new MojoExecutionException(detected.getMessage(), detected);
+      }
+      return error;
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private boolean executeWithAttempts(@Nullable final ProxySettings proxySettings, final int maxAttempts) throws InterruptedException, MojoFailureException, MojoExecutionException, IOException {
+    try {
+      return this.executeWithAttemptsInternal(proxySettings, maxAttempts);
+    } finally {
+      this.releaseConsoleState();
+    }
+  }
+
+  private boolean executeWithAttemptsInternal(@Nullable final ProxySettings proxySettings, final int maxAttempts) throws InterruptedException, MojoFailureException, MojoExecutionException, IOException {
     int iterations = 0;
+    int retries = 0;
 
     boolean error = false;
 
+    final ProcessPolicy policy = this.getProcessPolicy();
+
     while (!Thread.currentThread().isInterrupted()) {
       final ProcessExecutor executor = prepareExecutor(proxySettings);
       if (executor == null) {
         logOptionally("The Mojo should not be executed");
         break;
       }
+      final ProcessWatchdog watchdog = policy.registerWatchdog(executor, getLog());
       final ProcessResult result = executor.executeNoTimeout();
+      final boolean timeout = watchdog != null && watchdog.isKilled();
       final int resultCode = result.getExitValue();
-      error = resultCode != 0 && !isIgnoreErrorExitCode();
+      error = timeout || (resultCode != 0 && !isIgnoreErrorExitCode());
       iterations++;
 
-      final String outLog = extractOutAsString();
-      final String errLog = extractErrorOutAsString();
+      final ConsoleState console = this.getConsoleState();
+      console.out.close();
+      console.err.close();
 
-      if (getLog().isDebugEnabled()) {
-        getLog().debug("OUT_LOG: " + outLog);
-        getLog().debug("ERR_LOG: " + errLog);
-      }
+      final boolean oneMoreAttempt;
+      final boolean retry;
+      try {
+        final CharSequence outLog = console.out.getWhole();
+        final CharSequence errLog = console.err.getWhole();
+
+        this.processConsoleOut(resultCode, outLog, errLog);
+        printLogs(error);
 
-      this.processConsoleOut(resultCode, outLog, errLog);
-      printLogs(error || isEnforcePrintOutput() || (this.isVerbose() && this.isCommandSupportVerbose()), error, outLog, errLog);
+        oneMoreAttempt = !timeout && doesNeedOneMoreAttempt(result, outLog, errLog);
+        retry = !oneMoreAttempt && retries < policy.getRetries() && (timeout || isRetryableFailure(result, outLog, errLog));
+      } finally {
+        console.out.dispose();
+        console.err.dispose();
+      }
 
-      if (doesNeedOneMoreAttempt(result, outLog, errLog)) {
+      if (oneMoreAttempt) {
         if (iterations > maxAttempts) {
           throw new MojoExecutionException("Too many iterations detected, may be some loop and bug at mojo " + this.getClass().getName());
         }
         getLog().warn("Make one more attempt...");
+      } else if (retry) {
+        retries++;
+        final long delay = policy.makeBackoff(retries);
+        getLog().warn(String.format("%s, retry %d of %d in %d ms...", timeout ? "Process stopped by timeout" : "Process exit code : " + resultCode, retries, policy.getRetries(), delay));
+        Thread.sleep(delay);
       } else {
+        if (timeout) {
+          throw new MojoFailureException("Process has not completed in " + policy.getTimeoutMillis() / 1000L + " second(s)");
+        }
         if (!isIgnoreErrorExitCode()) {
           assertProcessResult(result);
         }
@@ -1674,6 +2806,8 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
 
         printEcho();
 
+        AbstractRepo.setProcessPolicy(this.getProcessPolicy());
+
         final ProxySettings proxySettings = extractProxySettings();
         beforeExecution(proxySettings);
 
@@ -1696,6 +2830,7 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
           throw new MojoFailureException("Mojo execution failed, see log");
         }
       } finally {
+        AbstractRepo.setProcessPolicy(null);
         if (this.doesNeedSessionLock()) {
           unlockMvnGolangSession();
         }
@@ -1719,60 +2854,43 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
     return false;
   }
 
-  @Nonnull
-  private String extractOutAsString() {
-    return new String(this.consoleOutBuffer.toByteArray(), Charset.defaultCharset());
-  }
-
-  @Nonnull
-  private String extractErrorOutAsString() {
-    return new String(this.consoleErrBuffer.toByteArray(), Charset.defaultCharset());
-  }
-
-  protected void printLogs(final boolean forcePrint, final boolean errorDetected, @Nonnull final String outLog, @Nonnull final String errLog) {
-    final boolean outLogNotEmpty = !outLog.isEmpty();
-    final boolean errLogNotEmpty = !errLog.isEmpty();
-
-    if (outLogNotEmpty) {
-      if (forcePrint || getLog().isDebugEnabled()) {
-        getLog().info("");
-        getLog().info("---------Exec.Out---------");
-        for (final String str : outLog.split("\n")) {
-          getLog().info(StrUtils.trimRight(str));
-        }
+  protected void printLogs(final boolean errorDetected) {
+    final ConsoleState state = this.getConsoleState();
+    synchronized (this.consolePrintLock) {
+      if (state.outPrintedLive) {
         getLog().info("");
-      } else {
-        getLog().debug("There is not any log out from the process");
+      } else if (errorDetected || state.printOut) {
+        printConsoleTail(state.out, state.makeTitle("Out"), getLog()::info);
       }
-    }
 
-    if (errLogNotEmpty) {
-      if (forcePrint) {
-        if (errorDetected) {
-          getLog().error("");
-          getLog().error("---------Exec.Err---------");
-          for (final String str : errLog.split("\n")) {
-            getLog().error(StrUtils.trimRight(str));
-          }
-          getLog().error("");
-        } else {
-          getLog().warn("");
-          getLog().warn("---------Exec.Err---------");
-          for (final String str : errLog.split("\n")) {
-            getLog().warn(StrUtils.trimRight(str));
-          }
-          getLog().warn("");
-        }
-      } else {
-        getLog().debug("---------Exec.Err---------");
-        for (final String str : errLog.split("\n")) {
-          getLog().debug(StrUtils.trimRight(str));
-        }
+      if (state.errPrintedLive) {
+        getLog().warn("");
+      } else if (errorDetected) {
+        printConsoleTail(state.err, state.makeTitle("Err"), getLog()::error);
+      } else if (state.err.getLineCounter() == 0L) {
+        getLog().debug("Error log buffer is empty");
+      } else if (state.printErr) {
+        printConsoleTail(state.err, state.makeTitle("Err"), getLog()::warn);
+      } else if (state.label != null) {
+        printConsoleTail(state.err, state.makeTitle("Err"), getLog()::debug);
       }
-    } else {
-      getLog().debug("Error log buffer is empty");
     }
+  }
 
+  private void printConsoleTail(@Nonnull final ConsoleLineBuffer buffer, @Nonnull final String title, @Nonnull final Consumer<String> printer) {
+    final List<String> lines = buffer.getTail();
+    if (lines.isEmpty() && buffer.getSkippedLines() == 0L) {
+      return;
+    }
+    printer.accept("");
+    printer.accept(title);
+    if (buffer.getSkippedLines() > 0L) {
+      printer.accept("..." + buffer.getSkippedLines() + " line(s) skipped...");
+    }
+    for (final String s : lines) {
+      printer.accept(StrUtils.trimRight(s));
+    }
+    printer.accept("");
   }
 
   private void assertProcessResult(@Nonnull final ProcessResult result) throws MojoFailureException {
@@ -1818,6 +2936,20 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
 
   @Nullable
   private String getEnvPath() {
+    final String key = "envpath\n" + this.isFilterEnvPath();
+    final ConcurrentMap<String, Object> cache = this.getSessionCache();
+    String result = (String) cache.get(key);
+    if (result == null) {
+      result = this.makeEnvPath();
+      if (result != null) {
+        cache.put(key, result);
+      }
+    }
+    return result;
+  }
+
+  @Nullable
+  private String makeEnvPath() {
     String path = System.getenv("PATH");
     if (path == null) {
       this.getLog().warn("Can't find any defined PATH in environment");
@@ -1885,14 +3017,16 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
     final List<String> commandLine = new ArrayList<>();
     commandLine.add(foundExecutableTool.getAbsolutePath());
 
-    final String gocommand = getGoCommand();
+    final String[] list = this.listFlags;
+
+    final String gocommand = list == null ? getGoCommand() : "list";
     if (!gocommand.isEmpty()) {
-      commandLine.add(getGoCommand());
+      commandLine.add(gocommand);
     }
 
     boolean verboseAdded = false;
 
-    for (final String s : getCommandFlags()) {
+    for (final String s : list == null ? getCommandFlags() : list) {
       if (s.equals("-v")) {
         verboseAdded = true;
       }
@@ -1904,7 +3038,9 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
 
     commandLine.addAll(Arrays.asList(getBuildFlags()));
     commandLine.addAll(Arrays.asList(getTailArguments()));
-    commandLine.addAll(Arrays.asList(getOptionalExtraTailArguments()));
+    if (list == null) {
+      commandLine.addAll(Arrays.asList(getOptionalExtraTailArguments()));
+    }
 
     final StringBuilder cli = new StringBuilder();
     int index = 0;
@@ -1943,9 +3079,91 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
     return result;
   }
 
+  /**
+   * Check that executor for 'go list' is being prepared.
+   *
+   * @return true if executor prepared by
+   * {@link #prepareListExecutor(ProxySettings, String[])} is being made
+   * @since 2.3.5
+   */
+  protected boolean isListExecutorPreparing() {
+    return this.listFlags != null;
+  }
+
+  /**
+   * Prepare 'go list' execution for packages of the mojo. Command flags of the
+   * mojo are replaced by the list flags, build flags and tail arguments are
+   * kept.
+   *
+   * @param proxySettings proxy settings, can be null
+   * @param flags flags of 'go list' command, must not be null
+   * @return prepared executor or null if the mojo must not be executed
+   * @since 2.3.5
+   */
+  @Nullable
+  protected ProcessExecutor prepareListExecutor(@Nullable final ProxySettings proxySettings, @Nonnull @MustNotContainNull final String[] flags) throws MojoFailureException, MojoExecutionException, IOException {
+    this.listFlags = flags;
+    try {
+      return this.prepareExecutor(proxySettings);
+    } finally {
+      this.listFlags = null;
+      this.releaseConsoleState();
+    }
+  }
+
+  /**
+   * Execute 'go list' and get its output lines.
+   *
+   * @param executor prepared executor, must not be null
+   * @return list of not empty output lines or null if error
+   * @since 2.3.5
+   */
+  @Nullable
+  @MustNotContainNull
+  protected List<String> executeList(@Nonnull final ProcessExecutor executor) throws InterruptedException, IOException {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    final ByteArrayOutputStream err = new ByteArrayOutputStream();
+    executor.redirectOutput(out).redirectError(err);
+
+    final ProcessWatchdog watchdog = this.getProcessPolicy().registerWatchdog(executor, getLog());
+    final ProcessResult result = executor.executeNoTimeout();
+    if (watchdog != null && watchdog.isKilled()) {
+      getLog().warn("Listing of packages has been stopped by timeout");
+      return null;
+    }
+    if (result.getExitValue() != 0) {
+      getLog().warn("Can't list packages : " + new String(err.toByteArray(), Charset.defaultCharset()).trim());
+      return null;
+    }
+
+    final List<String> lines = new ArrayList<>();
+    for (final String line : new String(out.toByteArray(), Charset.defaultCharset()).split("\\r?\\n")) {
+      if (!line.trim().isEmpty()) {
+        lines.add(line.trim());
+      }
+    }
+    return lines;
+  }
+
   protected void registerOutputBuffers(@Nonnull final ProcessExecutor executor) {
-    executor.redirectOutput(this.consoleOutBuffer);
-    executor.redirectError(this.consoleErrBuffer);
+    final ConsoleState state = this.getConsoleState();
+    executor.redirectOutput(this.decorateConsoleOut(state.out));
+    executor.redirectError(state.err);
+  }
+
+  /**
+   * Decorate stream getting console output of the process. It is called from
+   * the thread preparing the execution, so that the decorator can be made for
+   * the concurrent execution. The decorator must flush incomplete line of
+   * output on flush.
+   *
+   * @param consoleOut stream collecting console output, must not be null
+   * @return stream to be provided to the process, must not be null
+   * @since 2.3.5
+   */
+  @Nonnull
+  protected OutputStream decorateConsoleOut(@Nonnull final OutputStream consoleOut) {
+    return consoleOut;
   }
 
   protected void registerEnvVars(
@@ -1958,8 +3176,71 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
   ) throws IOException {
     logOptionally("....Environment vars....");
 
-    addEnvVar(result, "GOROOT", theGoRoot.getAbsolutePath());
-    this.project.getProperties().setProperty("mvn.golang.last.goroot", theGoRoot.getAbsolutePath());
+    if (theGoBin == null) {
+      getLog().warn("GOBIN is disabled by direct order");
+      getLog().warn("GOCACHE is not provided by direct order");
+    }
+
+    final String key = "environment\n" + theGoRoot.getAbsolutePath() + '\n' + theGoBin + '\n' + theGoCache + '\n' + sourcesFile.getAbsolutePath()
+        + '\n' + Arrays.toString(goPathParts) + '\n' + this.isEnforceGoPathToEnd() + '\n' + this.makePathFromExtraGoPathElements() + '\n' + this.getSpecialPartOfGoPath()
+        + '\n' + this.getTargetOS() + '\n' + this.getTargetArch() + '\n' + this.getTargetArm() + '\n' + this.getTarget386() + '\n' + this.getGoRootBootstrap()
+        + '\n' + this.getExecSubpath() + '\n' + this.isFilterEnvPath();
+    final ConcurrentMap<String, Object> cache = this.getSessionCache();
+
+    @SuppressWarnings("unchecked")
+    Map<String, String> baseEnvironment = (Map<String, String>) cache.get(key);
+    if (baseEnvironment == null) {
+      baseEnvironment = Collections.unmodifiableMap(this.makeBaseEnvironment(theGoRoot, theGoBin, theGoCache, sourcesFile, goPathParts));
+      cache.put(key, baseEnvironment);
+    }
+
+    for (final Map.Entry<String, String> e : baseEnvironment.entrySet()) {
+      addEnvVar(result, e.getKey(), e.getValue());
+      this.project.getProperties().setProperty("mvn.golang.last." + e.getKey().toLowerCase(Locale.ENGLISH), e.getValue());
+    }
+
+    boolean go111moduleDetected = false;
+
+    for (final Map.Entry<?, ?> record : getEnv().entrySet()) {
+      if (ENV_GO111MODULE.equals(record.getKey().toString())) {
+        go111moduleDetected = true;
+      }
+      addEnvVar(result, record.getKey().toString(), record.getValue().toString());
+    }
+
+    if (this.isModuleMode()) {
+      if (go111moduleDetected) {
+        this.getLog().warn(String.format("Module mode is true but %s detected among custom environment parameters", ENV_GO111MODULE));
+      } else {
+        this.getLog().warn(String.format("Forcing '%s = on' because module mode is activated", ENV_GO111MODULE));
+        addEnvVar(result, ENV_GO111MODULE, "on");
+      }
+    }
+  }
+
+  /**
+   * Make environment variables defined by the plug-in, they don't depend on
+   * custom environment variables.
+   *
+   * @param theGoRoot GOROOT folder, must not be null
+   * @param theGoBin GOBIN value, can be null
+   * @param theGoCache GOCACHE value, can be null
+   * @param sourcesFile folder of sources, must not be null
+   * @param goPathParts GOPATH folders, must not be null
+   * @return map of environment variables in order of their registration
+   * @throws IOException if GOROOT_BOOTSTRAP folder is not found
+   */
+  @Nonnull
+  private Map<String, String> makeBaseEnvironment(
+      @Nonnull final File theGoRoot,
+      @Nullable final String theGoBin,
+      @Nullable final String theGoCache,
+      @Nonnull final File sourcesFile,
+      @MustNotContainNull @Nonnull final File[] goPathParts
+  ) throws IOException {
+    final Map<String, String> result = new LinkedHashMap<>();
+
+    result.put("GOROOT", theGoRoot.getAbsolutePath());
 
     String preparedGoPath = IOUtils.makeOsFilePathWithoutDuplications(goPathParts);
     if (isEnforceGoPathToEnd()) {
@@ -1967,21 +3248,13 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
     } else {
       preparedGoPath = IOUtils.makeOsFilePathWithoutDuplications(preparedGoPath, makePathFromExtraGoPathElements(), removeSrcFolderAtEndIfPresented(sourcesFile.getAbsolutePath()), getSpecialPartOfGoPath());
     }
-    addEnvVar(result, "GOPATH", preparedGoPath);
-    this.project.getProperties().setProperty("mvn.golang.last.gopath", preparedGoPath);
+    result.put("GOPATH", preparedGoPath);
 
-    if (theGoBin == null) {
-      getLog().warn("GOBIN is disabled by direct order");
-    } else {
-      addEnvVar(result, "GOBIN", theGoBin);
-      this.project.getProperties().setProperty("mvn.golang.last.gobin", theGoBin);
-    }
-
-    if (theGoBin == null) {
-      getLog().warn("GOCACHE is not provided by direct order");
-    } else {
-      addEnvVar(result, "GOCACHE", theGoCache);
-      this.project.getProperties().setProperty("mvn.golang.last.gocache", theGoCache);
+    if (theGoBin != null) {
+      result.put("GOBIN", theGoBin);
+      if (theGoCache != null) {
+        result.put("GOCACHE", theGoCache);
+      }
     }
 
     final String trgtOs = this.getTargetOS();
@@ -1990,53 +3263,31 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
     final String trgt386 = this.getTarget386();
 
     if (trgt386 != null) {
-      addEnvVar(result, "GO386", trgt386);
-      this.project.getProperties().setProperty("mvn.golang.last.go386", trgt386);
+      result.put("GO386", trgt386);
     }
 
     if (trgtOs != null) {
-      addEnvVar(result, "GOOS", trgtOs);
-      this.project.getProperties().setProperty("mvn.golang.last.goos", trgtOs);
+      result.put("GOOS", trgtOs);
     }
 
     if (trgtArm != null) {
-      addEnvVar(result, "GOARM", trgtArm);
-      this.project.getProperties().setProperty("mvn.golang.last.goarm", trgtArm);
+      result.put("GOARM", trgtArm);
     }
 
     if (trgtArch != null) {
-      addEnvVar(result, "GOARCH", trgtArch);
-      this.project.getProperties().setProperty("mvn.golang.last.goarch", trgtArch);
+      result.put("GOARCH", trgtArch);
     }
 
     final File gorootbootstrap = findGoRootBootstrap(true);
     if (gorootbootstrap != null) {
-      addEnvVar(result, "GOROOT_BOOTSTRAP", gorootbootstrap.getAbsolutePath());
-      this.project.getProperties().setProperty("mvn.golang.last.goroot_bootstrap", gorootbootstrap.getAbsolutePath());
+      result.put("GOROOT_BOOTSTRAP", gorootbootstrap.getAbsolutePath());
     }
 
     String thePath = GetUtils.ensureNonNull(getEnvPath(), "");
     thePath = IOUtils.makeOsFilePathWithoutDuplications((theGoRoot + File.separator + getExecSubpath()), thePath, theGoBin);
-    addEnvVar(result, "PATH", thePath);
-    this.project.getProperties().setProperty("mvn.golang.last.path", thePath);
-
-    boolean go111moduleDetected = false;
-
-    for (final Map.Entry<?, ?> record : getEnv().entrySet()) {
-      if (ENV_GO111MODULE.equals(record.getKey().toString())) {
-        go111moduleDetected = true;
-      }
-      addEnvVar(result, record.getKey().toString(), record.getValue().toString());
-    }
+    result.put("PATH", thePath);
 
-    if (this.isModuleMode()) {
-      if (go111moduleDetected) {
-        this.getLog().warn(String.format("Module mode is true but %s detected among custom environment parameters", ENV_GO111MODULE));
-      } else {
-        this.getLog().warn(String.format("Forcing '%s = on' because module mode is activated", ENV_GO111MODULE));
-        addEnvVar(result, ENV_GO111MODULE, "on");
-      }
-    }
+    return result;
   }
 
   @Nonnull
@@ -2110,7 +3361,44 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
     return null;
   }
 
+  private static void writeConsoleLog(@Nonnull final File file, @Nonnull final CharSequence text) throws IOException {
+    try (final Writer writer = new OutputStreamWriter(new BufferedOutputStream(new FileOutputStream(file)), StandardCharsets.UTF_8)) {
+      ConsoleCapture.writeTo(text, writer);
+    }
+  }
+
+  /**
+   * Process console output of completed process. By default calls
+   * {@link #processConsoleOut(int, String, String)} if it is overridden,
+   * otherwise writes log files.
+   *
+   * @param exitCode exit code of the process
+   * @param out console output if whole output is kept, must not be null
+   * @param err console error output if whole output is kept, must not be null
+   * @since 2.3.5
+   */
+  @SuppressWarnings("deprecation")
+  protected void processConsoleOut(final int exitCode, @Nonnull final CharSequence out, @Nonnull final CharSequence err) throws MojoFailureException, MojoExecutionException {
+    if (this.isHookOverridden("processConsoleOut", int.class, String.class, String.class)) {
+      this.processConsoleOut(exitCode, out.toString(), err.toString());
+    } else {
+      this.writeConsoleLogs(out, err);
+    }
+  }
+
+  /**
+   * Old form of the hook, it is still called for overriding mojos but gets
+   * whole output as strings.
+   *
+   * @deprecated override
+   * {@link #processConsoleOut(int, CharSequence, CharSequence)}
+   */
+  @Deprecated
   protected void processConsoleOut(final int exitCode, @Nonnull final String out, @Nonnull final String err) throws MojoFailureException, MojoExecutionException {
+    this.writeConsoleLogs(out, err);
+  }
+
+  private void writeConsoleLogs(@Nonnull final CharSequence out, @Nonnull final CharSequence err) throws MojoExecutionException {
     final File reportsFolderFile = new File(this.getReportsFolder());
 
     final String fileOut = this.getOutLogFile();
@@ -2126,7 +3414,7 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
       }
       try {
         getLog().debug("Writing out console log : " + fileToWriteErr);
-        FileUtils.write(fileToWriteOut, out, "UTF-8");
+        writeConsoleLog(fileToWriteOut, out);
       } catch (IOException ex) {
         throw new MojoExecutionException("Can't save console output log into file : " + fileToWriteOut, ex);
       }
@@ -2139,11 +3427,32 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
       }
       try {
         getLog().debug("Writing error console log : " + fileToWriteErr);
-        FileUtils.write(fileToWriteErr, err, "UTF-8");
+        writeConsoleLog(fileToWriteErr, err);
       } catch (IOException ex) {
         throw new MojoExecutionException("Can't save console error log into file : " + fileToWriteErr, ex);
       }
     }
   }
 
+  private static final class ConsoleState {
+
+    private final String label;
+    private final boolean printOut;
+    private final boolean printErr;
+    private ConsoleLineBuffer out;
+    private ConsoleLineBuffer err;
+    private volatile boolean outPrintedLive;
+    private volatile boolean errPrintedLive;
+
+    private ConsoleState(@Nullable final String label, final boolean printOut, final boolean printErr) {
+      this.label = label;
+      this.printOut = printOut;
+      this.printErr = printErr;
+    }
+
+    @Nonnull
+    private String makeTitle(@Nonnull final String stream) {
+      return this.label == null ? "---------Exec." + stream + "---------" : "---------Exec." + stream + " (" + this.label + ")---------";
+    }
+  }
 }
@@ -18,18 +18,30 @@ package com.igormaznitsa.mvngolang;
 import com.igormaznitsa.meta.annotation.MustNotContainNull;
 import static com.igormaznitsa.meta.common.utils.Assertions.assertNotNull;
 import com.igormaznitsa.meta.common.utils.GetUtils;
+import com.igormaznitsa.mvngolang.utils.BuildFingerprint;
+import com.igormaznitsa.mvngolang.utils.GoPackageGraph;
 import com.igormaznitsa.mvngolang.utils.ProxySettings;
 import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import org.apache.commons.io.FilenameUtils;
+import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.zeroturnaround.exec.ProcessExecutor;
 
 /**
  * The Mojo wraps the 'build' command.
@@ -83,6 +95,47 @@ public class GolangBuildMojo extends AbstractGoPackageAndDependencyAwareMojo {
   @Parameter(name = "ldFlags")
   private String[] ldFlags;
 
+  /**
+   * Matrix of targets to be built concurrently, each target is defined as
+   * GOOS/GOARCH or GOOS/GOARCH/GOARM and built by its own process, number of
+   * concurrent processes is not greater than number of available processors.
+   * Result folder, result name and log file names can contain placeholders
+   * {GOOS}, {GOARCH} and {GOARM}. If neither result folder nor result name
+   * contains placeholder then suffix -GOOS-GOARCH is added to the result name
+   * (and extension .exe for windows).
+   * <pre>
+   * {@code
+   *      <targets>
+   *        <target>linux/amd64</target>
+   *        <target>windows/amd64</target>
+   *        <target>linux/arm/7</target>
+   *      </targets>
+   * }
+   * </pre>
+   *
+   * @since 2.3.5
+   */
+  @Parameter(name = "targets")
+  private String[] targets;
+
+  private final ThreadLocal<BuildTarget> currentTarget = new ThreadLocal<>();
+
+  /**
+   * Skip start of build process if the result file exists and it has been
+   * built from the same inputs. Fingerprint of inputs (command line,
+   * environment, SDK, metadata of source files, content of go.mod and go.sum,
+   * dependency artifacts, files of packages listed by 'go list -deps') is
+   * saved next to the result file. Works only if the result file is defined.
+   * Can be defined through property
+   * 'mvn.golang.build.incremental'
+   *
+   * @since 2.3.5
+   */
+  @Parameter(name = "incrementalBuild", defaultValue = "false")
+  private boolean incrementalBuild;
+
+  private final ConcurrentMap<String, String> pendingFingerprints = new ConcurrentHashMap<>();
+
   @MustNotContainNull
   @Nonnull
   public List<String> getLdflagsAsList() {
@@ -112,9 +165,107 @@ public class GolangBuildMojo extends AbstractGoPackageAndDependencyAwareMojo {
     this.buildMode = GetUtils.ensureNonNull(buildMode, "default");
   }
 
+  public boolean isIncrementalBuild() {
+    return Boolean.parseBoolean(findMvnProperty("mvn.golang.build.incremental", Boolean.toString(this.incrementalBuild)));
+  }
+
+  public void setIncrementalBuild(final boolean value) {
+    this.incrementalBuild = value;
+  }
+
+  @Nullable
+  @MustNotContainNull
+  public String[] getTargets() {
+    return this.targets == null ? null : this.targets.clone();
+  }
+
+  public void setTargets(@Nullable @MustNotContainNull final String[] value) {
+    this.targets = value == null ? null : value.clone();
+  }
+
+  @Nonnull
+  @MustNotContainNull
+  List<BuildTarget> parseTargets() {
+    final Set<BuildTarget> result = new LinkedHashSet<>();
+    if (this.targets != null) {
+      for (final String s : this.targets) {
+        if (s != null && !s.trim().isEmpty()) {
+          result.add(BuildTarget.parse(s));
+        }
+      }
+    }
+    return new ArrayList<>(result);
+  }
+
+  @Override
+  @Nullable
+  public String getTargetOS() {
+    final BuildTarget target = this.currentTarget.get();
+    return target == null ? super.getTargetOS() : target.os;
+  }
+
+  @Override
+  @Nullable
+  public String getTargetArch() {
+    final BuildTarget target = this.currentTarget.get();
+    return target == null ? super.getTargetArch() : target.arch;
+  }
+
+  @Override
+  @Nullable
+  public String getTargetArm() {
+    final BuildTarget target = this.currentTarget.get();
+    if (target == null) {
+      return super.getTargetArm();
+    }
+    return target.arm == null && "arm".equals(target.arch) ? super.getTargetArm() : target.arm;
+  }
+
+  @Override
+  @Nullable
+  public String getOutLogFile() {
+    return this.expandForTarget(this.currentTarget.get(), super.getOutLogFile(), true);
+  }
+
+  @Override
+  @Nullable
+  public String getErrLogFile() {
+    return this.expandForTarget(this.currentTarget.get(), super.getErrLogFile(), true);
+  }
+
+  @Nullable
+  private String expandForTarget(@Nullable final BuildTarget target, @Nullable final String text, final boolean addSuffixIfNoPlaceholder) {
+    if (target == null || text == null || text.trim().isEmpty()) {
+      return text;
+    }
+    if (BuildTarget.hasPlaceholder(text)) {
+      return target.expand(text);
+    }
+    if (addSuffixIfNoPlaceholder) {
+      final String extension = FilenameUtils.getExtension(text);
+      final String base = extension.isEmpty() ? text : text.substring(0, text.length() - extension.length() - 1);
+      return base + '-' + target.makeSuffix() + (extension.isEmpty() ? "" : '.' + extension);
+    }
+    return text;
+  }
+
   @Nonnull
   private File getResultFile() {
-    return new File(getResultFolder(), this.getResultName());
+    return this.getResultFile(this.currentTarget.get());
+  }
+
+  @Nonnull
+  File getResultFile(@Nullable final BuildTarget target) {
+    if (target == null) {
+      return new File(getResultFolder(), this.getResultName());
+    }
+    final String folder = getResultFolder();
+    final String name = this.getResultName();
+    if (BuildTarget.hasPlaceholder(folder) || BuildTarget.hasPlaceholder(name)) {
+      return new File(target.expand(folder), target.expand(name));
+    }
+    final boolean windows = "windows".equals(target.os) && !name.toLowerCase(Locale.ENGLISH).endsWith(".exe");
+    return new File(folder, name + '-' + target.makeSuffix() + (windows ? ".exe" : ""));
   }
 
   @Nonnull
@@ -141,12 +292,115 @@ public class GolangBuildMojo extends AbstractGoPackageAndDependencyAwareMojo {
     return "build";
   }
 
+  @Override
+  protected boolean doMainBusiness(@Nullable final ProxySettings proxySettings, final int maxAttempts) throws InterruptedException, MojoFailureException, MojoExecutionException, IOException {
+    final List<BuildTarget> matrix = this.parseTargets();
+    if (matrix.isEmpty()) {
+      return super.doMainBusiness(proxySettings, maxAttempts);
+    }
+    final int threads = Math.min(matrix.size(), Runtime.getRuntime().availableProcessors());
+    return this.doMainBusinessConcurrently(proxySettings, maxAttempts, threads, matrix, this.currentTarget, BuildTarget::toString);
+  }
+
+  private boolean isResultFileDefined() {
+    final String[] selectedPackages = this.getPackages();
+    return (selectedPackages == null || selectedPackages.length < 2) && !"none".equals(this.getResultName().trim());
+  }
+
+  @Override
+  @Nullable
+  protected ProcessExecutor prepareExecutor(@Nullable final ProxySettings proxySettings) throws IOException, MojoFailureException, MojoExecutionException {
+    if (this.isListExecutorPreparing() || !this.isIncrementalBuild()) {
+      return super.prepareExecutor(proxySettings);
+    }
+
+    final String packagesHash = this.isResultFileDefined() ? this.makePackagesHash(proxySettings) : null;
+
+    final ProcessExecutor result = super.prepareExecutor(proxySettings);
+    if (result != null) {
+      if (!this.isResultFileDefined()) {
+        getLog().warn("Incremental build is not used because result file is not defined");
+      } else if (packagesHash == null) {
+        getLog().warn("Incremental build is not used because used packages can't be listed");
+      } else {
+        final File resultFile = this.getResultFile();
+        final String hash = this.makeFingerprint(result, resultFile, packagesHash);
+        if (BuildFingerprint.isUpToDate(resultFile, hash)) {
+          getLog().info("Result file is up to date, build is skipped : " + resultFile);
+          return null;
+        }
+        BuildFingerprint.delete(resultFile);
+        this.pendingFingerprints.put(resultFile.getAbsolutePath(), hash);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Make hash of files of all packages used by the build, they can be placed
+   * out of sources folder (GOPATH entries, local replacements of modules).
+   *
+   * @param proxySettings proxy settings, can be null
+   * @return hash of packages or null if they can't be listed
+   */
+  @Nullable
+  private String makePackagesHash(@Nullable final ProxySettings proxySettings) throws IOException, MojoFailureException, MojoExecutionException {
+    final ProcessExecutor executor = this.prepareListExecutor(proxySettings, new String[] {"-deps", "-f", GoPackageGraph.LIST_FORMAT});
+    final List<String> lines;
+    try {
+      lines = executor == null ? null : this.executeList(executor);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Listing of packages has been interrupted");
+    }
+    return lines == null ? null : GoPackageGraph.parse(lines).makeHash();
+  }
+
+  @Nonnull
+  private String makeFingerprint(@Nonnull final ProcessExecutor executor, @Nonnull final File resultFile, @Nonnull final String packagesHash) throws IOException {
+    final BuildFingerprint fingerprint = new BuildFingerprint()
+        .add("command", executor.getCommand())
+        .add("packages", packagesHash)
+        .add("environment", executor.getEnvironment())
+        .add("directory", executor.getDirectory() == null ? null : executor.getDirectory().getAbsolutePath())
+        .addFile(new File(executor.getCommand().get(0)))
+        .addSdkVersion(executor.getEnvironment().get("GOROOT"));
+
+    final File sources = this.getSources(false).getAbsoluteFile();
+    final File resultFolder = resultFile.getAbsoluteFile().getParentFile();
+    final List<File> excluded = new ArrayList<>();
+    excluded.add(resultFile);
+    excluded.add(BuildFingerprint.findFingerprintFile(resultFile));
+    if (resultFolder != null && !sources.toPath().normalize().startsWith(resultFolder.toPath().normalize())) {
+      excluded.add(resultFolder);
+    }
+    fingerprint.addFolder(sources, excluded);
+
+    for (final File f : this.getDependencyArtifactFiles()) {
+      fingerprint.addFile(f);
+    }
+    return fingerprint.getHash();
+  }
+
   @Override
   public void beforeExecution(@Nullable final ProxySettings proxySettings) throws MojoFailureException {
-    final File folder = new File(getResultFolder());
+    final List<BuildTarget> matrix;
+    try {
+      matrix = this.parseTargets();
+    } catch (IllegalArgumentException ex) {
+      throw new MojoFailureException(ex.getMessage(), ex);
+    }
 
-    if (!folder.isDirectory() && !folder.mkdirs()) {
-      throw new MojoFailureException("Can't create folder : " + folder);
+    if (matrix.isEmpty()) {
+      makeFolder(new File(getResultFolder()));
+    } else {
+      getLog().info("Build targets : " + matrix);
+      for (final BuildTarget t : matrix) {
+        final File parent = this.getResultFile(t).getParentFile();
+        if (parent != null) {
+          makeFolder(parent);
+        }
+      }
     }
 
     if (isVerbose() || !"default".equals(this.buildMode)) {
@@ -165,25 +419,52 @@ public class GolangBuildMojo extends AbstractGoPackageAndDependencyAwareMojo {
     }
   }
 
+  private static void makeFolder(@Nonnull final File folder) throws MojoFailureException {
+    if (!folder.isDirectory() && !folder.mkdirs()) {
+      throw new MojoFailureException("Can't create folder : " + folder);
+    }
+  }
+
   @Override
   public void afterExecution(@Nullable final ProxySettings proxySettings, final boolean error) throws MojoFailureException {
-    if (!error) {
-      final File resultFile = getResultFile();
-      // check that it exists
-      if (!resultFile.isFile()) {
-        throw new MojoFailureException("Can't find generated target file : " + resultFile);
-      }
-      // softly try to make it executable
-      try {
-        if (!resultFile.setExecutable(true)) {
-          getLog().warn("Can't make result file executable : " + resultFile);
+    if (error) {
+      this.pendingFingerprints.clear();
+    } else {
+      final List<BuildTarget> matrix = this.parseTargets();
+      if (matrix.isEmpty()) {
+        this.checkResultFile(getResultFile());
+      } else {
+        for (final BuildTarget t : matrix) {
+          this.checkResultFile(this.getResultFile(t));
         }
-      } catch (SecurityException ex) {
-        getLog().warn("Security exception during executable flag set : " + resultFile);
       }
+    }
+  }
 
-      getLog().info("The Result file has been successfuly created : " + resultFile);
+  private void checkResultFile(@Nonnull final File resultFile) throws MojoFailureException {
+    final String fingerprint = this.pendingFingerprints.remove(resultFile.getAbsolutePath());
+    // check that it exists
+    if (!resultFile.isFile()) {
+      throw new MojoFailureException("Can't find generated target file : " + resultFile);
     }
+    // softly try to make it executable
+    try {
+      if (!resultFile.setExecutable(true)) {
+        getLog().warn("Can't make result file executable : " + resultFile);
+      }
+    } catch (SecurityException ex) {
+      getLog().warn("Security exception during executable flag set : " + resultFile);
+    }
+
+    if (fingerprint != null) {
+      try {
+        BuildFingerprint.save(resultFile, fingerprint);
+      } catch (IOException ex) {
+        getLog().warn("Can't save build fingerprint : " + ex.getMessage());
+      }
+    }
+
+    getLog().info("The Result file has been successfuly created : " + resultFile);
   }
 
   @Override
@@ -237,4 +518,66 @@ public class GolangBuildMojo extends AbstractGoPackageAndDependencyAwareMojo {
     return flags.toArray(new String[0]);
   }
 
+  static final class BuildTarget {
+
+    private final String os;
+    private final String arch;
+    private final String arm;
+
+    private BuildTarget(@Nonnull final String os, @Nonnull final String arch, @Nullable final String arm) {
+      this.os = os;
+      this.arch = arch;
+      this.arm = arm;
+    }
+
+    @Nonnull
+    static BuildTarget parse(@Nonnull final String text) {
+      final String[] parts = text.trim().split("/");
+      if (parts.length < 2 || parts.length > 3) {
+        throw new IllegalArgumentException("Wrong build target format, expected GOOS/GOARCH[/GOARM] : " + text);
+      }
+      for (final String p : parts) {
+        if (p.trim().isEmpty()) {
+          throw new IllegalArgumentException("Wrong build target format, expected GOOS/GOARCH[/GOARM] : " + text);
+        }
+      }
+      return new BuildTarget(parts[0].trim(), parts[1].trim(), parts.length == 3 ? parts[2].trim() : null);
+    }
+
+    static boolean hasPlaceholder(@Nonnull final String text) {
+      return text.contains("{GOOS}") || text.contains("{GOARCH}") || text.contains("{GOARM}");
+    }
+
+    @Nonnull
+    String expand(@Nonnull final String text) {
+      return text.replace("{GOOS}", this.os).replace("{GOARCH}", this.arch).replace("{GOARM}", this.arm == null ? "" : this.arm);
+    }
+
+    @Nonnull
+    String makeSuffix() {
+      return this.os + '-' + this.arch + (this.arm == null ? "" : "v" + this.arm);
+    }
+
+    @Override
+    public boolean equals(@Nullable final Object that) {
+      if (this == that) {
+        return true;
+      }
+      if (that instanceof BuildTarget) {
+        return this.toString().equals(that.toString());
+      }
+      return false;
+    }
+
+    @Override
+    public int hashCode() {
+      return this.toString().hashCode();
+    }
+
+    @Override
+    @Nonnull
+    public String toString() {
+      return this.os + '/' + this.arch + (this.arm == null ? "" : '/' + this.arm);
+    }
+  }
 }
@@ -53,6 +53,11 @@ public class GolangFixMojo extends AbstractGoPackageAndDependencyAwareMojo {
     return "fix";
   }
 
+  @Override
+  protected boolean isPackageShardingSupported() {
+    return true;
+  }
+
   @Override
   public boolean isEnforcePrintOutput() {
     return true;
@@ -53,6 +53,11 @@ public class GolangFmtMojo extends AbstractGoPackageAndDependencyAwareMojo {
     return true;
   }
 
+  @Override
+  protected boolean isPackageShardingSupported() {
+    return true;
+  }
+
   @Override
   public boolean isEnforcePrintOutput() {
     return true;
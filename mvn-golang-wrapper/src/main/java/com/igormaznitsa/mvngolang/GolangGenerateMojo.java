@@ -54,6 +54,11 @@ public class GolangGenerateMojo extends AbstractGoPackageAndDependencyAwareMojo
     return true;
   }
 
+  @Override
+  protected boolean isPackageShardingSupported() {
+    return true;
+  }
+
   @Override
   public boolean isEnforcePrintOutput() {
     return true;
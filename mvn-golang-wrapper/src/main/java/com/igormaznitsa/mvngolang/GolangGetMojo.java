@@ -21,6 +21,7 @@ import com.igormaznitsa.meta.common.utils.GetUtils;
 import com.igormaznitsa.mvngolang.cvs.CVSType;
 import com.igormaznitsa.mvngolang.utils.MavenUtils;
 import com.igormaznitsa.mvngolang.utils.PackageList;
+import com.igormaznitsa.mvngolang.utils.ProcessWatchdog;
 import com.igormaznitsa.mvngolang.utils.ProxySettings;
 import java.io.File;
 import java.io.IOException;
@@ -344,10 +345,15 @@ public class GolangGetMojo extends AbstractGoPackageAndDependencyAwareMojo {
     boolean result = false;
 
     try {
+      final ProcessWatchdog watchdog = this.getProcessPolicy().registerWatchdog(processExecutor, getLog());
       final ProcessResult process = processExecutor.executeNoTimeout();
       final int exitValue = process.getExitValue();
 
-      result = script.ignoreFail || exitValue == 0;
+      if (watchdog != null && watchdog.isKilled()) {
+        getLog().error("Custom script has been stopped by timeout");
+      }
+
+      result = script.ignoreFail || (exitValue == 0 && (watchdog == null || !watchdog.isKilled()));
     } catch (IOException | InterruptedException | InvalidExitValueException ex) {
       getLog().error("Error in proces custom script", ex);
     }
@@ -440,7 +446,7 @@ public class GolangGetMojo extends AbstractGoPackageAndDependencyAwareMojo {
 
   @Nonnull
   @MustNotContainNull
-  private List<String> extractProblemPackagesFromErrorLog(@Nonnull final String errorLog) {
+  private List<String> extractProblemPackagesFromErrorLog(@Nonnull final CharSequence errorLog) {
     final List<String> result = new ArrayList<>();
     final Matcher extractor = PATTERN_EXTRACT_PACKAGE_AND_STATUS.matcher(errorLog);
     while (extractor.find()) {
@@ -786,7 +792,12 @@ public class GolangGetMojo extends AbstractGoPackageAndDependencyAwareMojo {
   }
 
   @Override
-  protected boolean doesNeedOneMoreAttempt(@Nonnull final ProcessResult processResult, @Nonnull final String consoleOut, @Nonnull final String consoleErr) throws IOException, MojoExecutionException {
+  protected boolean isWholeConsoleOutNeeded() {
+    return true;
+  }
+
+  @Override
+  protected boolean doesNeedOneMoreAttempt(@Nonnull final ProcessResult processResult, @Nonnull final CharSequence consoleOut, @Nonnull final CharSequence consoleErr) throws IOException, MojoExecutionException {
     boolean result = false;
     if (processResult.getExitValue() != 0) {
       final Matcher matcher = PATTERN_NO_SUBMODULE_MAPPING_FOUND_IN_GIT.matcher(consoleErr);
@@ -18,17 +18,46 @@ package com.igormaznitsa.mvngolang;
 import com.igormaznitsa.meta.annotation.MustNotContainNull;
 import com.igormaznitsa.meta.common.utils.ArrayUtils;
 import com.igormaznitsa.meta.common.utils.GetUtils;
+import com.igormaznitsa.mvngolang.utils.BuildFingerprint;
+import com.igormaznitsa.mvngolang.utils.ConsoleLineBuffer;
+import com.igormaznitsa.mvngolang.utils.GoPackageGraph;
+import com.igormaznitsa.mvngolang.utils.GoTestCache;
+import com.igormaznitsa.mvngolang.utils.GoTestEvent;
+import com.igormaznitsa.mvngolang.utils.GoTestMetrics;
+import com.igormaznitsa.mvngolang.utils.GoTestReport;
+import com.igormaznitsa.mvngolang.utils.GoTestTimings;
 import com.igormaznitsa.mvngolang.utils.MavenUtils;
+import com.igormaznitsa.mvngolang.utils.ProxySettings;
+import com.igormaznitsa.mvngolang.utils.SysUtils;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.zeroturnaround.exec.ProcessExecutor;
+import org.zeroturnaround.exec.listener.ProcessListener;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * The Mojo wraps the 'test' command.
@@ -42,6 +71,76 @@ public class GolangTestMojo extends AbstractGoPackageAndDependencyAwareMojo {
   @Parameter(name = "testFlags")
   private String[] testFlags;
 
+  /**
+   * Number of concurrent 'go test -json' processes. If the value is greater
+   * than 1 then packages are listed by 'go list' and split into shards
+   * balanced by package execution times of previous build, results are saved
+   * as Surefire compatible XML reports into the reports folder. Value 1
+   * disables sharding, 0 means number of available processors. Can be
+   * defined through property 'mvn.golang.test.shards'
+   *
+   * @since 2.3.5
+   */
+  @Parameter(name = "testShards", defaultValue = "1")
+  private int testShards = 1;
+
+  /**
+   * Keep persistent cache of passed packages in the store folder. A package
+   * is not tested if it has been passed for the same content of its files,
+   * content of all its transitive imports (listed by 'go list -deps -test'),
+   * the same flags, target and cgo environment variables and SDK version.
+   * Paths in the key are relative to the project folder, so that the cache
+   * can be used for changing workspace folder. The cache works in package
+   * level test mode (like test shards) so that result of each package is
+   * known. Can be defined through property 'mvn.golang.test.cache'
+   *
+   * @since 2.3.5
+   */
+  @Parameter(name = "testCache", defaultValue = "false")
+  private boolean testCache;
+
+  /**
+   * Number of the slowest tests to be printed after execution, elapsed time
+   * of every test is collected from 'go test -json' events in package level
+   * test mode. Value 0 disables the report. Can be defined through property
+   * 'mvn.golang.test.slowest'
+   *
+   * @since 2.3.5
+   */
+  @Parameter(name = "slowestTests", defaultValue = "0")
+  private int slowestTests;
+
+  /**
+   * Max time in seconds for single test (or subtest). Test process is killed
+   * if any test is running longer, the test is reported as not completed.
+   * Paused parallel tests are not counted. It works in package level test
+   * mode. Value 0 disables the check. Can be defined through property
+   * 'mvn.golang.test.deadline'
+   *
+   * @since 2.3.5
+   */
+  @Parameter(name = "testDeadline", defaultValue = "0")
+  private int testDeadline;
+
+  private static final String TIMINGS_FILE = ".go-test-timings.properties";
+  private static final String TEST_CACHE_FOLDER = ".testcache";
+  private static final long TEST_CACHE_MAX_AGE = 30L * 24L * 3600L * 1000L;
+  /**
+   * Environment variables changing test results, variables with 'CGO_' prefix
+   * are also used.
+   */
+  private static final Set<String> TEST_CACHE_ENVIRONMENT = new HashSet<>(Arrays.asList(
+      "GOOS", "GOARCH", "GOARM", "GO386", "GOAMD64", "GOMIPS", "GOMIPS64", "GOPPC64", "GOWASM",
+      "GOFLAGS", "GOEXPERIMENT", "GO111MODULE", "CC", "CXX"));
+
+  private static final long WATCHDOG_CLOSE_TIMEOUT = 10L;
+
+  private final ThreadLocal<String[]> currentTestShard = new ThreadLocal<>();
+  private final ThreadLocal<GoTestMetrics> currentTestMetrics = new ThreadLocal<>();
+  private volatile GoTestReport testReport;
+  private volatile List<GoTestMetrics> testMetrics;
+  private volatile ScheduledExecutorService testWatchdog;
+
   @Nonnull
   private String ensureGoExtension(@Nonnull final String name) {
     return name.endsWith(".go") ? name : name + ".go";
@@ -91,6 +190,39 @@ public class GolangTestMojo extends AbstractGoPackageAndDependencyAwareMojo {
             || super.isIgnoreErrorExitCode();
   }
 
+  public int getTestShards() {
+    final int value = Integer.parseInt(findMvnProperty("mvn.golang.test.shards", Integer.toString(this.testShards)).trim());
+    return value == 0 ? Runtime.getRuntime().availableProcessors() : value;
+  }
+
+  public void setTestShards(final int value) {
+    this.testShards = value;
+  }
+
+  public boolean isTestCache() {
+    return Boolean.parseBoolean(findMvnProperty("mvn.golang.test.cache", Boolean.toString(this.testCache)));
+  }
+
+  public void setTestCache(final boolean value) {
+    this.testCache = value;
+  }
+
+  public int getSlowestTests() {
+    return Integer.parseInt(findMvnProperty("mvn.golang.test.slowest", Integer.toString(this.slowestTests)).trim());
+  }
+
+  public void setSlowestTests(final int value) {
+    this.slowestTests = value;
+  }
+
+  public int getTestDeadline() {
+    return Integer.parseInt(findMvnProperty("mvn.golang.test.deadline", Integer.toString(this.testDeadline)).trim());
+  }
+
+  public void setTestDeadline(final int value) {
+    this.testDeadline = value;
+  }
+
   @Nullable
   @MustNotContainNull
   public String[] getTestFlags() {
@@ -109,15 +241,321 @@ public class GolangTestMojo extends AbstractGoPackageAndDependencyAwareMojo {
     return GetUtils.ensureNonNull(this.testFlags, ArrayUtils.EMPTY_STRING_ARRAY);
   }
 
+  @Override
+  @Nonnull
+  @MustNotContainNull
+  public String[] getTailArguments() {
+    final String[] shard = this.currentTestShard.get();
+    return shard == null ? super.getTailArguments() : shard.clone();
+  }
+
+  @Override
+  @Nonnull
+  @MustNotContainNull
+  public String[] getCommandFlags() {
+    return this.currentTestShard.get() == null ? super.getCommandFlags() : new String[] {"-json"};
+  }
+
   @Override
   @Nonnull
   public String getGoCommand() {
     return "test";
   }
 
+  @Override
+  @Nonnull
+  protected OutputStream decorateConsoleOut(@Nonnull final OutputStream consoleOut) {
+    final GoTestReport report = this.testReport;
+    if (report == null || this.currentTestShard.get() == null) {
+      return consoleOut;
+    }
+    final List<GoTestMetrics> metricsList = this.testMetrics;
+    final GoTestMetrics metrics;
+    if (metricsList == null) {
+      metrics = null;
+    } else {
+      metrics = new GoTestMetrics();
+      metricsList.add(metrics);
+      this.currentTestMetrics.set(metrics);
+    }
+
+    final Charset charset = Charset.defaultCharset();
+    return new ConsoleLineBuffer(StandardCharsets.UTF_8, 0, line -> {
+      final GoTestEvent event = GoTestEvent.parse(line);
+      final String text;
+      if (event == null) {
+        text = line + '\n';
+      } else {
+        report.onEvent(event);
+        if (metrics != null) {
+          metrics.onEvent(event, System.currentTimeMillis());
+        }
+        text = event.getOutput();
+      }
+      if (text != null) {
+        try {
+          consoleOut.write(text.getBytes(charset));
+        } catch (IOException ex) {
+          getLog().debug("Can't write console output", ex);
+        }
+      }
+    }, null);
+  }
+
+  @Override
+  @Nullable
+  protected ProcessExecutor prepareExecutor(@Nullable final ProxySettings proxySettings) throws IOException, MojoFailureException, MojoExecutionException {
+    final ProcessExecutor result;
+    final GoTestMetrics metrics;
+    try {
+      result = super.prepareExecutor(proxySettings);
+    } finally {
+      metrics = this.currentTestMetrics.get();
+      this.currentTestMetrics.remove();
+    }
+
+    final ScheduledExecutorService watchdog = this.testWatchdog;
+    if (result != null && metrics != null && watchdog != null) {
+      result.closeTimeout(WATCHDOG_CLOSE_TIMEOUT, TimeUnit.SECONDS);
+      result.addListener(new TestDeadlineListener(metrics, this.getTestDeadline() * 1000L, watchdog));
+    }
+    return result;
+  }
+
+  @Override
+  protected boolean doMainBusiness(@Nullable final ProxySettings proxySettings, final int maxAttempts) throws InterruptedException, MojoFailureException, MojoExecutionException, IOException {
+    final int shards = this.getTestShards();
+    final boolean useCache = this.isTestCache();
+    final int slowest = this.getSlowestTests();
+    final int deadline = this.getTestDeadline();
+    if (shards <= 1 && !useCache && slowest <= 0 && deadline <= 0) {
+      return super.doMainBusiness(proxySettings, maxAttempts);
+    }
+
+    if (System.getProperty("test") != null) {
+      getLog().warn("Package level test mode (shards, cache, metrics) is not used because test is selected by 'test' property");
+      return super.doMainBusiness(proxySettings, maxAttempts);
+    }
+
+    if (this.isWholeConsoleOutNeeded()) {
+      getLog().warn("Package level test mode (shards, cache, metrics) is not used because whole console output is needed (for instance to be saved into log file)");
+      return super.doMainBusiness(proxySettings, maxAttempts);
+    }
+
+    final ProcessExecutor listExecutor = this.prepareListExecutor(proxySettings, ArrayUtils.EMPTY_STRING_ARRAY);
+    final List<String> listedPackages = listExecutor == null ? null : this.executeList(listExecutor);
+    if (listedPackages == null) {
+      return super.doMainBusiness(proxySettings, maxAttempts);
+    }
+    logOptionally("Listed " + listedPackages.size() + " package(s) to test");
+
+    final GoTestCache cache = useCache ? new GoTestCache(new File(this.getStoreFolder(), TEST_CACHE_FOLDER)) : null;
+    final Map<String, String> cacheKeys = cache == null || listedPackages.isEmpty() ? Collections.<String, String>emptyMap() : this.makeTestCacheKeys(proxySettings, listedPackages);
+
+    final List<String> packageList = new ArrayList<>();
+    final long now = System.currentTimeMillis();
+    for (final String p : listedPackages) {
+      final String key = cacheKeys.get(p);
+      if (cache == null || key == null || !cache.isPassed(key, now)) {
+        packageList.add(p);
+      }
+    }
+    if (cache != null) {
+      getLog().info(String.format("Test cache : %d of %d package(s) passed earlier and skipped", listedPackages.size() - packageList.size(), listedPackages.size()));
+    }
+
+    if (packageList.isEmpty()) {
+      getLog().info("There are no packages to test");
+      return false;
+    }
+
+    final File reportsFolder = new File(this.getReportsFolder());
+    final File timingsFile = new File(reportsFolder, TIMINGS_FILE);
+    final GoTestTimings timings = GoTestTimings.load(timingsFile);
+
+    final List<String[]> shardList = new ArrayList<>();
+    for (final List<String> s : timings.split(packageList, Math.max(1, shards))) {
+      shardList.add(s.toArray(new String[0]));
+    }
+
+    final GoTestReport report = new GoTestReport();
+    final List<GoTestMetrics> metricsList = slowest > 0 || deadline > 0 ? new CopyOnWriteArrayList<>() : null;
+    this.testReport = report;
+    this.testMetrics = metricsList;
+    if (deadline > 0) {
+      this.testWatchdog = Executors.newSingleThreadScheduledExecutor(r -> {
+        final Thread thread = new Thread(r, "mvn-golang-test-watchdog");
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+    try {
+      return this.doMainBusinessConcurrently(proxySettings, maxAttempts, shardList.size(), shardList, this.currentTestShard,
+          shard -> "shard " + (shardList.indexOf(shard) + 1) + '/' + shardList.size() + ", " + shard.length + " package(s)");
+    } finally {
+      if (this.testWatchdog != null) {
+        this.testWatchdog.shutdownNow();
+        this.testWatchdog = null;
+      }
+      this.testReport = null;
+      this.testMetrics = null;
+      this.saveTestResults(report, reportsFolder, timings, timingsFile);
+      if (cache != null) {
+        this.saveTestCache(cache, report, cacheKeys);
+      }
+      if (metricsList != null && slowest > 0) {
+        this.printSlowestTests(metricsList, slowest);
+      }
+    }
+  }
+
+  @Nonnull
+  private Map<String, String> makeTestCacheKeys(@Nullable final ProxySettings proxySettings, @Nonnull @MustNotContainNull final List<String> packageList) throws InterruptedException, MojoFailureException, MojoExecutionException, IOException {
+    final ProcessExecutor executor = this.prepareListExecutor(proxySettings, new String[] {"-deps", "-test", "-f", GoPackageGraph.LIST_FORMAT});
+    final List<String> lines = executor == null ? null : this.executeList(executor);
+    if (lines == null) {
+      getLog().warn("Test cache is not used because package dependencies can't be listed");
+      return Collections.emptyMap();
+    }
+
+    final Map<String, String> environment = new HashMap<>();
+    for (final Map.Entry<String, String> e : executor.getEnvironment().entrySet()) {
+      if (TEST_CACHE_ENVIRONMENT.contains(e.getKey()) || e.getKey().startsWith("CGO_")) {
+        environment.put(e.getKey(), this.makeProjectRelative(e.getValue()));
+      }
+    }
+
+    final String commonKey = new BuildFingerprint()
+        .add("environment", environment)
+        .add("directory", executor.getDirectory() == null ? null : this.makeProjectRelative(executor.getDirectory().getAbsolutePath()))
+        .add("buildFlags", this.makeProjectRelative(Arrays.asList(this.getBuildFlags())))
+        .add("testFlags", this.makeProjectRelative(Arrays.asList(this.getOptionalExtraTailArguments())))
+        .add("tool", new File(executor.getCommand().get(0)).getName())
+        .addSdkVersion(executor.getEnvironment().get("GOROOT"))
+        .getHash();
+
+    final GoPackageGraph graph;
+    try {
+      graph = GoPackageGraph.parse(lines);
+    } catch (IllegalArgumentException ex) {
+      getLog().warn("Test cache is not used because of unexpected 'go list' output : " + ex.getMessage());
+      return Collections.emptyMap();
+    }
+
+    final Map<String, String> result = new HashMap<>();
+    for (final String p : packageList) {
+      final String hash = graph.makeTestHash(p);
+      if (hash != null) {
+        result.put(p, commonKey + ':' + hash);
+      }
+    }
+    return result;
+  }
+
+  @Nonnull
+  private String makeProjectRelative(@Nonnull final String text) {
+    final File baseDir = this.getProject() == null ? null : this.getProject().getBasedir();
+    return baseDir == null ? text : text.replace(baseDir.getAbsolutePath(), "${basedir}");
+  }
+
+  @Nonnull
+  @MustNotContainNull
+  private List<String> makeProjectRelative(@Nonnull @MustNotContainNull final List<String> values) {
+    final List<String> result = new ArrayList<>();
+    for (final String s : values) {
+      result.add(this.makeProjectRelative(s));
+    }
+    return result;
+  }
+
+  private void saveTestCache(@Nonnull final GoTestCache cache, @Nonnull final GoTestReport report, @Nonnull final Map<String, String> cacheKeys) {
+    try {
+      for (final String p : report.getSuccessfulPackages()) {
+        final String key = cacheKeys.get(p);
+        if (key != null) {
+          cache.markPassed(key, p);
+        }
+      }
+      final int removed = cache.prune(TEST_CACHE_MAX_AGE, System.currentTimeMillis());
+      if (removed > 0) {
+        logOptionally("Removed " + removed + " old record(s) from test cache");
+      }
+    } catch (IOException ex) {
+      getLog().error("Can't save test cache : " + cache.getFolder(), ex);
+    }
+  }
+
+  private void printSlowestTests(@Nonnull @MustNotContainNull final List<GoTestMetrics> metricsList, final int number) {
+    final GoTestMetrics total = new GoTestMetrics();
+    for (final GoTestMetrics m : metricsList) {
+      total.addTimes(m);
+    }
+    final List<String> slowestList = total.findSlowest(number);
+    if (!slowestList.isEmpty()) {
+      getLog().info("");
+      getLog().info(String.format("Slowest %d of %d test(s):", slowestList.size(), total.getCompletedTests()));
+      for (final String s : slowestList) {
+        getLog().info(s);
+      }
+      getLog().info("");
+    }
+  }
+
+  private void saveTestResults(@Nonnull final GoTestReport report, @Nonnull final File reportsFolder, @Nonnull final GoTestTimings timings, @Nonnull final File timingsFile) {
+    try {
+      final List<File> files = report.writeSurefireReports(reportsFolder);
+      logOptionally("Saved " + files.size() + " test report(s) into " + reportsFolder);
+      timings.update(report.getPackageTimes());
+      timings.save(timingsFile);
+    } catch (IOException ex) {
+      getLog().error("Can't save test results into " + reportsFolder, ex);
+    }
+    getLog().info(report.makeSummary());
+  }
+
   @Override
   public boolean isEnforcePrintOutput() {
     return true;
   }
 
+  private final class TestDeadlineListener extends ProcessListener {
+
+    private final GoTestMetrics metrics;
+    private final long deadlineMillis;
+    private final ScheduledExecutorService watchdog;
+    private volatile ScheduledFuture<?> task;
+
+    private TestDeadlineListener(@Nonnull final GoTestMetrics metrics, final long deadlineMillis, @Nonnull final ScheduledExecutorService watchdog) {
+      this.metrics = metrics;
+      this.deadlineMillis = deadlineMillis;
+      this.watchdog = watchdog;
+    }
+
+    @Override
+    public void afterStart(@Nonnull final Process process, @Nonnull final ProcessExecutor executor) {
+      final long period = Math.max(100L, Math.min(1000L, this.deadlineMillis / 10L));
+      this.task = this.watchdog.scheduleWithFixedDelay(() -> this.check(process), period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void afterStop(@Nonnull final Process process) {
+      this.cancel();
+    }
+
+    private void cancel() {
+      final ScheduledFuture<?> scheduled = this.task;
+      if (scheduled != null) {
+        scheduled.cancel(false);
+      }
+    }
+
+    private void check(@Nonnull final Process process) {
+      final String hung = this.metrics.findHung(System.currentTimeMillis(), this.deadlineMillis);
+      if (hung != null) {
+        this.cancel();
+        getLog().error(String.format("Test %s is running longer than %d second(s), test process is killed", hung, this.deadlineMillis / 1000L));
+        SysUtils.destroyProcessTree(process);
+      }
+    }
+  }
 }
@@ -48,6 +48,11 @@ public class GolangVetMojo extends AbstractGoPackageAndDependencyAwareMojo {
     return "vet";
   }
 
+  @Override
+  protected boolean isPackageShardingSupported() {
+    return true;
+  }
+
   @Override
   public boolean isEnforcePrintOutput() {
     return true;
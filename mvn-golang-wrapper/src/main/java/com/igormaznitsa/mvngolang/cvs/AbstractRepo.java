@@ -17,6 +17,8 @@ package com.igormaznitsa.mvngolang.cvs;
 
 import com.igormaznitsa.meta.annotation.MustNotContainNull;
 import com.igormaznitsa.meta.common.utils.GetUtils;
+import com.igormaznitsa.mvngolang.utils.ProcessPolicy;
+import com.igormaznitsa.mvngolang.utils.ProcessWatchdog;
 import com.igormaznitsa.mvngolang.utils.ProxySettings;
 import org.apache.commons.lang3.SystemUtils;
 import org.apache.maven.plugin.logging.Log;
@@ -36,6 +38,8 @@ import org.zeroturnaround.exec.InvalidExitValueException;
 
 public abstract class AbstractRepo {
 
+  private static final ThreadLocal<ProcessPolicy> PROCESS_POLICY = new ThreadLocal<>();
+
   private final String command;
 
   public AbstractRepo(@Nonnull final String command) {
@@ -47,6 +51,27 @@ public abstract class AbstractRepo {
     return this.command;
   }
 
+  /**
+   * Set policy (timeout and retries) for repository commands executed by the
+   * current thread. Repository processors are shared singletons so that the
+   * policy is bound to the thread of the executing mojo.
+   *
+   * @param policy policy to be used, null to remove the policy
+   * @since 2.3.5
+   */
+  public static void setProcessPolicy(@Nullable final ProcessPolicy policy) {
+    if (policy == null) {
+      PROCESS_POLICY.remove();
+    } else {
+      PROCESS_POLICY.set(policy);
+    }
+  }
+
+  @Nonnull
+  private static ProcessPolicy findProcessPolicy() {
+    return GetUtils.ensureNonNull(PROCESS_POLICY.get(), ProcessPolicy.NONE);
+  }
+
   public int execute(@Nullable String customCommand, @Nonnull final Log logger, @Nonnull final File cvsFolder, @Nonnull @MustNotContainNull final String... args) {
     final List<String> cli = new ArrayList<>();
     cli.add(GetUtils.findFirstNonNull(customCommand, this.command));
@@ -56,16 +81,33 @@ public abstract class AbstractRepo {
       logger.debug("Executing repo command : " + cli);
     }
 
-    final ByteArrayOutputStream errorStream = new ByteArrayOutputStream();
-    final ByteArrayOutputStream outStream = new ByteArrayOutputStream();
-
-    final ProcessExecutor executor = new ProcessExecutor(cli);
+    final ProcessPolicy policy = findProcessPolicy();
 
     int result = -1;
 
     try {
-      final ProcessResult processResult = executor.directory(cvsFolder).redirectError(errorStream).redirectOutput(outStream).executeNoTimeout();
-      result = processResult.getExitValue();
+      int retries = 0;
+      final ByteArrayOutputStream errorStream = new ByteArrayOutputStream();
+      final ByteArrayOutputStream outStream = new ByteArrayOutputStream();
+      while (true) {
+        errorStream.reset();
+        outStream.reset();
+
+        final ProcessExecutor executor = new ProcessExecutor(cli);
+        final ProcessWatchdog watchdog = policy.registerWatchdog(executor, logger);
+        final ProcessResult processResult = executor.directory(cvsFolder).redirectError(errorStream).redirectOutput(outStream).executeNoTimeout();
+        final boolean timeout = watchdog != null && watchdog.isKilled();
+        result = timeout ? -1 : processResult.getExitValue();
+
+        if (result != 0 && retries < policy.getRetries() && (timeout || policy.isRetryOnError())) {
+          retries++;
+          final long delay = policy.makeBackoff(retries);
+          logger.warn(String.format("Repo command %s, retry %d of %d in %d ms...", timeout ? "stopped by timeout" : "exit code : " + result, retries, policy.getRetries(), delay));
+          Thread.sleep(delay);
+        } else {
+          break;
+        }
+      }
 
       if (logger.isDebugEnabled()) {
         logger.debug("Exec.out.........................................");
@@ -0,0 +1,298 @@
+/*
+ * Copyright 2020 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.igormaznitsa.mvngolang.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+
+/**
+ * Fingerprint of build inputs. It is SHA-256 hash of named values and
+ * metadata of files, content is hashed only for files which can be rewritten
+ * without changes (like go.mod and go.sum). Fingerprint is saved next to the
+ * result file together with size and modification time of the result file.
+ *
+ * @since 2.3.5
+ */
+public final class BuildFingerprint {
+
+  private static final Set<String> IGNORED_FOLDERS = new HashSet<>();
+  private static final Set<String> CONTENT_HASHED_FILES = new HashSet<>();
+
+  private static final String KEY_INPUTS = "inputs";
+  private static final String KEY_RESULT = "result";
+
+  static {
+    IGNORED_FOLDERS.add(".git");
+    IGNORED_FOLDERS.add(".svn");
+    IGNORED_FOLDERS.add(".hg");
+    IGNORED_FOLDERS.add(".idea");
+
+    CONTENT_HASHED_FILES.add("go.mod");
+    CONTENT_HASHED_FILES.add("go.sum");
+  }
+
+  private final MessageDigest digest;
+
+  public BuildFingerprint() {
+    this.digest = DigestUtils.getSha256Digest();
+  }
+
+  private void update(@Nonnull final String text) {
+    final byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+    this.digest.update(bytes);
+    this.digest.update((byte) 0);
+  }
+
+  /**
+   * Add named value.
+   *
+   * @param name name of value, must not be null
+   * @param value value, can be null
+   * @return the fingerprint
+   */
+  @Nonnull
+  public BuildFingerprint add(@Nonnull final String name, @Nullable final String value) {
+    this.update(name);
+    this.update(value == null ? "\u0000null" : value);
+    return this;
+  }
+
+  /**
+   * Add named list of values.
+   *
+   * @param name name of values, must not be null
+   * @param values values, must not be null
+   * @return the fingerprint
+   */
+  @Nonnull
+  public BuildFingerprint add(@Nonnull final String name, @Nonnull final Collection<String> values) {
+    this.update(name);
+    this.update(Integer.toString(values.size()));
+    for (final String s : values) {
+      this.update(s);
+    }
+    return this;
+  }
+
+  /**
+   * Add named map of values, the map is added in order of keys.
+   *
+   * @param name name of values, must not be null
+   * @param values values, must not be null
+   * @return the fingerprint
+   */
+  @Nonnull
+  public BuildFingerprint add(@Nonnull final String name, @Nonnull final Map<String, String> values) {
+    this.update(name);
+    for (final Map.Entry<String, String> e : new TreeMap<>(values).entrySet()) {
+      this.add(e.getKey(), e.getValue());
+    }
+    return this;
+  }
+
+  /**
+   * Add path, size and modification time of file.
+   *
+   * @param file file to be added, must not be null
+   * @return the fingerprint
+   */
+  @Nonnull
+  public BuildFingerprint addFile(@Nonnull final File file) {
+    this.update(file.getAbsolutePath());
+    this.update(file.isFile() ? file.length() + ":" + file.lastModified() : "none");
+    return this;
+  }
+
+  /**
+   * Add version of GoLang SDK from VERSION file of the SDK root folder.
+   *
+   * @param goRoot SDK root folder, can be null
+   * @return the fingerprint
+   * @throws IOException if error during version file read
+   */
+  @Nonnull
+  public BuildFingerprint addSdkVersion(@Nullable final String goRoot) throws IOException {
+    final File sdkVersionFile = goRoot == null ? null : new File(goRoot, "VERSION");
+    return this.add("sdk", sdkVersionFile != null && sdkVersionFile.isFile() ? new String(Files.readAllBytes(sdkVersionFile.toPath()), StandardCharsets.UTF_8) : null);
+  }
+
+  /**
+   * Add all files of folder tree. VCS folders and excluded folders are
+   * ignored.
+   *
+   * @param folder folder to be added, must not be null
+   * @param excluded files and folders to be excluded, must not be null
+   * @return the fingerprint
+   * @throws IOException if error during folder walk
+   */
+  @Nonnull
+  public BuildFingerprint addFolder(@Nonnull final File folder, @Nonnull final Collection<File> excluded) throws IOException {
+    this.update(folder.getAbsolutePath());
+    if (!folder.isDirectory()) {
+      this.update("none");
+      return this;
+    }
+
+    final Set<Path> excludedPaths = new HashSet<>();
+    for (final File f : excluded) {
+      excludedPaths.add(f.getAbsoluteFile().toPath().normalize());
+    }
+
+    final Path root = folder.getAbsoluteFile().toPath().normalize();
+    final Map<String, String> records = new TreeMap<>();
+    final List<Path> contentFiles = new ArrayList<>();
+
+    Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+      @Override
+      @Nonnull
+      public FileVisitResult preVisitDirectory(@Nonnull final Path dir, @Nonnull final BasicFileAttributes attrs) {
+        final Path name = dir.getFileName();
+        if (excludedPaths.contains(dir) || (!dir.equals(root) && name != null && IGNORED_FOLDERS.contains(name.toString()))) {
+          return FileVisitResult.SKIP_SUBTREE;
+        }
+        return FileVisitResult.CONTINUE;
+      }
+
+      @Override
+      @Nonnull
+      public FileVisitResult visitFile(@Nonnull final Path file, @Nonnull final BasicFileAttributes attrs) {
+        if (!excludedPaths.contains(file)) {
+          final String relative = root.relativize(file).toString().replace('\\', '/');
+          if (CONTENT_HASHED_FILES.contains(String.valueOf(file.getFileName()))) {
+            contentFiles.add(file);
+            records.put(relative, "content");
+          } else {
+            records.put(relative, attrs.size() + ":" + attrs.lastModifiedTime().toMillis());
+          }
+        }
+        return FileVisitResult.CONTINUE;
+      }
+    });
+
+    for (final Path p : contentFiles) {
+      final String relative = root.relativize(p).toString().replace('\\', '/');
+      records.put(relative, DigestUtils.sha256Hex(Files.readAllBytes(p)));
+    }
+
+    this.update(Integer.toString(records.size()));
+    for (final Map.Entry<String, String> e : records.entrySet()) {
+      this.update(e.getKey());
+      this.update(e.getValue());
+    }
+    return this;
+  }
+
+  /**
+   * Get hash of all added values. The fingerprint must not be used after the
+   * call.
+   *
+   * @return hash as hex string, must not be null
+   */
+  @Nonnull
+  public String getHash() {
+    return Hex.encodeHexString(this.digest.digest());
+  }
+
+  /**
+   * Get file to keep fingerprint of result file.
+   *
+   * @param resultFile result file, must not be null
+   * @return fingerprint file placed next to the result file, must not be null
+   */
+  @Nonnull
+  public static File findFingerprintFile(@Nonnull final File resultFile) {
+    return new File(resultFile.getAbsoluteFile().getParentFile(), '.' + resultFile.getName() + ".fingerprint");
+  }
+
+  @Nonnull
+  private static String makeResultRecord(@Nonnull final File resultFile) {
+    return resultFile.length() + ":" + resultFile.lastModified();
+  }
+
+  /**
+   * Check that result file exists and it has been made for the same inputs.
+   *
+   * @param resultFile result file, must not be null
+   * @param hash hash of inputs, must not be null
+   * @return true if the result file is up to date
+   */
+  public static boolean isUpToDate(@Nonnull final File resultFile, @Nonnull final String hash) {
+    final File fingerprintFile = findFingerprintFile(resultFile);
+    if (!resultFile.isFile() || !fingerprintFile.isFile()) {
+      return false;
+    }
+    final Properties properties = new Properties();
+    try (final InputStream in = Files.newInputStream(fingerprintFile.toPath())) {
+      properties.load(in);
+    } catch (IOException ex) {
+      return false;
+    }
+    return hash.equals(properties.getProperty(KEY_INPUTS)) && makeResultRecord(resultFile).equals(properties.getProperty(KEY_RESULT));
+  }
+
+  /**
+   * Save fingerprint of result file.
+   *
+   * @param resultFile result file, must not be null
+   * @param hash hash of inputs used to make the result, must not be null
+   * @throws IOException if error during save
+   */
+  public static void save(@Nonnull final File resultFile, @Nonnull final String hash) throws IOException {
+    final File fingerprintFile = findFingerprintFile(resultFile);
+    final Properties properties = new Properties();
+    properties.setProperty(KEY_INPUTS, hash);
+    properties.setProperty(KEY_RESULT, makeResultRecord(resultFile));
+
+    final File tempFile = new File(fingerprintFile.getParentFile(), fingerprintFile.getName() + ".tmp");
+    try (final OutputStream out = Files.newOutputStream(tempFile.toPath())) {
+      properties.store(out, "mvn-golang build fingerprint");
+    }
+    IOUtils.replaceFileAtomically(tempFile, fingerprintFile);
+  }
+
+  /**
+   * Delete fingerprint of result file if it exists.
+   *
+   * @param resultFile result file, must not be null
+   */
+  public static void delete(@Nonnull final File resultFile) {
+    final File fingerprintFile = findFingerprintFile(resultFile);
+    if (fingerprintFile.isFile() && !fingerprintFile.delete()) {
+      fingerprintFile.deleteOnExit();
+    }
+  }
+}
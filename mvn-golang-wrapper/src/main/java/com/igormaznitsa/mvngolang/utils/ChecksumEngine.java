@@ -0,0 +1,154 @@
+/*
+ * Copyright 2020 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.igormaznitsa.mvngolang.utils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.security.MessageDigest;
+import java.util.zip.Checksum;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+
+/**
+ * Calculation of CRC32C and MD5 for files and streams. CRC32C is calculated by
+ * java.util.zip.CRC32C under JDK 9+ (it is intrinsified by JVM) and by slicing
+ * table implementation under JDK 8. Data is read through large buffer.
+ *
+ * @since 2.3.5
+ */
+public final class ChecksumEngine {
+
+  private static final int BUFFER_SIZE = 1024 * 1024;
+  private static final Class<?> JDK_CRC32C = findJdkCrc32c();
+
+  private ChecksumEngine() {
+  }
+
+  @Nullable
+  private static Class<?> findJdkCrc32c() {
+    try {
+      final Class<?> result = Class.forName("java.util.zip.CRC32C");
+      return Checksum.class.isAssignableFrom(result) ? result : null;
+    } catch (ClassNotFoundException | LinkageError ex) {
+      return null;
+    }
+  }
+
+  /**
+   * Check that JDK implementation of CRC32C is used.
+   *
+   * @return true if java.util.zip.CRC32C is available
+   */
+  public static boolean isJdkCrc32c() {
+    return JDK_CRC32C != null;
+  }
+
+  /**
+   * Make new CRC32C calculator, the best available implementation is used.
+   *
+   * @return new checksum instance, must not be null
+   */
+  @Nonnull
+  public static Checksum newCrc32c() {
+    if (JDK_CRC32C != null) {
+      try {
+        return (Checksum) JDK_CRC32C.getDeclaredConstructor().newInstance();
+      } catch (ReflectiveOperationException ex) {
+        // use own implementation
+      }
+    }
+    return new Crc32c();
+  }
+
+  /**
+   * Convert CRC32C value into hex string in big-endian byte order.
+   *
+   * @param value checksum value
+   * @return hex string with eight chars, must not be null
+   */
+  @Nonnull
+  public static String toHex(final long value) {
+    final byte[] data = new byte[4];
+    data[0] = (byte) (value >>> 24);
+    data[1] = (byte) (value >>> 16);
+    data[2] = (byte) (value >>> 8);
+    data[3] = (byte) value;
+    return Hex.encodeHexString(data);
+  }
+
+  /**
+   * Calculate CRC32C of file.
+   *
+   * @param file file to be processed, must not be null
+   * @return hex string of CRC32C, must not be null
+   * @throws IOException if any error or thread interruption
+   */
+  @Nonnull
+  public static String crc32cHex(@Nonnull final File file) throws IOException {
+    final Checksum checksum = newCrc32c();
+    try (final InputStream in = new FileInputStream(file)) {
+      final byte[] buffer = makeBuffer(file);
+      while (true) {
+        final int read = readChunk(in, buffer);
+        if (read < 0) {
+          break;
+        }
+        checksum.update(buffer, 0, read);
+      }
+    }
+    return toHex(checksum.getValue());
+  }
+
+  /**
+   * Calculate MD5 of file.
+   *
+   * @param file file to be processed, must not be null
+   * @return hex string of MD5, must not be null
+   * @throws IOException if any error or thread interruption
+   */
+  @Nonnull
+  public static String md5Hex(@Nonnull final File file) throws IOException {
+    final MessageDigest digest = DigestUtils.getMd5Digest();
+    try (final InputStream in = new FileInputStream(file)) {
+      final byte[] buffer = makeBuffer(file);
+      while (true) {
+        final int read = readChunk(in, buffer);
+        if (read < 0) {
+          break;
+        }
+        digest.update(buffer, 0, read);
+      }
+    }
+    return Hex.encodeHexString(digest.digest());
+  }
+
+  @Nonnull
+  private static byte[] makeBuffer(@Nonnull final File file) {
+    return new byte[(int) Math.max(1L, Math.min(BUFFER_SIZE, file.length()))];
+  }
+
+  private static int readChunk(@Nonnull final InputStream in, @Nonnull final byte[] buffer) throws IOException {
+    if (Thread.currentThread().isInterrupted()) {
+      throw new InterruptedIOException("Checksum calculation interrupted");
+    }
+    return in.read(buffer);
+  }
+}
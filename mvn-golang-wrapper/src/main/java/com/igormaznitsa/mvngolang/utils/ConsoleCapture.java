@@ -0,0 +1,391 @@
+/*
+ * Copyright 2020 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.igormaznitsa.mvngolang.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.apache.commons.io.FileUtils;
+
+/**
+ * Output stream to capture whole console output of external process with
+ * bounded memory. Data are kept in memory until their size reaches threshold,
+ * after that all data are moved into temporary file and next data are written
+ * into the file through buffered file channel. Captured text is provided as
+ * lazy char sequence which decodes and keeps in memory only few chunks of the
+ * file.
+ *
+ * @since 2.3.5
+ */
+public final class ConsoleCapture extends OutputStream {
+
+  private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+  private final long spillThreshold;
+  private ByteArrayOutputStream memory = new ByteArrayOutputStream();
+  private File file;
+  private FileChannel channel;
+  private byte[] writeBuffer;
+  private int writeBufferLength;
+  private long size;
+  private boolean disposed;
+
+  /**
+   * Constructor.
+   *
+   * @param spillThreshold max size of data in memory, data are moved into
+   * temporary file if the size is exceeded, negative value disables the file
+   */
+  public ConsoleCapture(final long spillThreshold) {
+    this.spillThreshold = spillThreshold;
+  }
+
+  @Override
+  public void write(final int b) throws IOException {
+    this.write(new byte[] {(byte) b}, 0, 1);
+  }
+
+  @Override
+  public synchronized void write(@Nonnull final byte[] data, final int offset, final int length) throws IOException {
+    if (this.disposed) {
+      throw new IOException("Capture is disposed");
+    }
+    this.size += length;
+    if (this.channel == null) {
+      if (this.spillThreshold < 0L || this.size <= this.spillThreshold) {
+        this.memory.write(data, offset, length);
+        return;
+      }
+      this.spill();
+    }
+
+    if (length >= WRITE_BUFFER_SIZE) {
+      this.flushWriteBuffer();
+      writeFully(this.channel, data, offset, length);
+    } else {
+      if (this.writeBufferLength + length > WRITE_BUFFER_SIZE) {
+        this.flushWriteBuffer();
+      }
+      System.arraycopy(data, offset, this.writeBuffer, this.writeBufferLength, length);
+      this.writeBufferLength += length;
+    }
+  }
+
+  private void spill() throws IOException {
+    this.file = File.createTempFile("mvn-golang-console-", ".log");
+    try {
+      this.channel = FileChannel.open(this.file.toPath(), StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+      final byte[] kept = this.memory.toByteArray();
+      writeFully(this.channel, kept, 0, kept.length);
+    } catch (IOException ex) {
+      IOUtils.closeSilently(this.channel);
+      this.channel = null;
+      FileUtils.deleteQuietly(this.file);
+      this.file = null;
+      throw ex;
+    }
+    this.memory = null;
+    this.writeBuffer = new byte[WRITE_BUFFER_SIZE];
+  }
+
+  private static void writeFully(@Nonnull final FileChannel channel, @Nonnull final byte[] data, final int offset, final int length) throws IOException {
+    final ByteBuffer buffer = ByteBuffer.wrap(data, offset, length);
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+  }
+
+  private void flushWriteBuffer() throws IOException {
+    if (this.writeBufferLength > 0) {
+      writeFully(this.channel, this.writeBuffer, 0, this.writeBufferLength);
+      this.writeBufferLength = 0;
+    }
+  }
+
+  @Override
+  public synchronized void flush() throws IOException {
+    if (this.channel != null) {
+      this.flushWriteBuffer();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    this.flush();
+  }
+
+  /**
+   * Get number of captured bytes.
+   *
+   * @return number of bytes
+   */
+  public synchronized long getSize() {
+    return this.size;
+  }
+
+  /**
+   * Check that data have been moved into temporary file.
+   *
+   * @return true if the data are in temporary file
+   */
+  public synchronized boolean isSpilled() {
+    return this.file != null;
+  }
+
+  /**
+   * Get captured data as text. If data are in memory then string is returned
+   * else lazy char sequence reading the temporary file. The sequence can be
+   * used only until the capture is disposed.
+   *
+   * @param charset charset of captured data, must not be null
+   * @return captured text, must not be null
+   * @throws IOException if the data can't be flushed
+   */
+  @Nonnull
+  public synchronized CharSequence asCharSequence(@Nonnull final Charset charset) throws IOException {
+    if (this.disposed) {
+      throw new IOException("Capture is disposed");
+    }
+    if (this.file == null) {
+      return new String(this.memory.toByteArray(), charset);
+    }
+    this.flush();
+    return new FileText(this.file, this.size, charset);
+  }
+
+  /**
+   * Release memory and delete temporary file.
+   */
+  public synchronized void dispose() {
+    if (!this.disposed) {
+      this.disposed = true;
+      this.memory = null;
+      this.writeBuffer = null;
+      IOUtils.closeSilently(this.channel);
+      this.channel = null;
+      if (this.file != null) {
+        FileUtils.deleteQuietly(this.file);
+      }
+    }
+  }
+
+  /**
+   * Write char sequence into writer through limited blocks so that lazy
+   * sequence is not converted into one string.
+   *
+   * @param text text to be written, must not be null
+   * @param writer target writer, must not be null
+   * @throws IOException if error during write
+   */
+  public static void writeTo(@Nonnull final CharSequence text, @Nonnull final Writer writer) throws IOException {
+    final int length = text.length();
+    int position = 0;
+    while (position < length) {
+      final int end = (int) Math.min(length, (long) position + FileText.CHUNK_BYTES);
+      writer.append(text, position, end);
+      position = end;
+    }
+  }
+
+  /**
+   * Lazy text of temporary file. The file is split into chunks and index of
+   * chunks is made during first access, only few last used decoded chunks are
+   * kept in memory.
+   */
+  private static final class FileText implements CharSequence {
+
+    private static final int CHUNK_BYTES = 64 * 1024;
+    private static final int CACHED_CHUNKS = 4;
+
+    private final File file;
+    private final long size;
+    private final Charset charset;
+
+    private long[] chunkByteStart;
+    private int[] chunkByteLength;
+    private int[] chunkCharStart;
+    private int chunks;
+    private int length = -1;
+
+    private final Map<Integer, String> cache = new LinkedHashMap<Integer, String>(CACHED_CHUNKS * 2, 0.75f, true) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(@Nullable final Map.Entry<Integer, String> eldest) {
+        return this.size() > CACHED_CHUNKS;
+      }
+    };
+
+    private FileText(@Nonnull final File file, final long size, @Nonnull final Charset charset) {
+      this.file = file;
+      this.size = size;
+      this.charset = charset;
+    }
+
+    private void makeIndex() {
+      if (this.length >= 0) {
+        return;
+      }
+      final int expectedChunks = (int) Math.min(Integer.MAX_VALUE - 8, this.size / CHUNK_BYTES + 1);
+      this.chunkByteStart = new long[expectedChunks];
+      this.chunkByteLength = new int[expectedChunks];
+      this.chunkCharStart = new int[expectedChunks];
+
+      final CharsetDecoder decoder = this.charset.newDecoder()
+          .onMalformedInput(CodingErrorAction.REPLACE)
+          .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+      final byte[] bytes = new byte[CHUNK_BYTES];
+      final char[] chars = new char[(int) (CHUNK_BYTES * (double) decoder.maxCharsPerByte()) + 16];
+
+      try (final FileChannel readChannel = FileChannel.open(this.file.toPath(), StandardOpenOption.READ)) {
+        long bytePosition = 0L;
+        long charPosition = 0L;
+        while (bytePosition < this.size && charPosition < Integer.MAX_VALUE) {
+          final int read = readFully(readChannel, bytePosition, bytes, (int) Math.min(CHUNK_BYTES, this.size - bytePosition));
+          if (read == 0) {
+            break;
+          }
+          final boolean endOfInput = bytePosition + read >= this.size;
+          final ByteBuffer in = ByteBuffer.wrap(bytes, 0, read);
+          final CharBuffer out = CharBuffer.wrap(chars);
+          decoder.reset();
+          decoder.decode(in, out, endOfInput);
+          if (endOfInput) {
+            decoder.flush(out);
+          }
+          int consumed = in.position();
+          if (consumed == 0) {
+            // broken tail shorter than one char
+            consumed = read;
+          }
+
+          if (this.chunks == this.chunkByteStart.length) {
+            final int newLength = this.chunks + (this.chunks >> 1) + 1;
+            this.chunkByteStart = Arrays.copyOf(this.chunkByteStart, newLength);
+            this.chunkByteLength = Arrays.copyOf(this.chunkByteLength, newLength);
+            this.chunkCharStart = Arrays.copyOf(this.chunkCharStart, newLength);
+          }
+          this.chunkByteStart[this.chunks] = bytePosition;
+          this.chunkByteLength[this.chunks] = consumed;
+          this.chunkCharStart[this.chunks] = (int) charPosition;
+          this.chunks++;
+
+          bytePosition += consumed;
+          charPosition += out.position();
+        }
+        this.length = (int) Math.min(Integer.MAX_VALUE, charPosition);
+      } catch (IOException ex) {
+        throw new UncheckedIOException("Can't read captured console output : " + this.file, ex);
+      }
+    }
+
+    private static int readFully(@Nonnull final FileChannel channel, final long position, @Nonnull final byte[] buffer, final int length) throws IOException {
+      final ByteBuffer wrapped = ByteBuffer.wrap(buffer, 0, length);
+      while (wrapped.hasRemaining()) {
+        if (channel.read(wrapped, position + wrapped.position()) < 0) {
+          break;
+        }
+      }
+      return wrapped.position();
+    }
+
+    @Nonnull
+    private String getChunk(final int index) {
+      String result = this.cache.get(index);
+      if (result == null) {
+        final byte[] bytes = new byte[this.chunkByteLength[index]];
+        try (final FileChannel readChannel = FileChannel.open(this.file.toPath(), StandardOpenOption.READ)) {
+          final int read = readFully(readChannel, this.chunkByteStart[index], bytes, bytes.length);
+          result = new String(bytes, 0, read, this.charset);
+        } catch (IOException ex) {
+          throw new UncheckedIOException("Can't read captured console output : " + this.file, ex);
+        }
+        this.cache.put(index, result);
+      }
+      return result;
+    }
+
+    private int findChunk(final int charIndex) {
+      int found = Arrays.binarySearch(this.chunkCharStart, 0, this.chunks, charIndex);
+      if (found < 0) {
+        found = -found - 2;
+      }
+      // skip chunks without chars
+      while (found + 1 < this.chunks && this.chunkCharStart[found + 1] == charIndex) {
+        found++;
+      }
+      return found;
+    }
+
+    @Override
+    public synchronized int length() {
+      this.makeIndex();
+      return this.length;
+    }
+
+    @Override
+    public synchronized char charAt(final int index) {
+      this.makeIndex();
+      if (index < 0 || index >= this.length) {
+        throw new IndexOutOfBoundsException("Index " + index + ", length " + this.length);
+      }
+      final int chunk = this.findChunk(index);
+      return this.getChunk(chunk).charAt(index - this.chunkCharStart[chunk]);
+    }
+
+    @Override
+    @Nonnull
+    public synchronized CharSequence subSequence(final int start, final int end) {
+      this.makeIndex();
+      if (start < 0 || end > this.length || start > end) {
+        throw new IndexOutOfBoundsException("Range " + start + ".." + end + ", length " + this.length);
+      }
+      final StringBuilder result = new StringBuilder(end - start);
+      int position = start;
+      while (position < end) {
+        final int chunk = this.findChunk(position);
+        final String text = this.getChunk(chunk);
+        final int offset = position - this.chunkCharStart[chunk];
+        final int count = Math.min(end - position, text.length() - offset);
+        result.append(text, offset, offset + count);
+        position += count;
+      }
+      return result.toString();
+    }
+
+    @Override
+    @Nonnull
+    public String toString() {
+      return this.subSequence(0, this.length()).toString();
+    }
+  }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2020 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.igormaznitsa.mvngolang.utils;
+
+import com.igormaznitsa.meta.annotation.MustNotContainNull;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Consumer;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Output stream to collect console output of external process line by line.
+ * Every line is passed to consumer as soon as it is completed and only
+ * limited number of last lines is kept in memory. The whole text is captured
+ * only if capture is provided.
+ *
+ * @since 2.3.5
+ */
+public final class ConsoleLineBuffer extends OutputStream {
+
+  private final Charset charset;
+  private final int maxTailLines;
+  private final Consumer<String> consumer;
+  private final ConsoleCapture whole;
+
+  private final Deque<String> tail = new ArrayDeque<>();
+  private byte[] lineBuffer = new byte[256];
+  private int lineLength;
+  private long lineCounter;
+  private boolean closed;
+
+  /**
+   * Constructor.
+   *
+   * @param charset charset to decode lines, must not be null
+   * @param maxTailLines max number of last lines to be kept in memory
+   * @param consumer optional consumer to get each completed line
+   * @param whole optional capture to keep whole text
+   */
+  public ConsoleLineBuffer(@Nonnull final Charset charset, final int maxTailLines, @Nullable final Consumer<String> consumer, @Nullable final ConsoleCapture whole) {
+    this.charset = charset;
+    this.maxTailLines = Math.max(0, maxTailLines);
+    this.consumer = consumer;
+    this.whole = whole;
+  }
+
+  @Override
+  public synchronized void write(final int b) throws IOException {
+    if (this.whole != null) {
+      this.whole.write(new byte[] {(byte) b}, 0, 1);
+    }
+    this.processByte((byte) b);
+  }
+
+  @Override
+  public synchronized void write(@Nonnull final byte[] data, final int offset, final int length) throws IOException {
+    if (this.whole != null) {
+      this.whole.write(data, offset, length);
+    }
+    for (int i = 0; i < length; i++) {
+      this.processByte(data[offset + i]);
+    }
+  }
+
+  private void processByte(final byte b) {
+    if (b == '\n') {
+      this.completeLine();
+    } else {
+      if (this.lineLength == this.lineBuffer.length) {
+        final byte[] newBuffer = new byte[this.lineBuffer.length << 1];
+        System.arraycopy(this.lineBuffer, 0, newBuffer, 0, this.lineLength);
+        this.lineBuffer = newBuffer;
+      }
+      this.lineBuffer[this.lineLength++] = b;
+    }
+  }
+
+  private void completeLine() {
+    int length = this.lineLength;
+    if (length > 0 && this.lineBuffer[length - 1] == '\r') {
+      length--;
+    }
+    final String line = new String(this.lineBuffer, 0, length, this.charset);
+    this.lineLength = 0;
+    this.lineCounter++;
+
+    if (this.maxTailLines > 0) {
+      if (this.tail.size() == this.maxTailLines) {
+        this.tail.removeFirst();
+      }
+      this.tail.addLast(line);
+    }
+
+    if (this.consumer != null) {
+      this.consumer.accept(line);
+    }
+  }
+
+  /**
+   * Complete not finished last line. It is called automatically during close.
+   */
+  @Override
+  public synchronized void flush() throws IOException {
+    if (this.lineLength > 0) {
+      this.completeLine();
+    }
+    if (this.whole != null) {
+      this.whole.flush();
+    }
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    if (!this.closed) {
+      this.closed = true;
+      this.flush();
+    }
+  }
+
+  /**
+   * Release captured whole text.
+   */
+  public synchronized void dispose() {
+    if (this.whole != null) {
+      this.whole.dispose();
+    }
+  }
+
+  /**
+   * Get number of completed lines.
+   *
+   * @return number of lines passed through the buffer
+   */
+  public synchronized long getLineCounter() {
+    return this.lineCounter;
+  }
+
+  /**
+   * Get number of lines which were dropped from the tail.
+   *
+   * @return number of lines not presented in the tail
+   */
+  public synchronized long getSkippedLines() {
+    return this.lineCounter - this.tail.size();
+  }
+
+  /**
+   * Get kept last lines.
+   *
+   * @return list of last lines, must not be null
+   */
+  @Nonnull
+  @MustNotContainNull
+  public synchronized List<String> getTail() {
+    return new ArrayList<>(this.tail);
+  }
+
+  public boolean isWholeKept() {
+    return this.whole != null;
+  }
+
+  /**
+   * Get whole text passed through the buffer. It can be lazy sequence reading
+   * data from disk and it must not be used after dispose.
+   *
+   * @return whole text or empty string if whole text is not kept
+   * @throws IOException if captured text can't be accessed
+   * @see ConsoleCapture#asCharSequence(Charset)
+   */
+  @Nonnull
+  public synchronized CharSequence getWhole() throws IOException {
+    return this.whole == null ? "" : this.whole.asCharSequence(this.charset);
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2020 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.igormaznitsa.mvngolang.utils;
+
+import java.util.zip.Checksum;
+import javax.annotation.Nonnull;
+
+/**
+ * Table based CRC32C (Castagnoli) implementation processing eight bytes per
+ * step (slicing-by-8). It is used as fallback under JDK 8 which doesn't have
+ * java.util.zip.CRC32C.
+ *
+ * @since 2.3.5
+ */
+public final class Crc32c implements Checksum {
+
+  private static final int POLYNOMIAL = 0x82F63B78;
+  private static final int[][] TABLES = new int[8][256];
+
+  static {
+    final int[][] result = TABLES;
+    for (int n = 0; n < 256; n++) {
+      int c = n;
+      for (int k = 0; k < 8; k++) {
+        c = (c & 1) == 0 ? c >>> 1 : (c >>> 1) ^ POLYNOMIAL;
+      }
+      result[0][n] = c;
+    }
+    for (int n = 0; n < 256; n++) {
+      for (int t = 1; t < 8; t++) {
+        final int prev = result[t - 1][n];
+        result[t][n] = (prev >>> 8) ^ result[0][prev & 0xFF];
+      }
+    }
+  }
+
+  private int crc = 0xFFFFFFFF;
+
+  @Override
+  public void update(final int b) {
+    this.crc = (this.crc >>> 8) ^ TABLES[0][(this.crc ^ b) & 0xFF];
+  }
+
+  @Override
+  public void update(@Nonnull final byte[] b, final int off, final int len) {
+    final int[] t0 = TABLES[0];
+    final int[] t1 = TABLES[1];
+    final int[] t2 = TABLES[2];
+    final int[] t3 = TABLES[3];
+    final int[] t4 = TABLES[4];
+    final int[] t5 = TABLES[5];
+    final int[] t6 = TABLES[6];
+    final int[] t7 = TABLES[7];
+
+    int c = this.crc;
+    int pos = off;
+    int rest = len;
+    while (rest >= 8) {
+      final int lo = c ^ ((b[pos] & 0xFF) | (b[pos + 1] & 0xFF) << 8 | (b[pos + 2] & 0xFF) << 16 | (b[pos + 3] & 0xFF) << 24);
+      final int hi = (b[pos + 4] & 0xFF) | (b[pos + 5] & 0xFF) << 8 | (b[pos + 6] & 0xFF) << 16 | (b[pos + 7] & 0xFF) << 24;
+      c = t7[lo & 0xFF] ^ t6[(lo >>> 8) & 0xFF] ^ t5[(lo >>> 16) & 0xFF] ^ t4[lo >>> 24]
+          ^ t3[hi & 0xFF] ^ t2[(hi >>> 8) & 0xFF] ^ t1[(hi >>> 16) & 0xFF] ^ t0[hi >>> 24];
+      pos += 8;
+      rest -= 8;
+    }
+    while (rest > 0) {
+      c = (c >>> 8) ^ t0[(c ^ b[pos++]) & 0xFF];
+      rest--;
+    }
+    this.crc = c;
+  }
+
+  @Override
+  public long getValue() {
+    return ~this.crc & 0xFFFFFFFFL;
+  }
+
+  @Override
+  public void reset() {
+    this.crc = 0xFFFFFFFF;
+  }
+}
@@ -0,0 +1,315 @@
+/*
+ * Copyright 2020 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.igormaznitsa.mvngolang.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Locale;
+import java.util.UUID;
+import javax.annotation.Nonnull;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.FileUtils;
+
+/**
+ * Shared content-addressed store of unpacked dependency archives. Every
+ * archive is unpacked once into folder named by SHA-1 of the archive, the
+ * folder is published by atomic rename so that concurrent builds never see
+ * partially unpacked content. Projects get their views of unpacked archives
+ * through hard links, symbolic link or copy. Modification time of folder is
+ * used as time of last use, folders which have not been used for long time
+ * are removed by {@link #prune(long, long)}.
+ *
+ * @since 2.3.5
+ */
+public final class DependencyStore {
+
+  /**
+   * Way to make project view of unpacked archive.
+   */
+  public enum LinkMode {
+    /**
+     * Folder tree is made and every file is hard link to file in the store,
+     * file is copied if hard link can't be made.
+     */
+    HARDLINK,
+    /**
+     * Symbolic link to folder in the store, files are copied if symbolic
+     * link can't be made.
+     */
+    SYMLINK,
+    /**
+     * Files are copied from the store.
+     */
+    COPY;
+
+    /**
+     * Find mode by name, case insensitive.
+     *
+     * @param name name of mode, must not be null
+     * @return found mode, must not be null
+     * @throws IllegalArgumentException if unknown mode
+     */
+    @Nonnull
+    public static LinkMode parse(@Nonnull final String name) {
+      return LinkMode.valueOf(name.trim().toUpperCase(Locale.ENGLISH));
+    }
+  }
+
+  /**
+   * Unpacker of archive into folder.
+   *
+   * @param <E> exception type thrown by unpacker
+   */
+  @FunctionalInterface
+  public interface Unpacker<E extends Exception> {
+
+    void unpack(@Nonnull File folder) throws E;
+  }
+
+  private final File folder;
+
+  public DependencyStore(@Nonnull final File folder) {
+    this.folder = folder;
+  }
+
+  @Nonnull
+  public File getFolder() {
+    return this.folder;
+  }
+
+  @Nonnull
+  private File findEntry(@Nonnull final String sha1) {
+    return new File(new File(this.folder, sha1.substring(0, 2)), sha1);
+  }
+
+  /**
+   * Mark folder of unpacked archive as used.
+   *
+   * @param sha1 SHA-1 of the archive as hex string, must not be null
+   * @param now current time in milliseconds
+   * @return true if the folder is presented in the store
+   */
+  public boolean touch(@Nonnull final String sha1, final long now) {
+    final File entry = this.findEntry(sha1);
+    return entry.setLastModified(now) || entry.isDirectory();
+  }
+
+  /**
+   * Find folder of unpacked archive in the store, unpack the archive if it is
+   * not presented.
+   *
+   * @param <E> exception type thrown by unpacker
+   * @param archive archive file, must not be null
+   * @param unpacker unpacker to be called for new archive, must not be null
+   * @return folder of unpacked archive in the store, must not be null
+   * @throws IOException if error during store operation
+   * @throws E if error during unpack
+   */
+  @Nonnull
+  public <E extends Exception> File unpack(@Nonnull final File archive, @Nonnull final Unpacker<E> unpacker) throws IOException, E {
+    final String sha1;
+    try (final InputStream in = Files.newInputStream(archive.toPath())) {
+      sha1 = DigestUtils.sha1Hex(in);
+    }
+    return this.unpack(archive, sha1, unpacker);
+  }
+
+  /**
+   * Find folder of unpacked archive with known SHA-1 in the store, unpack the
+   * archive if it is not presented.
+   *
+   * @param <E> exception type thrown by unpacker
+   * @param archive archive file, must not be null
+   * @param sha1 SHA-1 of the archive as hex string, must not be null
+   * @param unpacker unpacker to be called for new archive, must not be null
+   * @return folder of unpacked archive in the store, must not be null
+   * @throws IOException if error during store operation
+   * @throws E if error during unpack
+   */
+  @Nonnull
+  public <E extends Exception> File unpack(@Nonnull final File archive, @Nonnull final String sha1, @Nonnull final Unpacker<E> unpacker) throws IOException, E {
+    final File result = this.findEntry(sha1);
+    if (this.touch(sha1, System.currentTimeMillis())) {
+      return result;
+    }
+
+    final File parent = result.getParentFile();
+    if (!parent.isDirectory() && !parent.mkdirs() && !parent.isDirectory()) {
+      throw new IOException("Can't create folder : " + parent);
+    }
+
+    final File tempFolder = new File(parent, sha1 + '.' + UUID.randomUUID() + ".tmp");
+    try {
+      if (!tempFolder.mkdir()) {
+        throw new IOException("Can't create folder : " + tempFolder);
+      }
+      unpacker.unpack(tempFolder);
+      publish(tempFolder, result);
+    } finally {
+      if (tempFolder.exists()) {
+        FileUtils.deleteQuietly(tempFolder);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Remove folders which have not been used for long time. Folder is renamed
+   * before deletion, so that concurrent builds never see partially deleted
+   * content and just unpack the archive again.
+   *
+   * @param maxAgeMillis max time in milliseconds since last use
+   * @param now current time in milliseconds
+   * @return number of removed folders
+   */
+  public int prune(final long maxAgeMillis, final long now) {
+    int result = 0;
+    final File[] subfolders = this.folder.listFiles(File::isDirectory);
+    if (subfolders != null) {
+      for (final File s : subfolders) {
+        final File[] entries = s.listFiles(File::isDirectory);
+        if (entries != null) {
+          for (final File e : entries) {
+            if (now - e.lastModified() > maxAgeMillis) {
+              final File removed = e.getName().endsWith(".tmp") ? e : new File(s, e.getName() + '.' + UUID.randomUUID() + ".tmp");
+              if ((removed == e || e.renameTo(removed)) && FileUtils.deleteQuietly(removed)) {
+                result++;
+              }
+            }
+          }
+        }
+      }
+    }
+    return result;
+  }
+
+  private static void publish(@Nonnull final File source, @Nonnull final File target) throws IOException {
+    try {
+      Files.move(source.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE);
+    } catch (AtomicMoveNotSupportedException ex) {
+      Files.move(source.toPath(), target.toPath());
+    } catch (FileAlreadyExistsException ex) {
+      // published by concurrent process
+    } catch (IOException ex) {
+      if (!target.isDirectory()) {
+        throw ex;
+      }
+    }
+  }
+
+  /**
+   * Make view of folder from the store. The view is made in temporary place
+   * and published by rename, existing dangling symbolic link is replaced.
+   *
+   * @param storeFolder folder in the store, must not be null
+   * @param target folder of view, must not exist, must not be null
+   * @param mode way to make view, must not be null
+   * @return mode which has been really used, must not be null
+   * @throws IOException if error during operation
+   */
+  @Nonnull
+  public static LinkMode materialize(@Nonnull final File storeFolder, @Nonnull final File target, @Nonnull final LinkMode mode) throws IOException {
+    final Path targetPath = target.toPath();
+    if (Files.isSymbolicLink(targetPath)) {
+      Files.delete(targetPath);
+    }
+    final File parent = target.getAbsoluteFile().getParentFile();
+    if (!parent.isDirectory() && !parent.mkdirs() && !parent.isDirectory()) {
+      throw new IOException("Can't create folder : " + parent);
+    }
+
+    final Path temp = new File(parent, target.getName() + '.' + UUID.randomUUID() + ".tmp").toPath();
+    LinkMode result = mode;
+    try {
+      if (mode == LinkMode.SYMLINK) {
+        try {
+          Files.createSymbolicLink(temp, storeFolder.getAbsoluteFile().toPath());
+        } catch (IOException | UnsupportedOperationException ex) {
+          result = LinkMode.COPY;
+        }
+      }
+      if (result != LinkMode.SYMLINK) {
+        result = copyTree(storeFolder.toPath(), temp, result == LinkMode.HARDLINK);
+      }
+      try {
+        Files.move(temp, targetPath, StandardCopyOption.ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException ex) {
+        Files.move(temp, targetPath);
+      }
+    } finally {
+      if (Files.isSymbolicLink(temp)) {
+        Files.deleteIfExists(temp);
+      } else if (Files.exists(temp)) {
+        FileUtils.deleteQuietly(temp.toFile());
+      }
+    }
+    return result;
+  }
+
+  @Nonnull
+  private static LinkMode copyTree(@Nonnull final Path source, @Nonnull final Path target, final boolean hardLinks) throws IOException {
+    final boolean[] links = new boolean[] {hardLinks};
+    Files.walkFileTree(source, new SimpleFileVisitor<Path>() {
+      @Override
+      @Nonnull
+      public FileVisitResult preVisitDirectory(@Nonnull final Path dir, @Nonnull final BasicFileAttributes attrs) throws IOException {
+        Files.createDirectories(target.resolve(source.relativize(dir).toString()));
+        return FileVisitResult.CONTINUE;
+      }
+
+      @Override
+      @Nonnull
+      public FileVisitResult visitFile(@Nonnull final Path file, @Nonnull final BasicFileAttributes attrs) throws IOException {
+        final Path targetFile = target.resolve(source.relativize(file).toString());
+        if (links[0]) {
+          try {
+            Files.createLink(targetFile, file);
+            return FileVisitResult.CONTINUE;
+          } catch (IOException | UnsupportedOperationException ex) {
+            links[0] = false;
+          }
+        }
+        Files.copy(file, targetFile, StandardCopyOption.COPY_ATTRIBUTES);
+        return FileVisitResult.CONTINUE;
+      }
+    });
+    return links[0] ? LinkMode.HARDLINK : LinkMode.COPY;
+  }
+
+  /**
+   * Replace file which can be hard link to the store by its own copy, so that
+   * it can be changed without changes in the store.
+   *
+   * @param file file to be detached, must not be null
+   * @throws IOException if error during operation
+   */
+  public static void detach(@Nonnull final File file) throws IOException {
+    if (file.isFile()) {
+      final File temp = new File(file.getParentFile(), file.getName() + '.' + UUID.randomUUID() + ".tmp");
+      Files.copy(file.toPath(), temp.toPath(), StandardCopyOption.COPY_ATTRIBUTES);
+      IOUtils.replaceFileAtomically(temp, file);
+    }
+  }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2020 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.igormaznitsa.mvngolang.utils;
+
+import com.igormaznitsa.meta.annotation.MustNotContainNull;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+
+/**
+ * Graph of packages made by 'go list -deps -test' with {@link #LIST_FORMAT}
+ * format. It computes content hash of package together with hashes of all its
+ * transitive imports. Packages of standard library are identified only by
+ * import path, packages of versioned modules are identified by module version,
+ * for other packages all files of package folder and its 'testdata' folder are
+ * hashed.
+ *
+ * @since 2.3.5
+ */
+public final class GoPackageGraph {
+
+  /**
+   * Format of 'go list' output line expected by the parser.
+   */
+  public static final String LIST_FORMAT = "{{.ImportPath}}\t{{.Dir}}\t{{.Standard}}\t{{with .Module}}{{.Path}}@{{.Version}}{{with .Replace}}={{.Path}}@{{.Version}}{{end}}{{end}}\t{{join .Imports \",\"}}";
+
+  private final Map<String, Node> nodes = new HashMap<>();
+  private final Map<String, String> fileHashes = new HashMap<>();
+
+  /**
+   * Parse lines of 'go list' output.
+   *
+   * @param lines lines made with {@link #LIST_FORMAT}, must not be null
+   * @return parsed graph, must not be null
+   * @throws IllegalArgumentException if wrong line format
+   */
+  @Nonnull
+  public static GoPackageGraph parse(@Nonnull @MustNotContainNull final List<String> lines) {
+    final GoPackageGraph result = new GoPackageGraph();
+    for (final String line : lines) {
+      if (line.trim().isEmpty()) {
+        continue;
+      }
+      final String[] fields = line.split("\t", -1);
+      if (fields.length != 5) {
+        throw new IllegalArgumentException("Unexpected package list line : " + line);
+      }
+      final List<String> imports = fields[4].isEmpty() ? Collections.<String>emptyList() : Arrays.asList(fields[4].split(","));
+      result.nodes.put(fields[0], new Node(fields[0], fields[1], Boolean.parseBoolean(fields[2]), fields[3], imports));
+    }
+    return result;
+  }
+
+  /**
+   * Make hash of package tests. Hash of the package test binary is used if it
+   * presented, otherwise hash of the package.
+   *
+   * @param packageName import path of package, must not be null
+   * @return hash as hex string or null if package is unknown
+   * @throws IOException if error during file read
+   */
+  @Nullable
+  public String makeTestHash(@Nonnull final String packageName) throws IOException {
+    final Node node = this.nodes.containsKey(packageName + ".test") ? this.nodes.get(packageName + ".test") : this.nodes.get(packageName);
+    return node == null ? null : this.findHash(node);
+  }
+
+  /**
+   * Make hash of all packages of the graph without test binaries.
+   *
+   * @return hash as hex string, must not be null
+   * @throws IOException if error during file read
+   */
+  @Nonnull
+  public String makeHash() throws IOException {
+    final MessageDigest digest = DigestUtils.getSha256Digest();
+    for (final String packageName : new TreeSet<>(this.nodes.keySet())) {
+      update(digest, packageName);
+      update(digest, this.makeOwnHash(this.nodes.get(packageName)));
+    }
+    return Hex.encodeHexString(digest.digest());
+  }
+
+  @Nonnull
+  private String findHash(@Nonnull final Node node) throws IOException {
+    if (node.hash == null) {
+      final MessageDigest digest = DigestUtils.getSha256Digest();
+      update(digest, node.importPath);
+      update(digest, this.makeOwnHash(node));
+      for (final String i : node.imports) {
+        final Node imported = this.nodes.get(i);
+        update(digest, i);
+        update(digest, imported == null ? "unknown" : this.findHash(imported));
+      }
+      node.hash = Hex.encodeHexString(digest.digest());
+    }
+    return node.hash;
+  }
+
+  @Nonnull
+  private String makeOwnHash(@Nonnull final Node node) throws IOException {
+    if (node.standard) {
+      return "std";
+    }
+    if (isImmutableModule(node.module)) {
+      return node.module;
+    }
+    if (node.dir.isEmpty()) {
+      return "nodir";
+    }
+
+    final File folder = new File(node.dir);
+    final Map<String, String> records = new TreeMap<>();
+    final File[] files = folder.listFiles();
+    if (files != null) {
+      for (final File f : files) {
+        if (f.isFile()) {
+          records.put(f.getName(), this.hashFile(f.toPath()));
+        }
+      }
+    }
+
+    final Path testData = new File(folder, "testdata").toPath();
+    if (Files.isDirectory(testData)) {
+      final List<Path> testDataFiles = new ArrayList<>();
+      Files.walkFileTree(testData, new SimpleFileVisitor<Path>() {
+        @Override
+        @Nonnull
+        public FileVisitResult visitFile(@Nonnull final Path file, @Nonnull final BasicFileAttributes attrs) {
+          if (attrs.isRegularFile()) {
+            testDataFiles.add(file);
+          }
+          return FileVisitResult.CONTINUE;
+        }
+      });
+      for (final Path p : testDataFiles) {
+        records.put(folder.toPath().relativize(p).toString().replace('\\', '/'), this.hashFile(p));
+      }
+    }
+
+    final MessageDigest digest = DigestUtils.getSha256Digest();
+    for (final Map.Entry<String, String> e : records.entrySet()) {
+      update(digest, e.getKey());
+      update(digest, e.getValue());
+    }
+    return Hex.encodeHexString(digest.digest());
+  }
+
+  @Nonnull
+  private String hashFile(@Nonnull final Path file) throws IOException {
+    final String key = file.toAbsolutePath().toString();
+    String result = this.fileHashes.get(key);
+    if (result == null) {
+      result = DigestUtils.sha256Hex(Files.readAllBytes(file));
+      this.fileHashes.put(key, result);
+    }
+    return result;
+  }
+
+  static boolean isImmutableModule(@Nonnull final String module) {
+    if (module.isEmpty()) {
+      return false;
+    }
+    for (final String part : module.split("=")) {
+      final int index = part.lastIndexOf('@');
+      if (index < 0 || index == part.length() - 1) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static void update(@Nonnull final MessageDigest digest, @Nonnull final String text) {
+    digest.update(text.getBytes(StandardCharsets.UTF_8));
+    digest.update((byte) 0);
+  }
+
+  private static final class Node {
+
+    private final String importPath;
+    private final String dir;
+    private final boolean standard;
+    private final String module;
+    private final List<String> imports;
+    private String hash;
+
+    private Node(@Nonnull final String importPath, @Nonnull final String dir, final boolean standard, @Nonnull final String module, @Nonnull @MustNotContainNull final List<String> imports) {
+      this.importPath = importPath;
+      this.dir = dir;
+      this.standard = standard;
+      this.module = module;
+      this.imports = imports;
+    }
+  }
+}
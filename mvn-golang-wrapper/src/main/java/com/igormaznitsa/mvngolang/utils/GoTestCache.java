@@ -0,0 +1,115 @@
+/*
+ * Copyright 2020 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.igormaznitsa.mvngolang.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.UUID;
+import javax.annotation.Nonnull;
+import org.apache.commons.codec.digest.DigestUtils;
+
+/**
+ * Persistent cache of passed test packages. Every passed package is recorded
+ * as small file named by hash of the package key, so that the cache can be
+ * shared between projects and concurrent builds. Records which have not been
+ * used for long time are removed by {@link #prune(long, long)}.
+ *
+ * @since 2.3.5
+ */
+public final class GoTestCache {
+
+  private static final String RECORD_EXTENSION = ".passed";
+
+  private final File folder;
+
+  public GoTestCache(@Nonnull final File folder) {
+    this.folder = folder;
+  }
+
+  @Nonnull
+  public File getFolder() {
+    return this.folder;
+  }
+
+  @Nonnull
+  private File findRecord(@Nonnull final String key) {
+    final String name = DigestUtils.sha256Hex(key);
+    return new File(new File(this.folder, name.substring(0, 2)), name + RECORD_EXTENSION);
+  }
+
+  /**
+   * Check that package with the key has been passed, time of found record is
+   * updated.
+   *
+   * @param key key of package, must not be null
+   * @param now current time in milliseconds
+   * @return true if the package has been passed
+   */
+  public boolean isPassed(@Nonnull final String key, final long now) {
+    final File record = this.findRecord(key);
+    return record.setLastModified(now) || record.isFile();
+  }
+
+  /**
+   * Record passed package.
+   *
+   * @param key key of package, must not be null
+   * @param packageName name of package to be saved into record, must not be
+   * null
+   * @throws IOException if error during write
+   */
+  public void markPassed(@Nonnull final String key, @Nonnull final String packageName) throws IOException {
+    final File record = this.findRecord(key);
+    final File parent = record.getParentFile();
+    if (!parent.isDirectory() && !parent.mkdirs() && !parent.isDirectory()) {
+      throw new IOException("Can't create folder : " + parent);
+    }
+    final File tempFile = new File(parent, record.getName() + '.' + UUID.randomUUID() + ".tmp");
+    try {
+      Files.write(tempFile.toPath(), packageName.getBytes(StandardCharsets.UTF_8));
+      IOUtils.replaceFileAtomically(tempFile, record);
+    } finally {
+      Files.deleteIfExists(tempFile.toPath());
+    }
+  }
+
+  /**
+   * Remove records which have not been used for defined time.
+   *
+   * @param maxAgeMillis max age of record in milliseconds
+   * @param now current time in milliseconds
+   * @return number of removed records
+   */
+  public int prune(final long maxAgeMillis, final long now) {
+    int result = 0;
+    final File[] subfolders = this.folder.listFiles(File::isDirectory);
+    if (subfolders != null) {
+      for (final File s : subfolders) {
+        final File[] records = s.listFiles((dir, name) -> name.endsWith(RECORD_EXTENSION));
+        if (records != null) {
+          for (final File r : records) {
+            if (now - r.lastModified() > maxAgeMillis && r.delete()) {
+              result++;
+            }
+          }
+        }
+      }
+    }
+    return result;
+  }
+}
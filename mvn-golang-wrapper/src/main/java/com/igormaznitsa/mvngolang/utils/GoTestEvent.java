@@ -0,0 +1,288 @@
+/*
+ * Copyright 2020 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.igormaznitsa.mvngolang.utils;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Event of 'go test -json' output (the test2json format). The event is parsed
+ * from single line by minimal parser of flat JSON objects, unknown fields and
+ * nested values are skipped.
+ *
+ * @since 2.3.5
+ */
+public final class GoTestEvent {
+
+  private final String action;
+  private final String packageName;
+  private final String test;
+  private final double elapsed;
+  private final String output;
+
+  public GoTestEvent(@Nonnull final String action, @Nullable final String packageName, @Nullable final String test, final double elapsed, @Nullable final String output) {
+    this.action = action;
+    this.packageName = packageName;
+    this.test = test;
+    this.elapsed = elapsed;
+    this.output = output;
+  }
+
+  /**
+   * Parse line of 'go test -json' output.
+   *
+   * @param line line to be parsed, must not be null
+   * @return parsed event or null if the line is not JSON object with action
+   */
+  @Nullable
+  public static GoTestEvent parse(@Nonnull final String line) {
+    final String trimmed = line.trim();
+    if (!trimmed.startsWith("{") || !trimmed.endsWith("}")) {
+      return null;
+    }
+
+    String action = null;
+    String packageName = null;
+    String test = null;
+    String output = null;
+    double elapsed = Double.NaN;
+
+    try {
+      final Parser parser = new Parser(trimmed);
+      parser.expect('{');
+      if (!parser.skipIf('}')) {
+        do {
+          final String name = parser.readString();
+          parser.expect(':');
+          switch (name) {
+            case "Action":
+              action = parser.readStringOrNull();
+              break;
+            case "Package":
+              packageName = parser.readStringOrNull();
+              break;
+            case "Test":
+              test = parser.readStringOrNull();
+              break;
+            case "Output":
+              output = parser.readStringOrNull();
+              break;
+            case "Elapsed":
+              elapsed = parser.readNumber();
+              break;
+            default:
+              parser.skipValue();
+              break;
+          }
+        } while (parser.skipIf(','));
+        parser.expect('}');
+      }
+      if (!parser.isEnd()) {
+        return null;
+      }
+    } catch (IllegalArgumentException ex) {
+      return null;
+    }
+
+    return action == null ? null : new GoTestEvent(action, packageName, test, elapsed, output);
+  }
+
+  @Nonnull
+  public String getAction() {
+    return this.action;
+  }
+
+  @Nullable
+  public String getPackage() {
+    return this.packageName;
+  }
+
+  @Nullable
+  public String getTest() {
+    return this.test;
+  }
+
+  /**
+   * Get elapsed time.
+   *
+   * @return elapsed time in seconds or NaN if not provided
+   */
+  public double getElapsed() {
+    return this.elapsed;
+  }
+
+  @Nullable
+  public String getOutput() {
+    return this.output;
+  }
+
+  @Override
+  @Nonnull
+  public String toString() {
+    return "GoTestEvent(action=" + this.action + ",package=" + this.packageName + ",test=" + this.test + ",elapsed=" + this.elapsed + ')';
+  }
+
+  private static final class Parser {
+
+    private final String text;
+    private int pos;
+
+    private Parser(@Nonnull final String text) {
+      this.text = text;
+    }
+
+    private void skipSpaces() {
+      while (this.pos < this.text.length() && Character.isWhitespace(this.text.charAt(this.pos))) {
+        this.pos++;
+      }
+    }
+
+    private boolean isEnd() {
+      this.skipSpaces();
+      return this.pos == this.text.length();
+    }
+
+    private char peek() {
+      this.skipSpaces();
+      if (this.pos >= this.text.length()) {
+        throw new IllegalArgumentException("Unexpected end of JSON");
+      }
+      return this.text.charAt(this.pos);
+    }
+
+    private void expect(final char chr) {
+      if (this.peek() != chr) {
+        throw new IllegalArgumentException("Expected '" + chr + "' at " + this.pos);
+      }
+      this.pos++;
+    }
+
+    private boolean skipIf(final char chr) {
+      if (this.peek() == chr) {
+        this.pos++;
+        return true;
+      }
+      return false;
+    }
+
+    @Nullable
+    private String readStringOrNull() {
+      if (this.peek() == 'n') {
+        this.skipValue();
+        return null;
+      }
+      return this.readString();
+    }
+
+    @Nonnull
+    private String readString() {
+      this.expect('"');
+      final StringBuilder result = new StringBuilder();
+      while (true) {
+        if (this.pos >= this.text.length()) {
+          throw new IllegalArgumentException("Unclosed string");
+        }
+        final char chr = this.text.charAt(this.pos++);
+        if (chr == '"') {
+          return result.toString();
+        } else if (chr == '\\') {
+          if (this.pos >= this.text.length()) {
+            throw new IllegalArgumentException("Unclosed string");
+          }
+          final char escaped = this.text.charAt(this.pos++);
+          switch (escaped) {
+            case 'n':
+              result.append('\n');
+              break;
+            case 'r':
+              result.append('\r');
+              break;
+            case 't':
+              result.append('\t');
+              break;
+            case 'b':
+              result.append('\b');
+              break;
+            case 'f':
+              result.append('\f');
+              break;
+            case 'u': {
+              if (this.pos + 4 > this.text.length()) {
+                throw new IllegalArgumentException("Wrong unicode escape");
+              }
+              try {
+                result.append((char) Integer.parseInt(this.text.substring(this.pos, this.pos + 4), 16));
+              } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("Wrong unicode escape", ex);
+              }
+              this.pos += 4;
+            }
+            break;
+            default:
+              result.append(escaped);
+              break;
+          }
+        } else {
+          result.append(chr);
+        }
+      }
+    }
+
+    private double readNumber() {
+      this.skipSpaces();
+      final int start = this.pos;
+      while (this.pos < this.text.length() && "+-0123456789.eE".indexOf(this.text.charAt(this.pos)) >= 0) {
+        this.pos++;
+      }
+      try {
+        return Double.parseDouble(this.text.substring(start, this.pos));
+      } catch (NumberFormatException ex) {
+        throw new IllegalArgumentException("Wrong number at " + start, ex);
+      }
+    }
+
+    private void skipValue() {
+      final char chr = this.peek();
+      if (chr == '"') {
+        this.readString();
+      } else if (chr == '{' || chr == '[') {
+        final char close = chr == '{' ? '}' : ']';
+        this.pos++;
+        if (!this.skipIf(close)) {
+          do {
+            if (chr == '{') {
+              this.readString();
+              this.expect(':');
+            }
+            this.skipValue();
+          } while (this.skipIf(','));
+          this.expect(close);
+        }
+      } else if (chr == '-' || Character.isDigit(chr)) {
+        this.readNumber();
+      } else {
+        final int start = this.pos;
+        while (this.pos < this.text.length() && Character.isLetter(this.text.charAt(this.pos))) {
+          this.pos++;
+        }
+        final String word = this.text.substring(start, this.pos);
+        if (!"true".equals(word) && !"false".equals(word) && !"null".equals(word)) {
+          throw new IllegalArgumentException("Unexpected value at " + start);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2020 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.igormaznitsa.mvngolang.utils;
+
+import com.igormaznitsa.meta.annotation.MustNotContainNull;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Live metrics of 'go test -json' events. Elapsed times of completed tests are
+ * kept in primitive arrays, start times of running tests are tracked to detect
+ * hung tests. Paused parallel tests are not considered as running.
+ *
+ * @since 2.3.5
+ */
+public final class GoTestMetrics {
+
+  private static final int INITIAL_CAPACITY = 64;
+
+  private String[] names = new String[INITIAL_CAPACITY];
+  private double[] times = new double[INITIAL_CAPACITY];
+  private int size;
+
+  private final Map<String, Long> running = new HashMap<>();
+
+  @Nonnull
+  private static String makeName(@Nonnull final String packageName, @Nonnull final String test) {
+    return packageName + ' ' + test;
+  }
+
+  /**
+   * Process event.
+   *
+   * @param event event to be processed, must not be null
+   * @param now time of event arrival in milliseconds
+   */
+  public synchronized void onEvent(@Nonnull final GoTestEvent event, final long now) {
+    final String packageName = event.getPackage();
+    if (packageName == null) {
+      return;
+    }
+    final String test = event.getTest();
+    final String action = event.getAction();
+
+    if (test == null) {
+      if ("pass".equals(action) || "fail".equals(action) || "skip".equals(action)) {
+        final String prefix = packageName + ' ';
+        this.running.keySet().removeIf(x -> x.startsWith(prefix));
+      }
+      return;
+    }
+
+    final String name = makeName(packageName, test);
+    switch (action) {
+      case "run":
+      case "cont":
+        this.running.put(name, now);
+        break;
+      case "pause":
+        this.running.remove(name);
+        break;
+      case "pass":
+      case "fail":
+      case "skip": {
+        this.running.remove(name);
+        if (!Double.isNaN(event.getElapsed())) {
+          this.add(name, event.getElapsed());
+        }
+      }
+      break;
+      default:
+        break;
+    }
+  }
+
+  private void add(@Nonnull final String name, final double elapsed) {
+    if (this.size == this.names.length) {
+      final int newLength = this.names.length << 1;
+      final String[] newNames = new String[newLength];
+      final double[] newTimes = new double[newLength];
+      System.arraycopy(this.names, 0, newNames, 0, this.size);
+      System.arraycopy(this.times, 0, newTimes, 0, this.size);
+      this.names = newNames;
+      this.times = newTimes;
+    }
+    this.names[this.size] = name;
+    this.times[this.size] = elapsed;
+    this.size++;
+  }
+
+  /**
+   * Add elapsed times of completed tests from other metrics.
+   *
+   * @param other metrics to be added, must not be null
+   */
+  public void addTimes(@Nonnull final GoTestMetrics other) {
+    final String[] otherNames;
+    final double[] otherTimes;
+    final int otherSize;
+    synchronized (other) {
+      otherSize = other.size;
+      otherNames = other.names.clone();
+      otherTimes = other.times.clone();
+    }
+    synchronized (this) {
+      for (int i = 0; i < otherSize; i++) {
+        this.add(otherNames[i], otherTimes[i]);
+      }
+    }
+  }
+
+  public synchronized int getCompletedTests() {
+    return this.size;
+  }
+
+  /**
+   * Find slowest completed tests.
+   *
+   * @param number max number of tests
+   * @return descriptions of tests, the slowest is the first one, must not be
+   * null
+   */
+  @Nonnull
+  @MustNotContainNull
+  public synchronized List<String> findSlowest(final int number) {
+    final int limit = Math.max(0, Math.min(number, this.size));
+    final int[] top = new int[limit];
+    int found = 0;
+    for (int i = 0; i < this.size; i++) {
+      int pos = found;
+      while (pos > 0 && this.times[top[pos - 1]] < this.times[i]) {
+        pos--;
+      }
+      if (pos < limit) {
+        final int end = Math.min(found, limit - 1);
+        System.arraycopy(top, pos, top, pos + 1, end - pos);
+        top[pos] = i;
+        found = Math.min(found + 1, limit);
+      }
+    }
+
+    final List<String> result = new ArrayList<>(found);
+    for (int i = 0; i < found; i++) {
+      result.add(String.format(Locale.ROOT, "%10.3f s  %s", this.times[top[i]], this.names[top[i]]));
+    }
+    return result;
+  }
+
+  /**
+   * Find test running longer than deadline. If there are several such tests
+   * then the latest started one is returned (it is the deepest subtest).
+   *
+   * @param now current time in milliseconds
+   * @param deadlineMillis deadline in milliseconds
+   * @return package and name of found test or null
+   */
+  @Nullable
+  public synchronized String findHung(final long now, final long deadlineMillis) {
+    String result = null;
+    long resultStart = Long.MIN_VALUE;
+    for (final Map.Entry<String, Long> e : this.running.entrySet()) {
+      final long start = e.getValue();
+      if (now - start > deadlineMillis && start > resultStart) {
+        result = e.getKey();
+        resultStart = start;
+      }
+    }
+    return result;
+  }
+}
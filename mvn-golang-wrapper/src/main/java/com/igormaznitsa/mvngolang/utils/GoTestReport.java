@@ -0,0 +1,372 @@
+/*
+ * Copyright 2020 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.igormaznitsa.mvngolang.utils;
+
+import com.igormaznitsa.meta.annotation.MustNotContainNull;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+/**
+ * Collector of 'go test -json' events which makes Surefire compatible XML
+ * reports, one report file per package. Events of different packages can be
+ * provided concurrently.
+ *
+ * @since 2.3.5
+ */
+public final class GoTestReport {
+
+  private static final int MAX_OUTPUT_CHARS = 64 * 1024;
+
+  private static final String STATUS_RUN = "run";
+  private static final String STATUS_PASS = "pass";
+  private static final String STATUS_FAIL = "fail";
+  private static final String STATUS_SKIP = "skip";
+
+  private final Map<String, PackageResult> packages = new LinkedHashMap<>();
+
+  /**
+   * Process event.
+   *
+   * @param event event to be processed, must not be null
+   */
+  public synchronized void onEvent(@Nonnull final GoTestEvent event) {
+    final String packageName = event.getPackage();
+    if (packageName == null) {
+      return;
+    }
+    final PackageResult pkg = this.packages.computeIfAbsent(packageName, PackageResult::new);
+    final String testName = event.getTest();
+
+    switch (event.getAction()) {
+      case STATUS_RUN: {
+        if (testName != null) {
+          pkg.findTest(testName);
+        }
+      }
+      break;
+      case "output": {
+        final String text = event.getOutput();
+        if (text != null) {
+          if (testName == null) {
+            pkg.output.append(text);
+          } else {
+            pkg.findTest(testName).output.append(text);
+          }
+        }
+      }
+      break;
+      case STATUS_PASS:
+      case STATUS_FAIL:
+      case STATUS_SKIP: {
+        if (testName == null) {
+          pkg.status = event.getAction();
+          pkg.elapsed = event.getElapsed();
+        } else {
+          final TestResult test = pkg.findTest(testName);
+          test.status = event.getAction();
+          test.elapsed = event.getElapsed();
+        }
+      }
+      break;
+      default:
+        break;
+    }
+  }
+
+  /**
+   * Get execution times of completed packages.
+   *
+   * @return map of package names and their execution time in seconds, must
+   * not be null
+   */
+  @Nonnull
+  public synchronized Map<String, Double> getPackageTimes() {
+    final Map<String, Double> result = new LinkedHashMap<>();
+    for (final PackageResult p : this.packages.values()) {
+      if (p.status != null && !Double.isNaN(p.elapsed)) {
+        result.put(p.name, p.elapsed);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Get packages completed without failures (passed or without tests).
+   *
+   * @return list of package names, must not be null
+   */
+  @Nonnull
+  @MustNotContainNull
+  public synchronized List<String> getSuccessfulPackages() {
+    final List<String> result = new ArrayList<>();
+    for (final PackageResult p : this.packages.values()) {
+      if (STATUS_PASS.equals(p.status) || STATUS_SKIP.equals(p.status)) {
+        result.add(p.name);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Make one line summary in Surefire style.
+   *
+   * @return summary of all collected packages, must not be null
+   */
+  @Nonnull
+  public synchronized String makeSummary() {
+    int tests = 0;
+    int failures = 0;
+    int errors = 0;
+    int skipped = 0;
+    for (final PackageResult p : this.packages.values()) {
+      final int[] counters = p.count();
+      tests += counters[0];
+      failures += counters[1];
+      errors += counters[2];
+      skipped += counters[3];
+    }
+    return String.format("Tests run: %d, Failures: %d, Errors: %d, Skipped: %d", tests, failures, errors, skipped);
+  }
+
+  /**
+   * Write Surefire compatible XML reports (TEST-package.xml) for packages
+   * containing tests or failed.
+   *
+   * @param folder folder to write reports, must not be null
+   * @return list of written files, must not be null
+   * @throws IOException if error during writing
+   */
+  @Nonnull
+  @MustNotContainNull
+  public synchronized List<File> writeSurefireReports(@Nonnull final File folder) throws IOException {
+    if (!folder.isDirectory() && !folder.mkdirs()) {
+      throw new IOException("Can't create folder : " + folder);
+    }
+
+    final List<File> result = new ArrayList<>();
+    final XMLOutputFactory factory = XMLOutputFactory.newInstance();
+    for (final PackageResult p : this.packages.values()) {
+      if (p.tests.isEmpty() && !STATUS_FAIL.equals(p.status)) {
+        continue;
+      }
+      final File file = new File(folder, "TEST-" + makeFileName(p.name) + ".xml");
+      try (final OutputStream out = Files.newOutputStream(file.toPath())) {
+        final XMLStreamWriter writer = factory.createXMLStreamWriter(out, StandardCharsets.UTF_8.name());
+        p.write(writer);
+        writer.flush();
+        writer.close();
+      } catch (XMLStreamException ex) {
+        throw new IOException("Can't write test report : " + file, ex);
+      }
+      result.add(file);
+    }
+    return result;
+  }
+
+  @Nonnull
+  static String makeFileName(@Nonnull final String packageName) {
+    final StringBuilder result = new StringBuilder(packageName.length());
+    for (final char c : packageName.toCharArray()) {
+      if (c == '/' || c == '\\') {
+        result.append('.');
+      } else if (Character.isLetterOrDigit(c) || c == '.' || c == '-' || c == '_') {
+        result.append(c);
+      } else {
+        result.append('_');
+      }
+    }
+    return result.toString();
+  }
+
+  @Nonnull
+  private static String formatTime(final double seconds) {
+    return String.format(Locale.ROOT, "%.3f", Double.isNaN(seconds) ? 0.0d : seconds);
+  }
+
+  @Nonnull
+  private static String makeXmlSafe(@Nonnull final CharSequence text) {
+    final StringBuilder result = new StringBuilder(text.length());
+    for (int i = 0; i < text.length(); i++) {
+      final char c = text.charAt(i);
+      if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+        result.append(c);
+      }
+    }
+    return result.toString();
+  }
+
+  private static final class LimitedText {
+
+    private final StringBuilder buffer = new StringBuilder();
+    private boolean truncated;
+
+    private void append(@Nonnull final String text) {
+      if (this.buffer.length() + text.length() <= MAX_OUTPUT_CHARS) {
+        this.buffer.append(text);
+      } else {
+        this.truncated = true;
+      }
+    }
+
+    private boolean isEmpty() {
+      return this.buffer.length() == 0 && !this.truncated;
+    }
+
+    @Nonnull
+    @Override
+    public String toString() {
+      return makeXmlSafe(this.buffer) + (this.truncated ? "\n...output truncated...\n" : "");
+    }
+  }
+
+  private static final class TestResult {
+
+    private final String name;
+    private final LimitedText output = new LimitedText();
+    private String status = STATUS_RUN;
+    private double elapsed = Double.NaN;
+
+    private TestResult(@Nonnull final String name) {
+      this.name = name;
+    }
+  }
+
+  private static final class PackageResult {
+
+    private final String name;
+    private final Map<String, TestResult> tests = new LinkedHashMap<>();
+    private final LimitedText output = new LimitedText();
+    private String status;
+    private double elapsed = Double.NaN;
+
+    private PackageResult(@Nonnull final String name) {
+      this.name = name;
+    }
+
+    @Nonnull
+    private TestResult findTest(@Nonnull final String testName) {
+      return this.tests.computeIfAbsent(testName, TestResult::new);
+    }
+
+    private boolean isPackageError() {
+      if (!STATUS_FAIL.equals(this.status)) {
+        return false;
+      }
+      for (final TestResult t : this.tests.values()) {
+        if (!STATUS_PASS.equals(t.status) && !STATUS_SKIP.equals(t.status)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    @Nonnull
+    private int[] count() {
+      int failures = 0;
+      int errors = this.isPackageError() ? 1 : 0;
+      int skipped = 0;
+      for (final TestResult t : this.tests.values()) {
+        if (STATUS_FAIL.equals(t.status)) {
+          failures++;
+        } else if (STATUS_SKIP.equals(t.status)) {
+          skipped++;
+        } else if (STATUS_RUN.equals(t.status)) {
+          errors++;
+        }
+      }
+      return new int[] {this.tests.size() + (this.isPackageError() ? 1 : 0), failures, errors, skipped};
+    }
+
+    private void write(@Nonnull final XMLStreamWriter writer) throws XMLStreamException {
+      final int[] counters = this.count();
+
+      writer.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+      writer.writeCharacters("\n");
+      writer.writeStartElement("testsuite");
+      writer.writeAttribute("name", this.name);
+      writer.writeAttribute("tests", Integer.toString(counters[0]));
+      writer.writeAttribute("failures", Integer.toString(counters[1]));
+      writer.writeAttribute("errors", Integer.toString(counters[2]));
+      writer.writeAttribute("skipped", Integer.toString(counters[3]));
+      writer.writeAttribute("time", formatTime(this.elapsed));
+      writer.writeCharacters("\n");
+
+      for (final TestResult t : this.tests.values()) {
+        writer.writeStartElement("testcase");
+        writer.writeAttribute("name", t.name);
+        writer.writeAttribute("classname", this.name);
+        writer.writeAttribute("time", formatTime(t.elapsed));
+        if (STATUS_FAIL.equals(t.status)) {
+          writer.writeStartElement("failure");
+          writer.writeAttribute("message", "Failed");
+          writer.writeAttribute("type", "go.test");
+          writer.writeCharacters(t.output.toString());
+          writer.writeEndElement();
+        } else if (STATUS_SKIP.equals(t.status)) {
+          writer.writeEmptyElement("skipped");
+        } else if (STATUS_RUN.equals(t.status)) {
+          writer.writeStartElement("error");
+          writer.writeAttribute("message", "Test not completed");
+          writer.writeAttribute("type", "go.test");
+          writer.writeCharacters(t.output.toString());
+          writer.writeEndElement();
+        } else if (!t.output.isEmpty()) {
+          writer.writeStartElement("system-out");
+          writer.writeCharacters(t.output.toString());
+          writer.writeEndElement();
+        }
+        writer.writeEndElement();
+        writer.writeCharacters("\n");
+      }
+
+      if (this.isPackageError()) {
+        writer.writeStartElement("testcase");
+        writer.writeAttribute("name", "(package)");
+        writer.writeAttribute("classname", this.name);
+        writer.writeAttribute("time", formatTime(this.elapsed));
+        writer.writeStartElement("error");
+        writer.writeAttribute("message", "Package failed");
+        writer.writeAttribute("type", "go.test");
+        writer.writeCharacters(this.output.toString());
+        writer.writeEndElement();
+        writer.writeEndElement();
+        writer.writeCharacters("\n");
+      }
+
+      if (!this.output.isEmpty()) {
+        writer.writeStartElement("system-out");
+        writer.writeCharacters(this.output.toString());
+        writer.writeEndElement();
+        writer.writeCharacters("\n");
+      }
+
+      writer.writeEndElement();
+      writer.writeEndDocument();
+    }
+  }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2020 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.igormaznitsa.mvngolang.utils;
+
+import com.igormaznitsa.meta.annotation.MustNotContainNull;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import javax.annotation.Nonnull;
+
+/**
+ * Execution times of tested packages saved between builds. The times are used
+ * to balance packages between test shards, the longest packages are placed
+ * first into the least loaded shard.
+ *
+ * @since 2.3.5
+ */
+public final class GoTestTimings {
+
+  private static final double DEFAULT_TIME = 1.0d;
+
+  private final Map<String, Double> times = new TreeMap<>();
+
+  /**
+   * Load timings from file, missing or broken file provides empty timings.
+   *
+   * @param file file to load, must not be null
+   * @return loaded timings, must not be null
+   */
+  @Nonnull
+  public static GoTestTimings load(@Nonnull final File file) {
+    final GoTestTimings result = new GoTestTimings();
+    if (file.isFile()) {
+      final Properties properties = new Properties();
+      try (final InputStream in = Files.newInputStream(file.toPath())) {
+        properties.load(in);
+        for (final String name : properties.stringPropertyNames()) {
+          result.times.put(name, Double.parseDouble(properties.getProperty(name)));
+        }
+      } catch (IOException | NumberFormatException ex) {
+        result.times.clear();
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Save timings into file.
+   *
+   * @param file file to save, must not be null
+   * @throws IOException if error during save
+   */
+  public void save(@Nonnull final File file) throws IOException {
+    final Properties properties = new Properties();
+    for (final Map.Entry<String, Double> e : this.times.entrySet()) {
+      properties.setProperty(e.getKey(), Double.toString(e.getValue()));
+    }
+    final File parent = file.getAbsoluteFile().getParentFile();
+    if (!parent.isDirectory() && !parent.mkdirs()) {
+      throw new IOException("Can't create folder : " + parent);
+    }
+    final File tempFile = new File(parent, file.getName() + ".tmp");
+    try (final OutputStream out = Files.newOutputStream(tempFile.toPath())) {
+      properties.store(out, "mvn-golang test timings");
+    }
+    IOUtils.replaceFileAtomically(tempFile, file);
+  }
+
+  /**
+   * Update times of packages.
+   *
+   * @param newTimes map of package names and times in seconds, must not be
+   * null
+   */
+  public void update(@Nonnull final Map<String, Double> newTimes) {
+    this.times.putAll(newTimes);
+  }
+
+  /**
+   * Find saved time of package.
+   *
+   * @param packageName package name, must not be null
+   * @return time in seconds or NaN if unknown
+   */
+  public double find(@Nonnull final String packageName) {
+    final Double result = this.times.get(packageName);
+    return result == null ? Double.NaN : result;
+  }
+
+  private double estimate(@Nonnull final String packageName, final double defaultTime) {
+    final double result = this.find(packageName);
+    return Double.isNaN(result) ? defaultTime : result;
+  }
+
+  /**
+   * Split packages into shards with balanced total time. Packages without
+   * saved time get average time of known ones.
+   *
+   * @param packages packages to be split, must not be null
+   * @param shards max number of shards
+   * @return list of non-empty shards, must not be null
+   */
+  @Nonnull
+  @MustNotContainNull
+  public List<List<String>> split(@Nonnull @MustNotContainNull final Collection<String> packages, final int shards) {
+    double known = 0.0d;
+    int knownNumber = 0;
+    for (final String p : packages) {
+      final double time = this.find(p);
+      if (!Double.isNaN(time)) {
+        known += time;
+        knownNumber++;
+      }
+    }
+    final double defaultTime = knownNumber == 0 ? DEFAULT_TIME : known / knownNumber;
+
+    final List<String> sorted = new ArrayList<>(packages);
+    sorted.sort((a, b) -> Double.compare(this.estimate(b, defaultTime), this.estimate(a, defaultTime)));
+
+    final int number = Math.max(1, Math.min(shards, sorted.size()));
+    final List<List<String>> result = new ArrayList<>();
+    final double[] loads = new double[number];
+    for (int i = 0; i < number; i++) {
+      result.add(new ArrayList<>());
+    }
+
+    for (final String p : sorted) {
+      int target = 0;
+      for (int i = 1; i < number; i++) {
+        if (loads[i] < loads[target]) {
+          target = i;
+        }
+      }
+      loads[target] += this.estimate(p, defaultTime);
+      result.get(target).add(p);
+    }
+
+    result.removeIf(List::isEmpty);
+    return result;
+  }
+}
@@ -23,6 +23,9 @@ import javax.annotation.Nullable;
 import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import static java.lang.Math.max;
 import static java.lang.Math.min;
 import static java.lang.System.out;
@@ -139,4 +142,22 @@ public final class IOUtils {
     } catch (final IOException ignoring) {
     }
   }
+
+  /**
+   * Move file into target place with replacement, atomic move is used if it
+   * is supported by file system so that readers see either old or new
+   * content.
+   *
+   * @param source file to be moved, must not be null
+   * @param target target file, must not be null
+   * @throws IOException if the file can't be moved
+   * @since 2.3.5
+   */
+  public static void replaceFileAtomically(@Nonnull final File source, @Nonnull final File target) throws IOException {
+    try {
+      Files.move(source.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } catch (AtomicMoveNotSupportedException ex) {
+      Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
 }
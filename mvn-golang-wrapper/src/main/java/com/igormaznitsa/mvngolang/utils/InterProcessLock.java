@@ -0,0 +1,138 @@
+/*
+ * Copyright 2020 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.igormaznitsa.mvngolang.utils;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Exclusive lock shared between threads of the JVM and between processes. It
+ * is based on OS file lock so that a waiting process is blocked without
+ * polling and the lock is released by OS if the owner process is killed. The
+ * lock file is not deleted after use because deletion can't be made safely
+ * while another process waits for the lock.
+ *
+ * @since 2.3.5
+ */
+public final class InterProcessLock implements Closeable {
+
+  private static final ConcurrentMap<String, ReentrantLock> JVM_LOCKS = new ConcurrentHashMap<>();
+
+  private final File file;
+  private final ReentrantLock jvmLock;
+  private final FileChannel channel;
+  private final FileLock fileLock;
+
+  private InterProcessLock(@Nonnull final File file, @Nonnull final ReentrantLock jvmLock, @Nullable final FileChannel channel, @Nullable final FileLock fileLock) {
+    this.file = file;
+    this.jvmLock = jvmLock;
+    this.channel = channel;
+    this.fileLock = fileLock;
+  }
+
+  /**
+   * Acquire lock, the call is blocked until the lock is free.
+   *
+   * @param lockFile file to be used for lock, it is created if not exists,
+   * must not be null
+   * @param onWait optional action called once if the lock is owned by another
+   * thread or process and the call is going to wait
+   * @return acquired lock, must be closed to release it
+   * @throws IOException if the lock file can't be opened or wait is
+   * interrupted
+   */
+  @Nonnull
+  public static InterProcessLock acquire(@Nonnull final File lockFile, @Nullable final Runnable onWait) throws IOException {
+    final File file = lockFile.getCanonicalFile();
+    final ReentrantLock jvmLock = JVM_LOCKS.computeIfAbsent(file.getPath(), k -> new ReentrantLock());
+
+    boolean waitNotified = false;
+    if (!jvmLock.tryLock()) {
+      if (onWait != null) {
+        onWait.run();
+      }
+      waitNotified = true;
+      try {
+        jvmLock.lockInterruptibly();
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Wait of lock is interrupted : " + file);
+      }
+    }
+
+    if (jvmLock.getHoldCount() > 1) {
+      // file lock is already owned by the thread
+      return new InterProcessLock(file, jvmLock, null, null);
+    }
+
+    FileChannel channel = null;
+    try {
+      final File parent = file.getParentFile();
+      if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+        throw new IOException("Can't create folder : " + parent);
+      }
+      channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+      FileLock lock = channel.tryLock();
+      if (lock == null) {
+        if (onWait != null && !waitNotified) {
+          onWait.run();
+        }
+        lock = channel.lock();
+      }
+      return new InterProcessLock(file, jvmLock, channel, lock);
+    } catch (IOException | RuntimeException ex) {
+      IOUtils.closeSilently(channel);
+      jvmLock.unlock();
+      throw ex;
+    }
+  }
+
+  @Nonnull
+  public File getFile() {
+    return this.file;
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      if (this.fileLock != null && this.fileLock.isValid()) {
+        this.fileLock.release();
+      }
+    } finally {
+      try {
+        IOUtils.closeSilently(this.channel);
+      } finally {
+        this.jvmLock.unlock();
+      }
+    }
+  }
+
+  @Override
+  @Nonnull
+  public String toString() {
+    return "InterProcessLock(" + this.file + ')';
+  }
+}
@@ -23,10 +23,19 @@ import java.io.File;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import javax.annotation.Nonnull;
@@ -40,6 +49,7 @@ import org.apache.maven.artifact.versioning.VersionRange;
 import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecution;
+import org.apache.maven.plugin.logging.Log;
 import org.apache.maven.project.DefaultProjectBuildingRequest;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.project.ProjectBuildingRequest;
@@ -165,63 +175,197 @@ public final class MavenUtils {
           @Nonnull final MojoExecution execution,
           @Nonnull final ArtifactResolver resolver,
           @Nonnull @MustNotContainNull final List<ArtifactRepository> remoteRepositories
+  ) throws ArtifactResolverException {
+    return scanForMvnGoArtifacts(mavenProject, includeTestDependencies, mojo, session, execution, resolver, remoteRepositories, 1, null);
+  }
+
+  /**
+   * Scan project dependencies to find artifacts generated by mvn golang
+   * project. Dependencies are scanned breadth-first, all artifacts of the
+   * same depth are resolved concurrently but the result has the same order as
+   * sequential scan. If session cache is provided then resolved artifacts
+   * are saved into the cache and reused while their files have the same
+   * size and modification time, so that dependency graph is built once for
+   * all mojos and modules of the session.
+   *
+   * @param mavenProject maven project, must not be null
+   * @param includeTestDependencies flag to process dependencies marked for test
+   * phases
+   * @param mojo calling mojo, must not be null
+   * @param session maven session, must not be null
+   * @param execution maven execution, must not be null
+   * @param resolver artifact resolver, must not be null
+   * @param remoteRepositories list of remote repositories, must not be null
+   * @param threads max number of threads to resolve artifacts, artifacts are
+   * resolved in the caller thread if the value is less than 2
+   * @param sessionCache storage of session values, can be null
+   * @return list of files found in artifacts generated by mvn golang plugin
+   * @throws ArtifactResolverException exception thrown if some artifact can't
+   * be resolved
+   * @since 2.3.5
+   */
+  @Nonnull
+  @MustNotContainNull
+  public static List<Tuple<Artifact, File>> scanForMvnGoArtifacts(
+          @Nonnull final MavenProject mavenProject,
+          final boolean includeTestDependencies,
+          @Nonnull final AbstractMojo mojo,
+          @Nonnull final MavenSession session,
+          @Nonnull final MojoExecution execution,
+          @Nonnull final ArtifactResolver resolver,
+          @Nonnull @MustNotContainNull final List<ArtifactRepository> remoteRepositories,
+          final int threads,
+          @Nullable final ConcurrentMap<String, Object> sessionCache
+  ) throws ArtifactResolverException {
+    return scanForMvnGoArtifacts(mavenProject, includeTestDependencies, mojo.getLog(), threads, sessionCache, artifact -> {
+      final ArtifactResult artifactResult = resolver.resolveArtifact(makeResolveArtifactProjectBuildingRequest(session, remoteRepositories), artifact);
+      return artifactResult.getArtifact().getFile();
+    });
+  }
+
+  @Nonnull
+  @MustNotContainNull
+  static List<Tuple<Artifact, File>> scanForMvnGoArtifacts(
+          @Nonnull final MavenProject mavenProject,
+          final boolean includeTestDependencies,
+          @Nonnull final Log log,
+          final int threads,
+          @Nullable final ConcurrentMap<String, Object> sessionCache,
+          @Nonnull final GoArtifactResolver resolver
   ) throws ArtifactResolverException {
     final List<Tuple<Artifact, File>> result = new ArrayList<>();
-//    final String phase = execution.getLifecyclePhase();
 
     final Set<String> alreadyFoundArtifactRecords = new HashSet<>();
+    final Map<String, Future<ResolvedGoArtifact>> resolvedArtifacts = new HashMap<>();
 
-    MavenProject currentProject = mavenProject;
-    while (currentProject != null && !Thread.currentThread().isInterrupted()) {
-      final Set<Artifact> projectDependencies = currentProject.getDependencyArtifacts();
-      final List<Artifact> artifacts = new ArrayList<>(projectDependencies == null ? Collections.emptySet() : projectDependencies);
-      mojo.getLog().debug("Detected dependency artifacts: " + artifacts);
+    final AtomicInteger threadCounter = new AtomicInteger();
+    final ExecutorService executor = threads < 2 ? null : Executors.newFixedThreadPool(threads, r -> {
+      final Thread thread = new Thread(r, "mvn-golang-resolve-" + threadCounter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
 
-      while (!artifacts.isEmpty() && !Thread.currentThread().isInterrupted()) {
-        final Artifact artifact = artifacts.remove(0);
+    try {
+      MavenProject currentProject = mavenProject;
+      while (currentProject != null && !Thread.currentThread().isInterrupted()) {
+        final Set<Artifact> projectDependencies = currentProject.getDependencyArtifacts();
+        List<Artifact> frontier = new ArrayList<>(projectDependencies == null ? Collections.emptySet() : projectDependencies);
+        log.debug("Detected dependency artifacts: " + frontier);
 
-        if (Artifact.SCOPE_TEST.equals(artifact.getScope()) && !includeTestDependencies) {
-          continue;
-        }
-
-        if (artifact.getType().equals(AbstractGolangMojo.GOARTIFACT_PACKAGING)) {
-          final ArtifactResult artifactResult = resolver.resolveArtifact(makeResolveArtifactProjectBuildingRequest(session, remoteRepositories), artifact);
-          final File zipFillePath = artifactResult.getArtifact().getFile();
+        while (!frontier.isEmpty() && !Thread.currentThread().isInterrupted()) {
+          final List<Artifact> goArtifacts = new ArrayList<>();
+          final List<Future<ResolvedGoArtifact>> futures = new ArrayList<>();
+          for (final Artifact artifact : frontier) {
+            if (Artifact.SCOPE_TEST.equals(artifact.getScope()) && !includeTestDependencies) {
+              continue;
+            }
+            if (artifact.getType().equals(AbstractGolangMojo.GOARTIFACT_PACKAGING)) {
+              goArtifacts.add(artifact);
+              futures.add(resolvedArtifacts.computeIfAbsent(makeResolveKey(artifact), k -> {
+                final FutureTask<ResolvedGoArtifact> task = new FutureTask<>(() -> resolveGoArtifact(sessionCache, k, artifact, resolver));
+                if (executor == null) {
+                  task.run();
+                } else {
+                  executor.execute(task);
+                }
+                return task;
+              }));
+            }
+          }
 
-          mojo.getLog().debug("Detected MVN-GOLANG marker inside ZIP dependency: " + artifact.getGroupId() + ':' + artifact.getArtifactId() + ':' + artifact.getVersion() + ':' + artifact.getType());
+          final List<Artifact> nextFrontier = new ArrayList<>();
+          for (int i = 0; i < goArtifacts.size() && !Thread.currentThread().isInterrupted(); i++) {
+            final Artifact artifact = goArtifacts.get(i);
+            final ResolvedGoArtifact resolved = waitResolved(artifact, futures.get(i));
+            if (resolved == null) {
+              break;
+            }
 
-          if (ZipUtil.containsEntry(zipFillePath, GolangMvnInstallMojo.MVNGOLANG_DEPENDENCIES_FILE)) {
-            final byte[] artifactFlagFile = ZipUtil.unpackEntry(zipFillePath, GolangMvnInstallMojo.MVNGOLANG_DEPENDENCIES_FILE, StandardCharsets.UTF_8);
+            log.debug("Detected MVN-GOLANG marker inside ZIP dependency: " + artifact.getGroupId() + ':' + artifact.getArtifactId() + ':' + artifact.getVersion() + ':' + artifact.getType());
 
-            for (final String str : new String(artifactFlagFile, StandardCharsets.UTF_8).split("\\R")) {
-              if (str.trim().isEmpty() || alreadyFoundArtifactRecords.contains(str)) {
-                continue;
-              }
-              mojo.getLog().debug("Adding mvn-golang dependency: " + str);
-              alreadyFoundArtifactRecords.add(str);
-              try {
-                artifacts.add(parseArtifactRecord(str, new MvnGolangArtifactHandler()));
-              } catch (InvalidVersionSpecificationException ex) {
-                throw new ArtifactResolverException("Can't make artifact: " + str, ex);
+            if (resolved.dependencies != null) {
+              for (final String str : new String(resolved.dependencies, StandardCharsets.UTF_8).split("\\R")) {
+                if (str.trim().isEmpty() || alreadyFoundArtifactRecords.contains(str)) {
+                  continue;
+                }
+                log.debug("Adding mvn-golang dependency: " + str);
+                alreadyFoundArtifactRecords.add(str);
+                try {
+                  nextFrontier.add(parseArtifactRecord(str, new MvnGolangArtifactHandler()));
+                } catch (InvalidVersionSpecificationException ex) {
+                  throw new ArtifactResolverException("Can't make artifact: " + str, ex);
+                }
               }
             }
-          }
 
-          final File artifactFile = artifactResult.getArtifact().getFile();
-          mojo.getLog().debug("Artifact file: " + artifactFile);
-          if (doesContainFile(result, artifactFile)) {
-            mojo.getLog().debug("Artifact file ignored as duplication: " + artifactFile);
-          } else {
-            result.add(Tuple.of(artifact, artifactFile));
+            final File artifactFile = resolved.file;
+            log.debug("Artifact file: " + artifactFile);
+            if (doesContainFile(result, artifactFile)) {
+              log.debug("Artifact file ignored as duplication: " + artifactFile);
+            } else {
+              result.add(Tuple.of(artifact, artifactFile));
+            }
           }
+          frontier = nextFrontier;
         }
+        currentProject = currentProject.hasParent() ? currentProject.getParent() : null;
+      }
+    } finally {
+      if (executor != null) {
+        executor.shutdownNow();
       }
-      currentProject = currentProject.hasParent() ? currentProject.getParent() : null;
     }
 
     return result;
   }
 
+  @Nonnull
+  private static String makeResolveKey(@Nonnull final Artifact artifact) {
+    return artifact.getGroupId() + ':' + artifact.getArtifactId() + ':' + artifact.getVersion() + ':' + artifact.getVersionRange() + ':' + artifact.getType() + ':' + GetUtils.ensureNonNull(artifact.getClassifier(), "");
+  }
+
+  @Nonnull
+  private static ResolvedGoArtifact resolveGoArtifact(
+          @Nullable final ConcurrentMap<String, Object> sessionCache,
+          @Nonnull final String key,
+          @Nonnull final Artifact artifact,
+          @Nonnull final GoArtifactResolver resolver
+  ) throws ArtifactResolverException {
+    if (sessionCache == null) {
+      return ResolvedGoArtifact.of(resolver.resolve(artifact));
+    }
+    final String cacheKey = "goartifact\n" + key;
+    final Object cached = sessionCache.get(cacheKey);
+    if (cached instanceof ResolvedGoArtifact && ((ResolvedGoArtifact) cached).isActual()) {
+      return (ResolvedGoArtifact) cached;
+    }
+    final ResolvedGoArtifact result = ResolvedGoArtifact.of(resolver.resolve(artifact));
+    sessionCache.put(cacheKey, result);
+    return result;
+  }
+
+  @Nullable
+  private static ResolvedGoArtifact waitResolved(@Nonnull final Artifact artifact, @Nonnull final Future<ResolvedGoArtifact> future) throws ArtifactResolverException {
+    try {
+      return future.get();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      return null;
+    } catch (ExecutionException ex) {
+      final Throwable cause = ex.getCause();
+      if (cause instanceof ArtifactResolverException) {
+        throw (ArtifactResolverException) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new ArtifactResolverException("Can't resolve artifact: " + artifact, (Exception) cause);
+    }
+  }
+
   private static boolean doesContainFile(@Nonnull @MustNotContainNull final List<Tuple<Artifact, File>> list, @Nonnull final File file) {
     boolean result = false;
     for (final Tuple<Artifact, File> t : list) {
@@ -245,4 +389,40 @@ public final class MavenUtils {
     properties.putAll( session.getUserProperties() );
     return properties.getProperty(key, dflt);
   }
+
+  /**
+   * Resolver of artifact file, it can be called concurrently.
+   */
+  @FunctionalInterface
+  interface GoArtifactResolver {
+
+    @Nonnull
+    File resolve(@Nonnull Artifact artifact) throws ArtifactResolverException;
+  }
+
+  private static final class ResolvedGoArtifact {
+
+    private final File file;
+    private final long length;
+    private final long lastModified;
+    private final byte[] dependencies;
+
+    private ResolvedGoArtifact(@Nonnull final File file, final long length, final long lastModified, @Nullable final byte[] dependencies) {
+      this.file = file;
+      this.length = length;
+      this.lastModified = lastModified;
+      this.dependencies = dependencies;
+    }
+
+    @Nonnull
+    private static ResolvedGoArtifact of(@Nonnull final File file) {
+      final long length = file.length();
+      final long lastModified = file.lastModified();
+      return new ResolvedGoArtifact(file, length, lastModified, ZipUtil.unpackEntry(file, GolangMvnInstallMojo.MVNGOLANG_DEPENDENCIES_FILE));
+    }
+
+    private boolean isActual() {
+      return this.file.isFile() && this.file.length() == this.length && this.file.lastModified() == this.lastModified;
+    }
+  }
 }
@@ -0,0 +1,292 @@
+/*
+ * Copyright 2020 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.igormaznitsa.mvngolang.utils;
+
+import com.igormaznitsa.meta.annotation.MustNotContainNull;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.apache.http.Header;
+import org.apache.http.HttpResponse;
+import org.apache.http.message.BasicHeader;
+
+/**
+ * Checkpoint of interrupted download. Loaded data is kept in a '.part' file
+ * near the target file and the sidecar properties file keeps number of loaded
+ * bytes (or loaded segments) and validators of the remote resource (ETag and
+ * Last-Modified) to continue the download with HTTP Range request.
+ *
+ * @since 2.3.5
+ */
+public final class PartialDownload {
+
+  public static final String PART_FILE_EXTENSION = ".part";
+  public static final String STATE_FILE_EXTENSION = ".part.state";
+
+  private static final String KEY_ETAG = "etag";
+  private static final String KEY_LAST_MODIFIED = "last.modified";
+  private static final String KEY_LENGTH = "length";
+  private static final String KEY_RECEIVED = "received";
+  private static final String KEY_SEGMENTS = "segments";
+  private static final String KEY_HASH = "x-goog-hash";
+
+  private final File partFile;
+  private final File stateFile;
+
+  private String etag;
+  private String lastModified;
+  private String hash;
+  private long contentLength = -1L;
+  private long received;
+  private List<SegmentedDownloader.Segment> segments = Collections.emptyList();
+
+  private PartialDownload(@Nonnull final File targetFile) {
+    this.partFile = new File(targetFile.getParentFile(), targetFile.getName() + PART_FILE_EXTENSION);
+    this.stateFile = new File(targetFile.getParentFile(), targetFile.getName() + STATE_FILE_EXTENSION);
+  }
+
+  /**
+   * Make new empty checkpoint for target file.
+   *
+   * @param targetFile file which will be the result of download, must not be
+   * null
+   * @return new checkpoint, must not be null
+   */
+  @Nonnull
+  public static PartialDownload forFile(@Nonnull final File targetFile) {
+    return new PartialDownload(targetFile);
+  }
+
+  /**
+   * Load saved checkpoint for target file.
+   *
+   * @param targetFile file which will be the result of download, must not be
+   * null
+   * @return loaded checkpoint or null if there is no any saved valid one
+   */
+  @Nullable
+  public static PartialDownload load(@Nonnull final File targetFile) {
+    final PartialDownload result = new PartialDownload(targetFile);
+    if (!result.stateFile.isFile() || !result.partFile.isFile()) {
+      return null;
+    }
+
+    final Properties properties = new Properties();
+    try (final InputStream in = new FileInputStream(result.stateFile)) {
+      properties.load(in);
+
+      result.etag = properties.getProperty(KEY_ETAG);
+      result.lastModified = properties.getProperty(KEY_LAST_MODIFIED);
+      result.hash = properties.getProperty(KEY_HASH);
+      result.contentLength = Long.parseLong(properties.getProperty(KEY_LENGTH, "-1"));
+      result.received = Math.min(result.partFile.length(), Long.parseLong(properties.getProperty(KEY_RECEIVED, "0")));
+
+      final String segmentList = properties.getProperty(KEY_SEGMENTS, "").trim();
+      if (!segmentList.isEmpty()) {
+        final List<SegmentedDownloader.Segment> parsed = new ArrayList<>();
+        for (final String s : segmentList.split(";")) {
+          final String[] parts = s.split(",");
+          parsed.add(new SegmentedDownloader.Segment(Long.parseLong(parts[0]), Long.parseLong(parts[1]), Long.parseLong(parts[2])));
+        }
+        result.segments = parsed;
+      }
+    } catch (IOException | RuntimeException ex) {
+      return null;
+    }
+    return result.hasValidator() ? result : null;
+  }
+
+  @Nonnull
+  public File getPartFile() {
+    return this.partFile;
+  }
+
+  @Nonnull
+  public File getStateFile() {
+    return this.stateFile;
+  }
+
+  public boolean hasValidator() {
+    return this.getIfRangeValue() != null;
+  }
+
+  /**
+   * Get value for If-Range header, strong ETag is preferred. Weak ETag is not
+   * allowed in If-Range so that Last-Modified is used for it.
+   *
+   * @return value for If-Range header or null if no any validator
+   */
+  @Nullable
+  public String getIfRangeValue() {
+    return this.etag == null || this.etag.startsWith("W/") ? this.lastModified : this.etag;
+  }
+
+  /**
+   * Check that response describes the same remote resource.
+   *
+   * @param response response to be checked, must not be null
+   * @param contentLength full content length from the response
+   * @return true if validators and length are the same
+   */
+  public boolean isSameResource(@Nonnull final HttpResponse response, final long contentLength) {
+    final String respEtag = findHeaderValue(response, "ETag");
+    final String respLastModified = findHeaderValue(response, "Last-Modified");
+
+    final boolean sameValidator;
+    if (this.etag != null && respEtag != null) {
+      sameValidator = this.etag.equals(respEtag);
+    } else if (this.lastModified != null && respLastModified != null) {
+      sameValidator = this.lastModified.equals(respLastModified);
+    } else {
+      sameValidator = false;
+    }
+    return sameValidator && this.contentLength == contentLength;
+  }
+
+  /**
+   * Remember validators and hash of remote resource from response.
+   *
+   * @param response response, must not be null
+   * @param contentLength full length of the resource or -1 if unknown
+   */
+  public void rememberResource(@Nonnull final HttpResponse response, final long contentLength) {
+    this.etag = findHeaderValue(response, "ETag");
+    this.lastModified = findHeaderValue(response, "Last-Modified");
+    this.contentLength = contentLength;
+
+    final StringBuilder buffer = new StringBuilder();
+    for (final Header h : response.getHeaders("x-goog-hash")) {
+      if (buffer.length() > 0) {
+        buffer.append(',');
+      }
+      buffer.append(h.getValue());
+    }
+    this.hash = buffer.length() == 0 ? null : buffer.toString();
+  }
+
+  /**
+   * Get remembered x-goog-hash headers.
+   *
+   * @return array of headers, can be empty
+   */
+  @Nonnull
+  @MustNotContainNull
+  public Header[] getHashHeaders() {
+    return this.hash == null ? new Header[0] : new Header[] {new BasicHeader("x-goog-hash", this.hash)};
+  }
+
+  public long getContentLength() {
+    return this.contentLength;
+  }
+
+  public long getReceived() {
+    return this.received;
+  }
+
+  public void setReceived(final long value) {
+    this.received = value;
+  }
+
+  @Nonnull
+  @MustNotContainNull
+  public List<SegmentedDownloader.Segment> getSegments() {
+    return this.segments;
+  }
+
+  public void setSegments(@Nonnull @MustNotContainNull final List<SegmentedDownloader.Segment> segments) {
+    this.segments = segments;
+  }
+
+  /**
+   * Save state into sidecar file, the file is replaced atomically if it is
+   * supported by file system.
+   *
+   * @throws IOException it will be thrown if any error
+   */
+  public void save() throws IOException {
+    final Properties properties = new Properties();
+    if (this.etag != null) {
+      properties.setProperty(KEY_ETAG, this.etag);
+    }
+    if (this.lastModified != null) {
+      properties.setProperty(KEY_LAST_MODIFIED, this.lastModified);
+    }
+    if (this.hash != null) {
+      properties.setProperty(KEY_HASH, this.hash);
+    }
+    properties.setProperty(KEY_LENGTH, Long.toString(this.contentLength));
+    properties.setProperty(KEY_RECEIVED, Long.toString(this.received));
+
+    final StringBuilder buffer = new StringBuilder();
+    for (final SegmentedDownloader.Segment s : this.segments) {
+      if (buffer.length() > 0) {
+        buffer.append(';');
+      }
+      buffer.append(s.getStart()).append(',').append(s.getEnd()).append(',').append(s.getPosition());
+    }
+    properties.setProperty(KEY_SEGMENTS, buffer.toString());
+
+    final File tempFile = new File(this.stateFile.getParentFile(), this.stateFile.getName() + ".tmp");
+    try (final OutputStream out = new FileOutputStream(tempFile)) {
+      properties.store(out, "mvn-golang partial download state");
+    }
+    IOUtils.replaceFileAtomically(tempFile, this.stateFile);
+  }
+
+  /**
+   * Move loaded part file into target file and remove the state file.
+   *
+   * @param targetFile target file, must not be null
+   * @throws IOException it will be thrown if file can't be moved
+   */
+  public void complete(@Nonnull final File targetFile) throws IOException {
+    Files.move(this.partFile.toPath(), targetFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    Files.deleteIfExists(this.stateFile.toPath());
+  }
+
+  /**
+   * Remove both part file and state file.
+   *
+   * @throws IOException it will be thrown if files can't be deleted
+   */
+  public void delete() throws IOException {
+    Files.deleteIfExists(this.partFile.toPath());
+    Files.deleteIfExists(this.stateFile.toPath());
+  }
+
+  @Nullable
+  private static String findHeaderValue(@Nonnull final HttpResponse response, @Nonnull final String name) {
+    final Header header = response.getFirstHeader(name);
+    return header == null ? null : header.getValue();
+  }
+
+  @Override
+  @Nonnull
+  public String toString() {
+    return "PartialDownload(part=" + this.partFile + ",etag=" + this.etag + ",lastModified=" + this.lastModified + ",length=" + this.contentLength + ",received=" + this.received + ",segments=" + this.segments + ')';
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2020 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.igormaznitsa.mvngolang.utils;
+
+import com.igormaznitsa.meta.annotation.MustNotContainNull;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import org.apache.commons.io.FilenameUtils;
+
+/**
+ * Trie of path prefixes split by '/' to find all prefixes of a path by one
+ * walk over its segments. Every prefix has priority, if the same prefix is
+ * added several times then the max priority is kept.
+ *
+ * @since 2.3.5
+ */
+final class PathPrefixTrie {
+
+  private final Node root = new Node();
+
+  /**
+   * Add prefix.
+   *
+   * @param prefix path prefix, empty or wrong prefix is ignored, must not be
+   * null
+   * @param priority priority of the prefix, must not be negative
+   * @return true if the prefix has been added
+   */
+  boolean add(@Nonnull final String prefix, final int priority) {
+    final String normalized = FilenameUtils.normalizeNoEndSeparator(prefix.trim(), true);
+    if (normalized == null || normalized.isEmpty() || normalized.equals(".")) {
+      return false;
+    }
+    Node node = this.root;
+    for (final String segment : normalized.split("/")) {
+      if (!segment.isEmpty()) {
+        node = node.children.computeIfAbsent(segment, k -> new Node());
+      }
+    }
+    node.priority = Math.max(node.priority, priority);
+    return true;
+  }
+
+  /**
+   * Find all added prefixes of path, the shortest one is the first.
+   *
+   * @param path normalized path with '/' separators, must not be null
+   * @return list of found prefixes, must not be null
+   */
+  @Nonnull
+  @MustNotContainNull
+  List<Match> findAll(@Nonnull final String path) {
+    final List<Match> result = new ArrayList<>(1);
+    Node node = this.root;
+    int start = 0;
+    while (start < path.length()) {
+      int end = path.indexOf('/', start);
+      if (end < 0) {
+        end = path.length();
+      }
+      node = node.children.get(path.substring(start, end));
+      if (node == null) {
+        break;
+      }
+      if (node.priority >= 0) {
+        result.add(new Match(end, node.priority));
+      }
+      start = end + 1;
+    }
+    return result;
+  }
+
+  /**
+   * Found prefix of path.
+   */
+  static final class Match {
+
+    private final int length;
+    private final int priority;
+
+    Match(final int length, final int priority) {
+      this.length = length;
+      this.priority = priority;
+    }
+
+    /**
+     * Get length of prefix in the path, without trailing separator.
+     *
+     * @return length of prefix
+     */
+    int getLength() {
+      return this.length;
+    }
+
+    int getPriority() {
+      return this.priority;
+    }
+  }
+
+  private static final class Node {
+
+    private final Map<String, Node> children = new HashMap<>();
+    private int priority = -1;
+  }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2020 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.igormaznitsa.mvngolang.utils;
+
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.apache.maven.plugin.logging.Log;
+import org.zeroturnaround.exec.ProcessExecutor;
+
+/**
+ * Policy of external process execution: timeout with grace period to stop the
+ * process and number of retries with exponential backoff.
+ *
+ * @since 2.3.5
+ */
+public final class ProcessPolicy {
+
+  /**
+   * Policy without timeout and retries.
+   */
+  public static final ProcessPolicy NONE = new ProcessPolicy(0L, 0L, 0, 0L, false);
+
+  private static final long MAX_BACKOFF = 60000L;
+  private static final long MIN_CLOSE_TIMEOUT = 1000L;
+
+  private final long timeoutMillis;
+  private final long graceMillis;
+  private final int retries;
+  private final long backoffMillis;
+  private final boolean retryOnError;
+
+  /**
+   * Constructor.
+   *
+   * @param timeoutMillis max execution time in milliseconds, zero or negative
+   * disables timeout
+   * @param graceMillis time in milliseconds given to stopped process before
+   * its forcible destroy
+   * @param retries max number of retries
+   * @param backoffMillis delay in milliseconds before the first retry, it is
+   * doubled for every next retry
+   * @param retryOnError true if process completed with error exit code should
+   * be retried, timed out process is always retried
+   */
+  public ProcessPolicy(final long timeoutMillis, final long graceMillis, final int retries, final long backoffMillis, final boolean retryOnError) {
+    this.timeoutMillis = timeoutMillis;
+    this.graceMillis = Math.max(0L, graceMillis);
+    this.retries = Math.max(0, retries);
+    this.backoffMillis = Math.max(0L, backoffMillis);
+    this.retryOnError = retryOnError;
+  }
+
+  public long getTimeoutMillis() {
+    return this.timeoutMillis;
+  }
+
+  public long getGraceMillis() {
+    return this.graceMillis;
+  }
+
+  public int getRetries() {
+    return this.retries;
+  }
+
+  public boolean isRetryOnError() {
+    return this.retryOnError;
+  }
+
+  /**
+   * Make delay before retry.
+   *
+   * @param retry number of retry, starts with 1
+   * @return delay in milliseconds
+   */
+  public long makeBackoff(final int retry) {
+    if (this.backoffMillis == 0L) {
+      return 0L;
+    }
+    final long delay = this.backoffMillis << Math.min(Math.max(0, retry - 1), 16);
+    return Math.min(delay, Math.max(MAX_BACKOFF, this.backoffMillis));
+  }
+
+  /**
+   * Register watchdog for executor if timeout is defined.
+   *
+   * @param executor executor to be watched, must not be null
+   * @param log log to print messages of watchdog, must not be null
+   * @return registered watchdog or null if timeout is not defined
+   */
+  @Nullable
+  public ProcessWatchdog registerWatchdog(@Nonnull final ProcessExecutor executor, @Nonnull final Log log) {
+    if (this.timeoutMillis <= 0L) {
+      return null;
+    }
+    final ProcessWatchdog result = new ProcessWatchdog(log, this.timeoutMillis, this.graceMillis);
+    executor.addListener(result);
+    executor.closeTimeout(Math.max(MIN_CLOSE_TIMEOUT, this.graceMillis), TimeUnit.MILLISECONDS);
+    return result;
+  }
+
+  @Override
+  @Nonnull
+  public String toString() {
+    return "ProcessPolicy(timeout=" + this.timeoutMillis + ",grace=" + this.graceMillis + ",retries=" + this.retries + ",backoff=" + this.backoffMillis + ",retryOnError=" + this.retryOnError + ')';
+  }
+}
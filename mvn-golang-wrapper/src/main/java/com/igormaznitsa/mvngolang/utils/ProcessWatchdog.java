@@ -0,0 +1,101 @@
+/*
+ * Copyright 2020 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.igormaznitsa.mvngolang.utils;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+import org.apache.maven.plugin.logging.Log;
+import org.zeroturnaround.exec.ProcessExecutor;
+import org.zeroturnaround.exec.listener.ProcessListener;
+
+/**
+ * Watchdog of started process. If the process is not completed in defined
+ * time then its process tree is printed into log, the process and its
+ * descendants are asked to stop and after grace period they are destroyed
+ * forcibly. All watchdogs share single daemon scheduler thread.
+ *
+ * @since 2.3.5
+ */
+public final class ProcessWatchdog extends ProcessListener {
+
+  private static ScheduledExecutorService scheduler;
+
+  private final Log log;
+  private final long timeoutMillis;
+  private final long graceMillis;
+  private volatile ScheduledFuture<?> task;
+  private volatile boolean killed;
+
+  public ProcessWatchdog(@Nonnull final Log log, final long timeoutMillis, final long graceMillis) {
+    this.log = log;
+    this.timeoutMillis = timeoutMillis;
+    this.graceMillis = graceMillis;
+  }
+
+  @Nonnull
+  private static synchronized ScheduledExecutorService getScheduler() {
+    if (scheduler == null) {
+      final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, r -> {
+        final Thread thread = new Thread(r, "mvn-golang-process-watchdog");
+        thread.setDaemon(true);
+        return thread;
+      });
+      executor.setRemoveOnCancelPolicy(true);
+      scheduler = executor;
+    }
+    return scheduler;
+  }
+
+  @Override
+  public void afterStart(@Nonnull final Process process, @Nonnull final ProcessExecutor executor) {
+    this.task = getScheduler().schedule(() -> this.stop(process), this.timeoutMillis, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void afterStop(@Nonnull final Process process) {
+    final ScheduledFuture<?> scheduled = this.task;
+    if (scheduled != null) {
+      scheduled.cancel(false);
+    }
+  }
+
+  private void stop(@Nonnull final Process process) {
+    this.killed = true;
+    this.log.error(String.format("Process has not completed in %d ms and it is stopped, process tree:", this.timeoutMillis));
+    for (final String s : SysUtils.describeProcessTree(process)) {
+      this.log.error("  " + s);
+    }
+    SysUtils.destroyProcessTree(process, false);
+    this.task = getScheduler().schedule(() -> {
+      if (process.isAlive()) {
+        this.log.warn(String.format("Process has not stopped in %d ms, it is destroyed forcibly", this.graceMillis));
+        SysUtils.destroyProcessTree(process, true);
+      }
+    }, this.graceMillis, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Check that the process has been stopped by the watchdog.
+   *
+   * @return true if the process has been stopped because of timeout
+   */
+  public boolean isKilled() {
+    return this.killed;
+  }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2020 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.igormaznitsa.mvngolang.utils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.zip.Checksum;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.apache.http.Header;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+
+/**
+ * Disk cache of loaded SDK list. The list is kept in the SDK store folder
+ * together with time of its last check and HTTP validators (ETag and
+ * Last-Modified) so that it can be revalidated by conditional request.
+ *
+ * @since 2.3.5
+ */
+public final class SdkListCache {
+
+  private static final String KEY_URL = "url";
+  private static final String KEY_ETAG = "etag";
+  private static final String KEY_LAST_MODIFIED = "last.modified";
+  private static final String KEY_CHECKED = "checked";
+
+  private final String url;
+  private final File contentFile;
+  private final File stateFile;
+
+  private String content;
+  private String etag;
+  private String lastModified;
+  private long checkedTime;
+
+  private SdkListCache(@Nonnull final File folder, @Nonnull final String url) {
+    final byte[] urlBytes = url.getBytes(StandardCharsets.UTF_8);
+    final Checksum checksum = ChecksumEngine.newCrc32c();
+    checksum.update(urlBytes, 0, urlBytes.length);
+    final String name = ".sdklist." + ChecksumEngine.toHex(checksum.getValue()) + '-' + Integer.toHexString(url.length());
+
+    this.url = url;
+    this.contentFile = new File(folder, name + ".xml");
+    this.stateFile = new File(folder, name + ".state");
+  }
+
+  /**
+   * Make cache record for SDK list URL and load saved content if presented.
+   *
+   * @param folder folder to keep cache files, must not be null
+   * @param url URL of SDK list, must not be null
+   * @return cache record, must not be null
+   */
+  @Nonnull
+  public static SdkListCache forUrl(@Nonnull final File folder, @Nonnull final String url) {
+    final SdkListCache result = new SdkListCache(folder, url);
+    result.load();
+    return result;
+  }
+
+  private void load() {
+    if (!this.contentFile.isFile() || !this.stateFile.isFile()) {
+      return;
+    }
+    final Properties properties = new Properties();
+    try (final InputStream in = new FileInputStream(this.stateFile)) {
+      properties.load(in);
+      if (this.url.equals(properties.getProperty(KEY_URL))) {
+        this.etag = properties.getProperty(KEY_ETAG);
+        this.lastModified = properties.getProperty(KEY_LAST_MODIFIED);
+        this.checkedTime = Long.parseLong(properties.getProperty(KEY_CHECKED, "0"));
+        this.content = new String(Files.readAllBytes(this.contentFile.toPath()), StandardCharsets.UTF_8);
+      }
+    } catch (IOException | RuntimeException ex) {
+      this.content = null;
+    }
+  }
+
+  /**
+   * Get cached list.
+   *
+   * @return cached list or null if there is no cached one
+   */
+  @Nullable
+  public String getContent() {
+    return this.content;
+  }
+
+  public long getCheckedTime() {
+    return this.checkedTime;
+  }
+
+  /**
+   * Check that cached list can be used without check on server.
+   *
+   * @param ttlMillis time to live of cached list in milliseconds
+   * @param now current time in milliseconds
+   * @return true if there is cached list and it has been checked not earlier
+   * than the time to live
+   */
+  public boolean isFresh(final long ttlMillis, final long now) {
+    return this.content != null && ttlMillis > 0L && now - this.checkedTime < ttlMillis && now >= this.checkedTime;
+  }
+
+  /**
+   * Add validators of cached list to request to make it conditional.
+   *
+   * @param request request to be changed, must not be null
+   */
+  public void addValidators(@Nonnull final HttpRequest request) {
+    if (this.content != null) {
+      if (this.etag != null) {
+        request.addHeader("If-None-Match", this.etag);
+      }
+      if (this.lastModified != null) {
+        request.addHeader("If-Modified-Since", this.lastModified);
+      }
+    }
+  }
+
+  /**
+   * Mark cached list as checked on server (the server answered Not Modified).
+   *
+   * @param now current time in milliseconds
+   * @throws IOException if state can't be saved
+   */
+  public void markChecked(final long now) throws IOException {
+    this.checkedTime = now;
+    this.saveState();
+  }
+
+  /**
+   * Save new list loaded from server.
+   *
+   * @param response response of server, must not be null
+   * @param newContent loaded list, must not be null
+   * @param now current time in milliseconds
+   * @throws IOException if the list can't be saved
+   */
+  public void update(@Nonnull final HttpResponse response, @Nonnull final String newContent, final long now) throws IOException {
+    final Header etagHeader = response.getFirstHeader("ETag");
+    final Header lastModifiedHeader = response.getFirstHeader("Last-Modified");
+    this.etag = etagHeader == null ? null : etagHeader.getValue();
+    this.lastModified = lastModifiedHeader == null ? null : lastModifiedHeader.getValue();
+    this.content = newContent;
+    this.checkedTime = now;
+
+    final File parent = this.contentFile.getParentFile();
+    if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+      throw new IOException("Can't create folder : " + parent);
+    }
+
+    final File tempFile = new File(this.contentFile.getParentFile(), this.contentFile.getName() + '.' + UUID.randomUUID() + ".tmp");
+    try {
+      Files.write(tempFile.toPath(), newContent.getBytes(StandardCharsets.UTF_8));
+      IOUtils.replaceFileAtomically(tempFile, this.contentFile);
+    } finally {
+      Files.deleteIfExists(tempFile.toPath());
+    }
+    this.saveState();
+  }
+
+  private void saveState() throws IOException {
+    final Properties properties = new Properties();
+    properties.setProperty(KEY_URL, this.url);
+    if (this.etag != null) {
+      properties.setProperty(KEY_ETAG, this.etag);
+    }
+    if (this.lastModified != null) {
+      properties.setProperty(KEY_LAST_MODIFIED, this.lastModified);
+    }
+    properties.setProperty(KEY_CHECKED, Long.toString(this.checkedTime));
+
+    final File tempFile = new File(this.stateFile.getParentFile(), this.stateFile.getName() + '.' + UUID.randomUUID() + ".tmp");
+    try {
+      try (final OutputStream out = new FileOutputStream(tempFile)) {
+        properties.store(out, "mvn-golang SDK list cache");
+      }
+      IOUtils.replaceFileAtomically(tempFile, this.stateFile);
+    } finally {
+      Files.deleteIfExists(tempFile.toPath());
+    }
+  }
+
+  @Override
+  @Nonnull
+  public String toString() {
+    return "SdkListCache(url=" + this.url + ",file=" + this.contentFile + ",etag=" + this.etag + ",lastModified=" + this.lastModified + ",checked=" + this.checkedTime + ')';
+  }
+}
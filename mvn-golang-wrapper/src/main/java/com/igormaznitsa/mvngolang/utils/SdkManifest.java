@@ -0,0 +1,268 @@
+/*
+ * Copyright 2020 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.igormaznitsa.mvngolang.utils;
+
+import com.igormaznitsa.meta.annotation.MustNotContainNull;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.Checksum;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Manifest of unpacked SDK folder, it contains list of files with their sizes
+ * and CRC32C. The manifest is saved near the SDK folder and allows to check
+ * quickly that the cached SDK is not damaged. Hash of whole manifest is used
+ * as identifier of SDK content.
+ *
+ * @since 2.3.5
+ */
+public final class SdkManifest {
+
+  public static final String MANIFEST_EXTENSION = ".manifest";
+
+  private static final String HEADER = "# mvn-golang SDK manifest v1";
+  private static final String CONTENT_PREFIX = "content=";
+
+  private final List<Entry> entries;
+  private final String contentHash;
+
+  /**
+   * Record about one file in SDK folder.
+   */
+  public static final class Entry {
+
+    private final String path;
+    private final long size;
+    private final String crc32c;
+
+    public Entry(@Nonnull final String path, final long size, @Nonnull final String crc32c) {
+      this.path = path;
+      this.size = size;
+      this.crc32c = crc32c;
+    }
+
+    /**
+     * Get path of file relative to SDK folder, '/' is used as separator.
+     *
+     * @return path, must not be null
+     */
+    @Nonnull
+    public String getPath() {
+      return this.path;
+    }
+
+    public long getSize() {
+      return this.size;
+    }
+
+    @Nonnull
+    public String getCrc32c() {
+      return this.crc32c;
+    }
+
+    @Override
+    @Nonnull
+    public String toString() {
+      return this.size + "\t" + this.crc32c + '\t' + this.path;
+    }
+  }
+
+  private SdkManifest(@Nonnull @MustNotContainNull final List<Entry> entries) {
+    this.entries = Collections.unmodifiableList(entries);
+    this.contentHash = calculateContentHash(entries);
+  }
+
+  @Nonnull
+  private static String calculateContentHash(@Nonnull @MustNotContainNull final List<Entry> entries) {
+    final Checksum checksum = ChecksumEngine.newCrc32c();
+    for (final Entry e : entries) {
+      final byte[] line = (e.toString() + '\n').getBytes(StandardCharsets.UTF_8);
+      checksum.update(line, 0, line.length);
+    }
+    return ChecksumEngine.toHex(checksum.getValue()) + '-' + Integer.toHexString(entries.size());
+  }
+
+  /**
+   * Get manifest file for SDK folder, it is placed in the same parent folder.
+   *
+   * @param sdkFolder SDK folder, must not be null
+   * @return manifest file, must not be null
+   */
+  @Nonnull
+  public static File findManifestFile(@Nonnull final File sdkFolder) {
+    return new File(sdkFolder.getParentFile(), '.' + sdkFolder.getName() + MANIFEST_EXTENSION);
+  }
+
+  /**
+   * Make manifest for folder, files are processed in parallel.
+   *
+   * @param folder folder to be processed, must not be null
+   * @return made manifest, must not be null
+   * @throws IOException if any error during folder processing
+   */
+  @Nonnull
+  public static SdkManifest create(@Nonnull final File folder) throws IOException {
+    final Path root = folder.toPath();
+    final List<Path> files;
+    try (final Stream<Path> stream = Files.walk(root)) {
+      files = stream.filter(Files::isRegularFile).collect(Collectors.toList());
+    }
+
+    final List<Entry> entries;
+    try {
+      entries = files.parallelStream().map(p -> {
+        try {
+          final String path = root.relativize(p).toString().replace(File.separatorChar, '/');
+          return new Entry(path, Files.size(p), ChecksumEngine.crc32cHex(p.toFile()));
+        } catch (IOException ex) {
+          throw new UncheckedIOException(ex);
+        }
+      }).sorted(Comparator.comparing(Entry::getPath)).collect(Collectors.toList());
+    } catch (UncheckedIOException ex) {
+      throw ex.getCause();
+    }
+    return new SdkManifest(entries);
+  }
+
+  /**
+   * Load manifest from file.
+   *
+   * @param manifestFile manifest file, must not be null
+   * @return loaded manifest or null if file is not found or it is damaged
+   */
+  @Nullable
+  public static SdkManifest load(@Nonnull final File manifestFile) {
+    if (!manifestFile.isFile()) {
+      return null;
+    }
+    try (final BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(manifestFile), StandardCharsets.UTF_8))) {
+      if (!HEADER.equals(reader.readLine())) {
+        return null;
+      }
+      final String content = reader.readLine();
+      if (content == null || !content.startsWith(CONTENT_PREFIX)) {
+        return null;
+      }
+      final List<Entry> entries = new ArrayList<>();
+      while (true) {
+        final String line = reader.readLine();
+        if (line == null) {
+          break;
+        }
+        final String[] fields = line.split("\t", 3);
+        entries.add(new Entry(fields[2], Long.parseLong(fields[0]), fields[1]));
+      }
+      final SdkManifest result = new SdkManifest(entries);
+      return result.contentHash.equals(content.substring(CONTENT_PREFIX.length())) ? result : null;
+    } catch (IOException | RuntimeException ex) {
+      return null;
+    }
+  }
+
+  /**
+   * Save manifest into file, the file is replaced atomically if it is
+   * supported by file system.
+   *
+   * @param manifestFile target file, must not be null
+   * @throws IOException if the file can't be written
+   */
+  public void save(@Nonnull final File manifestFile) throws IOException {
+    final File tempFile = new File(manifestFile.getParentFile(), manifestFile.getName() + '.' + UUID.randomUUID() + ".tmp");
+    try {
+      try (final Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(tempFile), StandardCharsets.UTF_8))) {
+        writer.write(HEADER);
+        writer.write('\n');
+        writer.write(CONTENT_PREFIX + this.contentHash);
+        writer.write('\n');
+        for (final Entry e : this.entries) {
+          writer.write(e.toString());
+          writer.write('\n');
+        }
+      }
+      IOUtils.replaceFileAtomically(tempFile, manifestFile);
+    } finally {
+      Files.deleteIfExists(tempFile.toPath());
+    }
+  }
+
+  /**
+   * Quick check of folder, only presence and size of files are checked. Files
+   * are checked in parallel, files which are not listed in the manifest are
+   * ignored.
+   *
+   * @param folder folder to be checked, must not be null
+   * @return description of the first found difference or null if all files
+   * are presented and have the same size
+   */
+  @Nullable
+  public String findMismatch(@Nonnull final File folder) {
+    final Path root = folder.toPath();
+    return this.entries.parallelStream().map(e -> {
+      final Path path = root.resolve(e.getPath());
+      try {
+        final BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        if (!attributes.isRegularFile()) {
+          return "Not regular file : " + e.getPath();
+        }
+        if (attributes.size() != e.getSize()) {
+          return String.format("Wrong size of %s : %d (expected %d)", e.getPath(), attributes.size(), e.getSize());
+        }
+        return null;
+      } catch (NoSuchFileException ex) {
+        return "File not found : " + e.getPath();
+      } catch (IOException ex) {
+        return "Can't read attributes of " + e.getPath() + " : " + ex.getMessage();
+      }
+    }).filter(x -> x != null).findAny().orElse(null);
+  }
+
+  @Nonnull
+  @MustNotContainNull
+  public List<Entry> getEntries() {
+    return this.entries;
+  }
+
+  /**
+   * Get hash of manifest content, it identifies SDK content.
+   *
+   * @return hash string, must not be null
+   */
+  @Nonnull
+  public String getContentHash() {
+    return this.contentHash;
+  }
+}
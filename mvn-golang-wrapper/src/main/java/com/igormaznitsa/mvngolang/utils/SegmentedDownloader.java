@@ -0,0 +1,416 @@
+/*
+ * Copyright 2020 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.igormaznitsa.mvngolang.utils;
+
+import com.igormaznitsa.meta.annotation.MustNotContainNull;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Auxiliary class to download a file through several concurrent HTTP Range
+ * requests, every segment is written directly into its position in
+ * preallocated file. Every response must have Content-Range of requested
+ * bytes, requests can be made conditional through If-Range header so that
+ * parts of changed resource are never mixed.
+ *
+ * @since 2.3.5
+ */
+public final class SegmentedDownloader {
+
+  /**
+   * Minimal size of a segment, files smaller than the value are loaded through
+   * single request.
+   */
+  public static final long MIN_SEGMENT_SIZE = 4L * 1024L * 1024L;
+
+  private static final int BUFFER_SIZE = 256 * 1024;
+  private static final long PROGRESS_PERIOD_MS = 250L;
+  private static final Pattern CONTENT_RANGE = Pattern.compile("^\\s*bytes\\s+(\\d+)-(\\d+)/(\\d+|\\*)\\s*$", Pattern.CASE_INSENSITIVE);
+
+  private SegmentedDownloader() {
+  }
+
+  /**
+   * Byte range of loaded content, both bounds are inclusive. Position shows
+   * the next byte to be loaded so that partially loaded segment can be
+   * continued.
+   */
+  public static final class Segment {
+
+    private final long start;
+    private final long end;
+    private volatile long position;
+
+    public Segment(final long start, final long end) {
+      this(start, end, start);
+    }
+
+    public Segment(final long start, final long end, final long position) {
+      if (start > end || position < start || position > end + 1L) {
+        throw new IllegalArgumentException(String.format("Wrong segment bounds %d-%d (position %d)", start, end, position));
+      }
+      this.start = start;
+      this.end = end;
+      this.position = position;
+    }
+
+    public long getStart() {
+      return this.start;
+    }
+
+    public long getEnd() {
+      return this.end;
+    }
+
+    public long getLength() {
+      return this.end - this.start + 1L;
+    }
+
+    public long getPosition() {
+      return this.position;
+    }
+
+    public long getLoaded() {
+      return this.position - this.start;
+    }
+
+    public boolean isCompleted() {
+      return this.position > this.end;
+    }
+
+    @Override
+    @Nonnull
+    public String toString() {
+      return "Segment(" + this.start + '-' + this.end + ',' + this.position + ')';
+    }
+  }
+
+  /**
+   * Check that HTTP response headers show support of byte ranges.
+   *
+   * @param response response to be checked, must not be null
+   * @return true if server supports byte ranges, false otherwise
+   */
+  public static boolean isRangeSupported(@Nonnull final HttpResponse response) {
+    boolean result = false;
+    for (final Header h : response.getHeaders("Accept-Ranges")) {
+      if (h.getValue() != null && h.getValue().toLowerCase(Locale.ENGLISH).contains("bytes")) {
+        result = true;
+        break;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Check that Content-Range header value describes expected bytes.
+   *
+   * @param value value of Content-Range header, can be null
+   * @param start expected first byte position
+   * @param end expected last byte position
+   * @param contentLength expected full length of the content
+   * @return true if the value contains the same range and full length (or
+   * unknown full length)
+   */
+  public static boolean isContentRange(@Nullable final String value, final long start, final long end, final long contentLength) {
+    if (value == null) {
+      return false;
+    }
+    final Matcher matcher = CONTENT_RANGE.matcher(value);
+    if (!matcher.matches()) {
+      return false;
+    }
+    try {
+      return Long.parseLong(matcher.group(1)) == start
+          && Long.parseLong(matcher.group(2)) == end
+          && ("*".equals(matcher.group(3)) || Long.parseLong(matcher.group(3)) == contentLength);
+    } catch (NumberFormatException ex) {
+      return false;
+    }
+  }
+
+  /**
+   * Calculate number of segments to be used for file.
+   *
+   * @param contentLength length of the file in bytes
+   * @param maxThreads max allowed number of threads
+   * @return number of segments, one if the file should not be split
+   */
+  public static int calculateSegmentNumber(final long contentLength, final int maxThreads) {
+    if (contentLength <= 0L || maxThreads <= 1) {
+      return 1;
+    }
+    final long bySize = (contentLength + MIN_SEGMENT_SIZE - 1L) / MIN_SEGMENT_SIZE;
+    return (int) Math.max(1L, Math.min(maxThreads, bySize));
+  }
+
+  /**
+   * Split content into segments.
+   *
+   * @param contentLength length of whole content, must be positive
+   * @param segments number of segments, must be positive
+   * @return list of segments covering whole content, must not be null
+   */
+  @Nonnull
+  @MustNotContainNull
+  public static List<Segment> splitIntoSegments(final long contentLength, final int segments) {
+    final List<Segment> result = new ArrayList<>(segments);
+    final long segmentSize = contentLength / segments;
+    long start = 0L;
+    for (int i = 0; i < segments; i++) {
+      final long end = i == segments - 1 ? contentLength - 1L : start + segmentSize - 1L;
+      result.add(new Segment(start, end));
+      start = end + 1L;
+    }
+    return result;
+  }
+
+  /**
+   * Download file through concurrent range requests.
+   *
+   * @param log logger, must not be null
+   * @param client HTTP client to be used for requests, must allow concurrent
+   * connections
+   * @param config request config to be used for requests, can be null
+   * @param url URL of the file
+   * @param ifRange validator of the file (strong ETag or Last-Modified) to be
+   * sent in If-Range header, can be null
+   * @param targetFile target file, it will be overwritten
+   * @param contentLength full length of the content, must be positive
+   * @param threads number of threads to be used for loading
+   * @param progressListener optional listener to get number of loaded bytes,
+   * it is called periodically from the calling thread
+   * @throws IOException it will be thrown for any transport or file error
+   */
+  public static void download(
+      @Nonnull final Log log,
+      @Nonnull final HttpClient client,
+      @Nullable final RequestConfig config,
+      @Nonnull final String url,
+      @Nullable final String ifRange,
+      @Nonnull final File targetFile,
+      final long contentLength,
+      final int threads,
+      @Nullable final LongConsumer progressListener
+  ) throws IOException {
+    if (contentLength <= 0L) {
+      throw new IllegalArgumentException("Content length must be positive: " + contentLength);
+    }
+    download(log, client, config, url, ifRange, targetFile, contentLength, splitIntoSegments(contentLength, calculateSegmentNumber(contentLength, threads)), progressListener);
+  }
+
+  /**
+   * Download file through concurrent range requests for provided segments.
+   * Already loaded part of every segment is not requested again so that the
+   * method can continue interrupted download, segment positions are updated
+   * during loading.
+   *
+   * @param log logger, must not be null
+   * @param client HTTP client to be used for requests, must allow concurrent
+   * connections
+   * @param config request config to be used for requests, can be null
+   * @param url URL of the file
+   * @param ifRange validator of the file (strong ETag or Last-Modified) to be
+   * sent in If-Range header, can be null
+   * @param targetFile target file, content of loaded segment parts is kept
+   * @param contentLength full length of the content, must be positive
+   * @param segments segments covering the whole content, must not be null
+   * @param progressListener optional listener to get number of loaded bytes,
+   * it is called periodically from the calling thread
+   * @throws IOException it will be thrown for any transport or file error
+   */
+  public static void download(
+      @Nonnull final Log log,
+      @Nonnull final HttpClient client,
+      @Nullable final RequestConfig config,
+      @Nonnull final String url,
+      @Nullable final String ifRange,
+      @Nonnull final File targetFile,
+      final long contentLength,
+      @Nonnull @MustNotContainNull final List<Segment> segments,
+      @Nullable final LongConsumer progressListener
+  ) throws IOException {
+    final List<Segment> toLoad = new ArrayList<>();
+    final AtomicLong progress = new AtomicLong();
+    for (final Segment s : segments) {
+      progress.addAndGet(s.getLoaded());
+      if (!s.isCompleted()) {
+        toLoad.add(s);
+      }
+    }
+
+    log.debug(String.format("Loading %s through %d segment(s) into %s, already loaded %d byte(s)", url, toLoad.size(), targetFile, progress.get()));
+
+    final AtomicInteger threadCounter = new AtomicInteger();
+    final ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, toLoad.size()), r -> {
+      final Thread thread = new Thread(r, "mvn-golang-download-" + threadCounter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+
+    final List<HttpGet> requests = new ArrayList<>();
+    try (final RandomAccessFile file = new RandomAccessFile(targetFile, "rw")) {
+      if (file.length() != contentLength) {
+        file.setLength(contentLength);
+      }
+      final FileChannel channel = file.getChannel();
+
+      final CompletionService<Long> completionService = new ExecutorCompletionService<>(executor);
+      for (final Segment segment : toLoad) {
+        final HttpGet get = new HttpGet(url);
+        if (config != null) {
+          get.setConfig(config);
+        }
+        get.addHeader("Range", "bytes=" + segment.getPosition() + '-' + segment.getEnd());
+        if (ifRange != null) {
+          get.addHeader("If-Range", ifRange);
+        }
+        requests.add(get);
+        completionService.submit(() -> loadSegment(client, get, channel, segment, contentLength, progress));
+      }
+
+      executor.shutdown();
+      int completed = 0;
+      while (completed < toLoad.size()) {
+        try {
+          final Future<Long> done = completionService.poll(PROGRESS_PERIOD_MS, TimeUnit.MILLISECONDS);
+          if (done == null) {
+            if (progressListener != null) {
+              progressListener.accept(progress.get());
+            }
+          } else {
+            done.get();
+            completed++;
+          }
+        } catch (InterruptedException ex) {
+          Thread.currentThread().interrupt();
+          throw new InterruptedIOException("Segmented download interrupted");
+        } catch (ExecutionException ex) {
+          final Throwable cause = ex.getCause();
+          if (cause instanceof IOException) {
+            throw (IOException) cause;
+          }
+          throw new IOException("Error during segment load: " + url, cause);
+        }
+      }
+
+      if (progressListener != null) {
+        progressListener.accept(progress.get());
+      }
+
+      if (progress.get() != contentLength) {
+        throw new IOException(String.format("Wrong number of loaded bytes %d, expected %d", progress.get(), contentLength));
+      }
+      channel.force(false);
+    } finally {
+      executor.shutdownNow();
+      for (final HttpGet g : requests) {
+        g.abort();
+      }
+      try {
+        executor.awaitTermination(5L, TimeUnit.SECONDS);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private static long loadSegment(
+      @Nonnull final HttpClient client,
+      @Nonnull final HttpGet request,
+      @Nonnull final FileChannel channel,
+      @Nonnull final Segment segment,
+      final long contentLength,
+      @Nonnull final AtomicLong progress
+  ) throws IOException {
+    final long end = segment.getEnd();
+    final long startPosition = segment.getPosition();
+
+    try {
+      final HttpResponse response = client.execute(request);
+      final int status = response.getStatusLine().getStatusCode();
+      if (status == HttpStatus.SC_OK && request.containsHeader("If-Range")) {
+        throw new IOException(String.format("Remote resource has been changed during download, range %d-%d", startPosition, end));
+      }
+      if (status != HttpStatus.SC_PARTIAL_CONTENT) {
+        throw new IOException(String.format("Expected partial content for range %d-%d but got %d %s", startPosition, end, status, response.getStatusLine().getReasonPhrase()));
+      }
+      final Header contentRange = response.getFirstHeader("Content-Range");
+      if (!isContentRange(contentRange == null ? null : contentRange.getValue(), startPosition, end, contentLength)) {
+        throw new IOException(String.format("Unexpected content range for range %d-%d/%d : %s", startPosition, end, contentLength, contentRange == null ? null : contentRange.getValue()));
+      }
+
+      final HttpEntity entity = response.getEntity();
+      try (final InputStream in = entity.getContent()) {
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        long position = startPosition;
+        while (position <= end) {
+          if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedIOException("Segment load interrupted");
+          }
+          final int read = in.read(buffer, 0, (int) Math.min(buffer.length, end - position + 1L));
+          if (read < 0) {
+            break;
+          }
+          final ByteBuffer wrapped = ByteBuffer.wrap(buffer, 0, read);
+          while (wrapped.hasRemaining()) {
+            position += channel.write(wrapped, position);
+          }
+          segment.position = position;
+          progress.addAndGet(read);
+        }
+      }
+    } catch (IOException | RuntimeException ex) {
+      request.abort();
+      throw ex;
+    }
+
+    if (!segment.isCompleted()) {
+      throw new IOException(String.format("Segment %d-%d is incomplete, loaded %d byte(s) from %d", segment.getStart(), end, segment.getLoaded(), segment.getLength()));
+    }
+    return segment.getPosition() - startPosition;
+  }
+}
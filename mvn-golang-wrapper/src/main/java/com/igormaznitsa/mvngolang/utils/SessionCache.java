@@ -0,0 +1,63 @@
+/*
+ * Copyright 2020 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.igormaznitsa.mvngolang.utils;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.annotation.Nonnull;
+
+/**
+ * Storage of values computed once per Maven session and shared between mojo
+ * executions (and threads of parallel build). Storage is bound to a session
+ * object by weak reference so that it is collected together with the session
+ * if the JVM executes several sessions.
+ *
+ * @since 2.3.5
+ */
+public final class SessionCache {
+
+  private static final Map<Object, ConcurrentMap<String, Object>> CACHES = new WeakHashMap<>();
+
+  private SessionCache() {
+  }
+
+  /**
+   * Get storage for session.
+   *
+   * @param session object identifying session (compared by identity), must
+   * not be null
+   * @return storage of the session, must not be null
+   */
+  @Nonnull
+  public static ConcurrentMap<String, Object> forSession(@Nonnull final Object session) {
+    synchronized (CACHES) {
+      return CACHES.computeIfAbsent(session, k -> new ConcurrentHashMap<>());
+    }
+  }
+
+  /**
+   * Remove all values stored for session.
+   *
+   * @param session object identifying session, must not be null
+   */
+  public static void clear(@Nonnull final Object session) {
+    synchronized (CACHES) {
+      CACHES.remove(session);
+    }
+  }
+}
@@ -15,7 +15,14 @@
  */
 package com.igormaznitsa.mvngolang.utils;
 
+import com.igormaznitsa.meta.annotation.MustNotContainNull;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Locale;
+import java.util.Optional;
+import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import org.apache.commons.lang3.SystemUtils;
@@ -29,6 +36,82 @@ public final class SysUtils {
   private SysUtils() {
   }
 
+  /**
+   * Destroy process forcibly together with its descendants (for instance test
+   * binary started by go tool). Descendants are destroyed only if the JVM
+   * provides ProcessHandle API (Java 9+), under Java 8 only the process is
+   * destroyed.
+   *
+   * @param process process to be destroyed, must not be null
+   * @since 2.3.5
+   */
+  public static void destroyProcessTree(@Nonnull final Process process) {
+    destroyProcessTree(process, true);
+  }
+
+  /**
+   * Destroy process together with its descendants. Descendants are destroyed
+   * only if the JVM provides ProcessHandle API (Java 9+).
+   *
+   * @param process process to be destroyed, must not be null
+   * @param forcibly true if processes must be destroyed forcibly, false if
+   * they are asked to stop (SIGTERM)
+   * @since 2.3.5
+   */
+  public static void destroyProcessTree(@Nonnull final Process process, final boolean forcibly) {
+    try {
+      final Method destroy = Class.forName("java.lang.ProcessHandle").getMethod(forcibly ? "destroyForcibly" : "destroy");
+      final Stream<?> descendants = (Stream<?>) Process.class.getMethod("descendants").invoke(process);
+      descendants.forEach(handle -> {
+        try {
+          destroy.invoke(handle);
+        } catch (ReflectiveOperationException ex) {
+          // ignore, the process can be already completed
+        }
+      });
+    } catch (ReflectiveOperationException ex) {
+      // descendants are not accessible
+    }
+    if (forcibly) {
+      process.destroyForcibly();
+    } else {
+      process.destroy();
+    }
+  }
+
+  /**
+   * Describe process and its descendants (pid and command line) if the JVM
+   * provides ProcessHandle API (Java 9+).
+   *
+   * @param process process to be described, must not be null
+   * @return lines of description, must not be null
+   * @since 2.3.5
+   */
+  @Nonnull
+  @MustNotContainNull
+  public static List<String> describeProcessTree(@Nonnull final Process process) {
+    final List<String> result = new ArrayList<>();
+    try {
+      final Class<?> handleClass = Class.forName("java.lang.ProcessHandle");
+      final Method pid = handleClass.getMethod("pid");
+      final Method info = handleClass.getMethod("info");
+      final Method commandLine = Class.forName("java.lang.ProcessHandle$Info").getMethod("commandLine");
+
+      final List<Object> handles = new ArrayList<>();
+      handles.add(Process.class.getMethod("toHandle").invoke(process));
+      handles.addAll(Arrays.asList(((Stream<?>) Process.class.getMethod("descendants").invoke(process)).toArray()));
+
+      for (final Object h : handles) {
+        final Optional<?> command = (Optional<?>) commandLine.invoke(info.invoke(h));
+        result.add((result.isEmpty() ? "" : "  ") + "pid " + pid.invoke(h) + " : " + (command.isPresent() ? command.get() : "<unknown>"));
+      }
+    } catch (ReflectiveOperationException ex) {
+      result.clear();
+      result.add(process + " (process tree is not available)");
+    }
+    return result;
+  }
+
   @Nullable
   public static String findGoSdkOsType() {
     final String result;
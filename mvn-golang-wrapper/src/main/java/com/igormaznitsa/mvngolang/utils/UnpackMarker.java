@@ -0,0 +1,174 @@
+/*
+ * Copyright 2020 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.igormaznitsa.mvngolang.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Properties;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.apache.commons.codec.digest.DigestUtils;
+
+/**
+ * Marker of archive unpacked into folder. It keeps size, modification time
+ * and SHA-1 of the source archive, so that changed archive (for instance
+ * re-released snapshot) can be detected. Content hash is computed only if
+ * size or modification time of the archive is changed. The marker is saved
+ * next to the folder, so that it doesn't change content of linked folders.
+ *
+ * @since 2.3.5
+ */
+public final class UnpackMarker {
+
+  private static final String MARKER_SUFFIX = ".unpacked";
+
+  private static final String KEY_FILE = "file";
+  private static final String KEY_LENGTH = "length";
+  private static final String KEY_LAST_MODIFIED = "lastModified";
+  private static final String KEY_SHA1 = "sha1";
+
+  private final long length;
+  private final long lastModified;
+  private final String sha1;
+
+  private UnpackMarker(final long length, final long lastModified, @Nonnull final String sha1) {
+    this.length = length;
+    this.lastModified = lastModified;
+    this.sha1 = sha1;
+  }
+
+  /**
+   * Find marker file of unpacked folder.
+   *
+   * @param folder unpacked folder, must not be null
+   * @return marker file, must not be null
+   */
+  @Nonnull
+  public static File findMarkerFile(@Nonnull final File folder) {
+    return new File(folder.getAbsoluteFile().getParentFile(), '.' + folder.getName() + MARKER_SUFFIX);
+  }
+
+  /**
+   * Make marker for archive.
+   *
+   * @param archive archive file, must not be null
+   * @return marker of the archive, must not be null
+   * @throws IOException if error during archive read
+   */
+  @Nonnull
+  public static UnpackMarker of(@Nonnull final File archive) throws IOException {
+    final long length = archive.length();
+    final long lastModified = archive.lastModified();
+    return new UnpackMarker(length, lastModified, makeSha1(archive));
+  }
+
+  @Nonnull
+  private static String makeSha1(@Nonnull final File archive) throws IOException {
+    try (final InputStream in = Files.newInputStream(archive.toPath())) {
+      return DigestUtils.sha1Hex(in);
+    }
+  }
+
+  /**
+   * Load marker of unpacked folder.
+   *
+   * @param folder unpacked folder, must not be null
+   * @return loaded marker or null if it is not found or broken
+   */
+  @Nullable
+  public static UnpackMarker load(@Nonnull final File folder) {
+    final File file = findMarkerFile(folder);
+    if (!file.isFile()) {
+      return null;
+    }
+    final Properties properties = new Properties();
+    try (final InputStream in = Files.newInputStream(file.toPath())) {
+      properties.load(in);
+      final String sha1 = properties.getProperty(KEY_SHA1);
+      return sha1 == null ? null : new UnpackMarker(
+          Long.parseLong(properties.getProperty(KEY_LENGTH, "-1")),
+          Long.parseLong(properties.getProperty(KEY_LAST_MODIFIED, "-1")),
+          sha1);
+    } catch (IOException | NumberFormatException ex) {
+      return null;
+    }
+  }
+
+  /**
+   * Save marker for unpacked folder.
+   *
+   * @param folder unpacked folder, must not be null
+   * @param archive source archive, must not be null
+   * @throws IOException if error during write
+   */
+  public void save(@Nonnull final File folder, @Nonnull final File archive) throws IOException {
+    final Properties properties = new Properties();
+    properties.setProperty(KEY_FILE, archive.getAbsolutePath());
+    properties.setProperty(KEY_LENGTH, Long.toString(this.length));
+    properties.setProperty(KEY_LAST_MODIFIED, Long.toString(this.lastModified));
+    properties.setProperty(KEY_SHA1, this.sha1);
+
+    final File file = findMarkerFile(folder);
+    final File tempFile = new File(file.getParentFile(), file.getName() + ".tmp");
+    try (final OutputStream out = Files.newOutputStream(tempFile.toPath())) {
+      properties.store(out, "mvn-golang unpacked dependency");
+    }
+    IOUtils.replaceFileAtomically(tempFile, file);
+  }
+
+  /**
+   * Remove marker of unpacked folder.
+   *
+   * @param folder unpacked folder, must not be null
+   * @throws IOException if marker can't be deleted
+   */
+  public static void delete(@Nonnull final File folder) throws IOException {
+    Files.deleteIfExists(findMarkerFile(folder).toPath());
+  }
+
+  /**
+   * Check that folder has been unpacked from the same archive content. If
+   * only metadata of the archive is changed then the marker is updated.
+   *
+   * @param folder unpacked folder, must not be null
+   * @param archive source archive, must not be null
+   * @return true if the archive content is the same
+   * @throws IOException if error during archive read
+   */
+  public static boolean isActual(@Nonnull final File folder, @Nonnull final File archive) throws IOException {
+    final UnpackMarker marker = load(folder);
+    if (marker == null) {
+      return false;
+    }
+    if (marker.length == archive.length() && marker.lastModified == archive.lastModified()) {
+      return true;
+    }
+    final UnpackMarker current = of(archive);
+    if (current.sha1.equals(marker.sha1)) {
+      current.save(folder, archive);
+      return true;
+    }
+    return false;
+  }
+
+  @Nonnull
+  public String getSha1() {
+    return this.sha1;
+  }
+}
@@ -16,6 +16,7 @@
 package com.igormaznitsa.mvngolang.utils;
 
 import static com.igormaznitsa.mvngolang.utils.IOUtils.closeSilently;
+import com.igormaznitsa.meta.annotation.MustNotContainNull;
 import org.apache.commons.compress.archivers.ArchiveEntry;
 import org.apache.commons.compress.archivers.ArchiveException;
 import org.apache.commons.compress.archivers.ArchiveInputStream;
@@ -30,8 +31,24 @@ import org.apache.maven.plugin.logging.Log;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.zip.GZIPInputStream;
 
 public final class UnpackUtils {
@@ -42,19 +59,34 @@ public final class UnpackUtils {
     }
 
     public static int unpackFileToFolder(@Nonnull final Log logger, @Nullable final String folder, @Nonnull final File archiveFile, @Nonnull final File destinationFolder, final boolean tryMakeAllExecutable) throws IOException {
+        return unpackFileToFolder(logger, folder, archiveFile, destinationFolder, tryMakeAllExecutable, 1);
+    }
+
+    /**
+     * Unpack archive file into folder. ZIP archive can be unpacked by several
+     * threads because its entries can be read independently, other archive
+     * formats are always unpacked sequentially.
+     *
+     * @param logger logger, must not be null
+     * @param folder folder in archive to be unpacked, can be null to unpack all
+     * @param archiveFile archive file, must not be null
+     * @param destinationFolder target folder, must not be null
+     * @param tryMakeAllExecutable try to make all unpacked files executable
+     * @param threads max number of threads to unpack ZIP entries
+     * @return number of unpacked files
+     * @throws IOException it will be thrown if any error during unpack
+     * @since 2.3.5
+     */
+    public static int unpackFileToFolder(@Nonnull final Log logger, @Nullable final String folder, @Nonnull final File archiveFile, @Nonnull final File destinationFolder, final boolean tryMakeAllExecutable, final int threads) throws IOException {
         final String normalizedName = archiveFile.getName().toLowerCase(Locale.ENGLISH);
 
         final ArchEntryGetter entryGetter;
 
-        boolean modeZipFile = false;
-
         final ZipFile theZipFile;
         final ArchiveInputStream archInputStream;
         if (normalizedName.endsWith(".zip")) {
             logger.debug("Detected ZIP archive");
 
-            modeZipFile = true;
-
             theZipFile = new ZipFile(archiveFile);
             archInputStream = null;
             entryGetter = new ArchEntryGetter() {
@@ -95,76 +127,352 @@ public final class UnpackUtils {
         }
 
         try {
+            if (theZipFile != null && threads > 1) {
+                return unpackZipEntriesConcurrently(logger, folder, theZipFile, destinationFolder, tryMakeAllExecutable, threads);
+            }
+            return unpackEntries(logger, folder, theZipFile, archInputStream, entryGetter, destinationFolder, tryMakeAllExecutable);
+        } finally {
+            closeSilently(theZipFile);
+            closeSilently(archInputStream);
+        }
+    }
 
-            final String normalizedFolder = folder == null ? null : FilenameUtils.normalize(folder, true) + '/';
+    /**
+     * Unpack TAR.GZ archive provided as stream. The stream is not closed and
+     * not read to the end by the method so that it is possible to read rest of
+     * data (for instance to complete hash calculation) after the call.
+     *
+     * @param logger logger, must not be null
+     * @param folder folder in archive to be unpacked, can be null to unpack all
+     * @param tarGzStream stream of TAR.GZ archive, must not be null
+     * @param destinationFolder target folder, must not be null
+     * @param tryMakeAllExecutable try to make all unpacked files executable
+     * @return number of unpacked files
+     * @throws IOException it will be thrown if any error during unpack
+     * @since 2.3.5
+     */
+    public static int unpackTarGzStreamToFolder(@Nonnull final Log logger, @Nullable final String folder, @Nonnull final InputStream tarGzStream, @Nonnull final File destinationFolder, final boolean tryMakeAllExecutable) throws IOException {
+        final TarArchiveInputStream archInputStream = new TarArchiveInputStream(new GZIPInputStream(tarGzStream, 65536));
+        return unpackEntries(logger, folder, null, archInputStream, archInputStream::getNextTarEntry, destinationFolder, tryMakeAllExecutable);
+    }
 
-            int unpackedFilesCounter = 0;
-            while (true) {
-                final ArchiveEntry entry = entryGetter.getNextEntry();
-                if (entry == null) {
-                    break;
-                }
-                final String normalizedPath = FilenameUtils.normalize(entry.getName(), true);
+    private static int unpackEntries(
+            @Nonnull final Log logger,
+            @Nullable final String folder,
+            @Nullable final ZipFile theZipFile,
+            @Nullable final ArchiveInputStream archInputStream,
+            @Nonnull final ArchEntryGetter entryGetter,
+            @Nonnull final File destinationFolder,
+            final boolean tryMakeAllExecutable
+    ) throws IOException {
+        final boolean modeZipFile = theZipFile != null;
 
-                logger.debug("Detected archive entry : " + normalizedPath);
+        final String normalizedFolder = folder == null ? null : FilenameUtils.normalize(folder, true) + '/';
 
-                if (normalizedFolder == null || normalizedPath.startsWith(normalizedFolder)) {
-                    final File targetFile = new File(destinationFolder, normalizedFolder == null ? normalizedPath : normalizedPath.substring(normalizedFolder.length()));
-                    if (entry.isDirectory()) {
-                        logger.debug("Folder : " + normalizedPath);
-                        if (!targetFile.exists() && !targetFile.mkdirs()) {
-                            throw new IOException("Can't create folder " + targetFile);
-                        }
-                    } else {
-                        final File parent = targetFile.getParentFile();
+        int unpackedFilesCounter = 0;
+        while (true) {
+            final ArchiveEntry entry = entryGetter.getNextEntry();
+            if (entry == null) {
+                break;
+            }
+            final String normalizedPath = FilenameUtils.normalize(entry.getName(), true);
 
-                        if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
-                            throw new IOException("Can't create folder : " + parent);
-                        }
+            logger.debug("Detected archive entry : " + normalizedPath);
+
+            if (normalizedFolder == null || normalizedPath.startsWith(normalizedFolder)) {
+                final File targetFile = new File(destinationFolder, normalizedFolder == null ? normalizedPath : normalizedPath.substring(normalizedFolder.length()));
+                if (entry.isDirectory()) {
+                    logger.debug("Folder : " + normalizedPath);
+                    if (!targetFile.exists() && !targetFile.mkdirs()) {
+                        throw new IOException("Can't create folder " + targetFile);
+                    }
+                } else {
+                    final File parent = targetFile.getParentFile();
+
+                    if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+                        throw new IOException("Can't create folder : " + parent);
+                    }
 
-                        try (final FileOutputStream fos = new FileOutputStream(targetFile)) {
-                            if (modeZipFile) {
-                                logger.debug("Unpacking ZIP entry : " + normalizedPath);
-
-                                final InputStream zipEntryInStream = theZipFile.getInputStream((ZipArchiveEntry) entry);
-                                try {
-                                    if (IOUtils.copy(zipEntryInStream, fos) != entry.getSize()) {
-                                        throw new IOException("Can't unpack file, illegal unpacked length : " + entry.getName());
-                                    }
-                                } finally {
-                                    closeSilently(zipEntryInStream);
-                                }
-                            } else {
-                                logger.debug("Unpacking archive entry : " + normalizedPath);
-
-                                if (!archInputStream.canReadEntryData(entry)) {
-                                    throw new IOException("Can't read archive entry data : " + normalizedPath);
-                                }
-                                if (IOUtils.copy(archInputStream, fos) != entry.getSize()) {
-                                    throw new IOException("Can't unpack file, illegal unpacked length : " + entry.getName());
-                                }
+                    try (final FileOutputStream fos = new FileOutputStream(targetFile)) {
+                        if (modeZipFile) {
+                            logger.debug("Unpacking ZIP entry : " + normalizedPath);
+                            copyZipEntry(theZipFile, (ZipArchiveEntry) entry, fos);
+                        } else {
+                            logger.debug("Unpacking archive entry : " + normalizedPath);
+
+                            if (!archInputStream.canReadEntryData(entry)) {
+                                throw new IOException("Can't read archive entry data : " + normalizedPath);
+                            }
+                            if (IOUtils.copy(archInputStream, fos) != entry.getSize()) {
+                                throw new IOException("Can't unpack file, illegal unpacked length : " + entry.getName());
                             }
                         }
+                    }
+
+                    if (tryMakeAllExecutable) {
+                        makeExecutable(logger, targetFile);
+                    }
+                    unpackedFilesCounter++;
+                }
+            } else {
+                logger.debug("Archive entry " + normalizedPath + " ignored");
+            }
+        }
+        return unpackedFilesCounter;
+    }
+
+    private static void copyZipEntry(@Nonnull final ZipFile zipFile, @Nonnull final ZipArchiveEntry entry, @Nonnull final OutputStream out) throws IOException {
+        final InputStream zipEntryInStream = zipFile.getInputStream(entry);
+        try {
+            if (IOUtils.copy(zipEntryInStream, out) != entry.getSize()) {
+                throw new IOException("Can't unpack file, illegal unpacked length : " + entry.getName());
+            }
+        } finally {
+            closeSilently(zipEntryInStream);
+        }
+    }
+
+    private static void makeExecutable(@Nonnull final Log logger, @Nonnull final File targetFile) throws IOException {
+        try {
+            if (!targetFile.setExecutable(true, true)){
+                logger.debug("Can't make file executable : "+targetFile);
+            }
+        } catch (SecurityException ex) {
+            throw new IOException("Can't make file executable for secuity reasons : " + targetFile, ex);
+        }
+    }
+
+    /**
+     * Unpack ZIP entries by worker pool. All folders are created before files
+     * so that workers just write files, every worker takes next not processed
+     * entry and the first error stops all workers.
+     */
+    private static int unpackZipEntriesConcurrently(
+            @Nonnull final Log logger,
+            @Nullable final String folder,
+            @Nonnull final ZipFile theZipFile,
+            @Nonnull final File destinationFolder,
+            final boolean tryMakeAllExecutable,
+            final int threads
+    ) throws IOException {
+        final String normalizedFolder = folder == null ? null : FilenameUtils.normalize(folder, true) + '/';
+
+        final List<ZipArchiveEntry> fileEntries = new ArrayList<>();
+        final List<File> targetFiles = new ArrayList<>();
+        final Set<File> folders = new LinkedHashSet<>();
+
+        final Enumeration<ZipArchiveEntry> iterator = theZipFile.getEntries();
+        while (iterator.hasMoreElements()) {
+            final ZipArchiveEntry entry = iterator.nextElement();
+            final String normalizedPath = FilenameUtils.normalize(entry.getName(), true);
+
+            if (normalizedFolder == null || normalizedPath.startsWith(normalizedFolder)) {
+                final File targetFile = new File(destinationFolder, normalizedFolder == null ? normalizedPath : normalizedPath.substring(normalizedFolder.length()));
+                if (entry.isDirectory()) {
+                    folders.add(targetFile);
+                } else {
+                    final File parent = targetFile.getParentFile();
+                    if (parent != null) {
+                        folders.add(parent);
+                    }
+                    fileEntries.add(entry);
+                    targetFiles.add(targetFile);
+                }
+            } else {
+                logger.debug("Archive entry " + normalizedPath + " ignored");
+            }
+        }
+
+        return writeZipEntriesConcurrently(logger, theZipFile, fileEntries, targetFiles, folders, tryMakeAllExecutable, threads);
+    }
+
+    /**
+     * Unpack content of folders of ZIP archive into one target folder by single
+     * pass over the archive entries. Folder prefix is removed from paths of
+     * unpacked files, if the same target file is provided by several folders
+     * then the folder which is the last one in the list wins.
+     *
+     * @param logger logger, must not be null
+     * @param zipFile opened ZIP archive, must not be null
+     * @param folders folders in archive to be unpacked, null to unpack whole
+     * archive
+     * @param destinationFolder target folder, must not be null
+     * @param threads max number of threads to unpack entries
+     * @return number of unpacked files
+     * @throws IOException it will be thrown if any error during unpack
+     * @since 2.3.5
+     */
+    public static int unpackZipFolders(
+            @Nonnull final Log logger,
+            @Nonnull final ZipFile zipFile,
+            @Nullable @MustNotContainNull final Collection<String> folders,
+            @Nonnull final File destinationFolder,
+            final int threads
+    ) throws IOException {
+        final PathPrefixTrie trie = new PathPrefixTrie();
+        if (folders != null) {
+            int index = 0;
+            for (final String f : folders) {
+                trie.add(f, index++);
+            }
+        }
+
+        final Map<String, ZipArchiveEntry> targetEntries = new LinkedHashMap<>();
+        final Map<String, Integer> targetPriorities = new HashMap<>();
+        final Set<File> targetFolders = new LinkedHashSet<>();
+
+        final Enumeration<ZipArchiveEntry> iterator = zipFile.getEntries();
+        while (iterator.hasMoreElements()) {
+            final ZipArchiveEntry entry = iterator.nextElement();
+            final String normalizedPath = FilenameUtils.normalizeNoEndSeparator(entry.getName(), true);
+            if (normalizedPath == null || normalizedPath.isEmpty()) {
+                logger.debug("Archive entry " + entry.getName() + " ignored");
+                continue;
+            }
+
+            final List<PathPrefixTrie.Match> matches = folders == null
+                    ? Collections.singletonList(new PathPrefixTrie.Match(0, Integer.MAX_VALUE))
+                    : trie.findAll(normalizedPath);
+            for (final PathPrefixTrie.Match m : matches) {
+                if (m.getLength() >= normalizedPath.length()) {
+                    continue;
+                }
+                final String targetPath = normalizedPath.substring(m.getLength() == 0 ? 0 : m.getLength() + 1);
+                if (entry.isDirectory()) {
+                    targetFolders.add(new File(destinationFolder, targetPath));
+                } else {
+                    final Integer priority = targetPriorities.get(targetPath);
+                    if (priority == null || priority <= m.getPriority()) {
+                        targetPriorities.put(targetPath, m.getPriority());
+                        targetEntries.put(targetPath, entry);
+                    }
+                }
+            }
+        }
 
-                        if (tryMakeAllExecutable) {
-                            try {
-                                if (!targetFile.setExecutable(true, true)){
-                                    logger.debug("Can't make file executable : "+targetFile);
-                                }
-                            } catch (SecurityException ex) {
-                                throw new IOException("Can't make file executable for secuity reasons : " + targetFile, ex);
+        final List<ZipArchiveEntry> fileEntries = new ArrayList<>(targetEntries.size());
+        final List<File> targetFiles = new ArrayList<>(targetEntries.size());
+        for (final Map.Entry<String, ZipArchiveEntry> e : targetEntries.entrySet()) {
+            final File targetFile = new File(destinationFolder, e.getKey());
+            final File parent = targetFile.getParentFile();
+            if (parent != null) {
+                targetFolders.add(parent);
+            }
+            fileEntries.add(e.getValue());
+            targetFiles.add(targetFile);
+        }
+        targetFolders.add(destinationFolder);
+
+        return writeZipEntriesConcurrently(logger, zipFile, fileEntries, targetFiles, targetFolders, false, threads);
+    }
+
+    /**
+     * Read whole content of ZIP entry.
+     *
+     * @param zipFile opened ZIP archive, must not be null
+     * @param name name of entry, must not be null
+     * @return content of the entry or null if not found
+     * @throws IOException it will be thrown if any error during read
+     * @since 2.3.5
+     */
+    @Nullable
+    public static byte[] readZipEntry(@Nonnull final ZipFile zipFile, @Nonnull final String name) throws IOException {
+        final ZipArchiveEntry entry = zipFile.getEntry(name);
+        if (entry == null || entry.isDirectory()) {
+            return null;
+        }
+        final InputStream in = zipFile.getInputStream(entry);
+        try {
+            return IOUtils.toByteArray(in);
+        } finally {
+            closeSilently(in);
+        }
+    }
+
+    private static int writeZipEntriesConcurrently(
+            @Nonnull final Log logger,
+            @Nonnull final ZipFile theZipFile,
+            @Nonnull @MustNotContainNull final List<ZipArchiveEntry> fileEntries,
+            @Nonnull @MustNotContainNull final List<File> targetFiles,
+            @Nonnull @MustNotContainNull final Set<File> folders,
+            final boolean tryMakeAllExecutable,
+            final int threads
+    ) throws IOException {
+        for (final File f : folders) {
+            if (!f.isDirectory() && !f.mkdirs()) {
+                throw new IOException("Can't create folder " + f);
+            }
+        }
+
+        final int workers = Math.max(1, Math.min(threads, fileEntries.size()));
+        logger.debug(String.format("Unpacking %d ZIP entries by %d thread(s)", fileEntries.size(), workers));
+
+        final AtomicInteger nextIndex = new AtomicInteger();
+        final AtomicBoolean stop = new AtomicBoolean();
+        final AtomicInteger threadCounter = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(workers, r -> {
+            final Thread thread = new Thread(r, "mvn-golang-unpack-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            final List<Future<Integer>> futures = new ArrayList<>();
+            for (int i = 0; i < workers; i++) {
+                futures.add(executor.submit(() -> {
+                    int counter = 0;
+                    try {
+                        while (!stop.get()) {
+                            final int index = nextIndex.getAndIncrement();
+                            if (index >= fileEntries.size()) {
+                                break;
+                            }
+                            if (Thread.currentThread().isInterrupted()) {
+                                throw new InterruptedIOException("Unpack interrupted");
                             }
+                            final ZipArchiveEntry entry = fileEntries.get(index);
+                            final File targetFile = targetFiles.get(index);
+                            try (final OutputStream fos = new BufferedOutputStream(new FileOutputStream(targetFile), 65536)) {
+                                copyZipEntry(theZipFile, entry, fos);
+                            }
+                            if (tryMakeAllExecutable) {
+                                makeExecutable(logger, targetFile);
+                            }
+                            counter++;
                         }
-                        unpackedFilesCounter++;
+                    } catch (IOException | RuntimeException ex) {
+                        stop.set(true);
+                        throw ex;
                     }
-                } else {
-                    logger.debug("Archive entry " + normalizedPath + " ignored");
+                    return counter;
+                }));
+            }
+            executor.shutdown();
+
+            int unpackedFilesCounter = 0;
+            for (final Future<Integer> f : futures) {
+                try {
+                    unpackedFilesCounter += f.get();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Unpack interrupted");
+                } catch (ExecutionException ex) {
+                    final Throwable cause = ex.getCause();
+                    if (cause instanceof IOException) {
+                        throw (IOException) cause;
+                    }
+                    throw new IOException("Error during unpack of ZIP entry", cause);
                 }
             }
             return unpackedFilesCounter;
         } finally {
-            closeSilently(theZipFile);
-            closeSilently(archInputStream);
+            stop.set(true);
+            executor.shutdownNow();
+            try {
+                executor.awaitTermination(5L, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
         }
     }
 
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2019 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.igormaznitsa.mvngolang;
+
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Test;
+import org.zeroturnaround.exec.ProcessResult;
+import static org.junit.Assert.*;
+
+public class ConsoleOutHooksTest {
+
+  @Test
+  public void testWholeOutputNotNeededByDefault() {
+    assertFalse(new GolangBuildMojo().isWholeConsoleOutNeeded());
+    assertTrue(new GolangGetMojo().isWholeConsoleOutNeeded());
+  }
+
+  @Test
+  @SuppressWarnings("deprecation")
+  public void testStringHooksAreCalled() throws Exception {
+    final AtomicReference<String> processed = new AtomicReference<>();
+    final GolangBuildMojo mojo = new GolangBuildMojo() {
+      @Override
+      protected void processConsoleOut(final int exitCode, final String out, final String err) {
+        processed.set(exitCode + out + err);
+      }
+
+      @Override
+      protected boolean doesNeedOneMoreAttempt(final ProcessResult result, final String consoleOut, final String consoleErr) {
+        return consoleErr.contains("retry");
+      }
+    };
+
+    assertTrue(mojo.isWholeConsoleOutNeeded());
+
+    mojo.processConsoleOut(1, new StringBuilder("out"), new StringBuilder("err"));
+    assertEquals("1outerr", processed.get());
+
+    assertTrue(mojo.doesNeedOneMoreAttempt(null, new StringBuilder(), new StringBuilder("please retry")));
+    assertFalse(mojo.doesNeedOneMoreAttempt(null, new StringBuilder(), new StringBuilder("fail")));
+  }
+}
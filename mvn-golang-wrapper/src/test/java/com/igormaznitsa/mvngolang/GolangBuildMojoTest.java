@@ -15,6 +15,8 @@
  */
 package com.igormaznitsa.mvngolang;
 
+import java.io.File;
+import java.util.List;
 import org.junit.Test;
 import static org.junit.Assert.*;
 import static java.util.Arrays.asList;
@@ -51,4 +53,26 @@ public class GolangBuildMojoTest {
     assertThat(asList(buildMojo.getCommandFlags()), hasItem(endsWith("targetName")));
   }
 
+  @Test
+  public void testTargetsMatrix() throws Exception {
+    final GolangBuildMojo buildMojo = makeBuildMojo();
+    buildMojo.setTargets(new String[]{"linux/amd64", " windows/amd64 ", "linux/arm/7", "linux/amd64"});
+
+    final List<GolangBuildMojo.BuildTarget> targets = buildMojo.parseTargets();
+    assertEquals("[linux/amd64, windows/amd64, linux/arm/7]", targets.toString());
+
+    assertEquals(new File("some/folder", "targetName-linux-amd64"), buildMojo.getResultFile(targets.get(0)));
+    assertEquals(new File("some/folder", "targetName-windows-amd64.exe"), buildMojo.getResultFile(targets.get(1)));
+    assertEquals(new File("some/folder", "targetName-linux-armv7"), buildMojo.getResultFile(targets.get(2)));
+
+    buildMojo.setResultFolder("some/{GOOS}_{GOARCH}");
+    assertEquals(new File("some/windows_amd64", "targetName"), buildMojo.getResultFile(targets.get(1)));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testTargetsMatrix_WrongFormat() throws Exception {
+    final GolangBuildMojo buildMojo = makeBuildMojo();
+    buildMojo.setTargets(new String[]{"linux"});
+    buildMojo.parseTargets();
+  }
 }
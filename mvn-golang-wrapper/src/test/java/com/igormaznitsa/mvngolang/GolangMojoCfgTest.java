@@ -201,6 +201,7 @@ public class GolangMojoCfgTest extends AbstractMojoTestCase {
     assertEqualsPath("some/path", IOUtils.makeOsFilePathWithoutDuplications(fmtMojo.findGoPath(false)));
     assertArrayEquals(new String[]{"one_pack", "two_pack"}, fmtMojo.getTailArguments());
     assertArrayEquals(new String[]{"flag1", "flag2"}, fmtMojo.getBuildFlags());
+    assertEquals(1, fmtMojo.getPackageShards());
   }
 
   @Test
@@ -258,12 +259,14 @@ public class GolangMojoCfgTest extends AbstractMojoTestCase {
     assertEqualsPath("some/path", IOUtils.makeOsFilePathWithoutDuplications(vetMojo.findGoPath(false)));
     assertArrayEquals(new String[]{"one_pack", "two_pack"}, vetMojo.getTailArguments());
     assertArrayEquals(new String[]{"flag1", "flag2"}, vetMojo.getBuildFlags());
+    assertEquals(2, vetMojo.getPackageShards());
   }
 
   @Test
   public void testGolangTestMojoConfiguration() throws Exception {
     final GolangTestMojo testMojo = findMojo(GolangTestMojo.class, "mojoTest.xml", "test");
     assertEquals("some/someTempFolder", testMojo.getDependencyTempFolder());
+    assertEquals("hardlink", testMojo.getDependencyLinkMode());
     assertFalse(testMojo.isScanDependencies());
     assertFalse(testMojo.isIncludeTestDependencies());
     assertEquals(60000, testMojo.getConnectionTimeout());
@@ -281,6 +284,10 @@ public class GolangMojoCfgTest extends AbstractMojoTestCase {
     assertArrayEquals(new String[]{"one_pack", "two_pack"}, testMojo.getTailArguments());
     assertArrayEquals(new String[]{"flag1", "flag2"}, testMojo.getBuildFlags());
     assertArrayEquals(new String[]{"binFlag1", "binFlag2"}, testMojo.getTestFlags());
+    assertEquals(3, testMojo.getTestShards());
+    assertTrue(testMojo.isTestCache());
+    assertEquals(5, testMojo.getSlowestTests());
+    assertEquals(120, testMojo.getTestDeadline());
     assertTrue(testMojo.isIgnoreErrorExitCode());
   }
 
@@ -342,6 +349,12 @@ public class GolangMojoCfgTest extends AbstractMojoTestCase {
     final CustomScript script = getMojo.getCustomScript();
     assertFalse(getMojo.isFilterEnvPath());
     assertEquals(123000, getMojo.getConnectionTimeout());
+    assertEquals(600L, getMojo.getProcessTimeout());
+    assertEquals(5L, getMojo.getProcessKillGrace());
+    assertEquals(2, getMojo.getProcessRetries());
+    assertEquals(500L, getMojo.getProcessRetryBackoff());
+    assertTrue(getMojo.isProcessRetryOnError());
+    assertEquals(600000L, getMojo.getProcessPolicy().getTimeoutMillis());
     assertEquals("some/test/script", script.path);
     assertTrue(script.ignoreFail);
     assertArrayEquals(new String[]{"some1", "some2", "some3"}, script.options);
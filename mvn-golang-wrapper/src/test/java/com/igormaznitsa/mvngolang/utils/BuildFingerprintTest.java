@@ -0,0 +1,88 @@
+/*
+ * Copyright 2020 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.igormaznitsa.mvngolang.utils;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+public class BuildFingerprintTest {
+
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private static void write(final File file, final String text) throws Exception {
+    Files.write(file.toPath(), text.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private String hash(final File sources, final File excluded) throws Exception {
+    return new BuildFingerprint()
+        .add("command", Arrays.asList("go", "build"))
+        .add("environment", Collections.singletonMap("GOOS", "linux"))
+        .addFolder(sources, Collections.singletonList(excluded))
+        .getHash();
+  }
+
+  @Test
+  public void testFolderHash() throws Exception {
+    final File sources = this.tempFolder.newFolder("src");
+    final File target = new File(sources, "target");
+    assertTrue(target.mkdirs());
+    write(new File(sources, "main.go"), "package main");
+    write(new File(sources, "go.mod"), "module some");
+
+    final String initial = hash(sources, target);
+    assertEquals(initial, hash(sources, target));
+
+    write(new File(target, "result"), "binary");
+    assertEquals("Excluded folder must be ignored", initial, hash(sources, target));
+
+    final File goMod = new File(sources, "go.mod");
+    assertTrue(goMod.setLastModified(goMod.lastModified() - 100000L));
+    assertEquals("Content of go.mod must be used", initial, hash(sources, target));
+
+    write(goMod, "module other");
+    final String changedMod = hash(sources, target);
+    assertNotEquals(initial, changedMod);
+
+    write(new File(sources, "main.go"), "package main // changed");
+    assertNotEquals(changedMod, hash(sources, target));
+  }
+
+  @Test
+  public void testSaveAndCheck() throws Exception {
+    final File result = this.tempFolder.newFile("app");
+    write(result, "binary");
+
+    assertFalse(BuildFingerprint.isUpToDate(result, "abc"));
+    BuildFingerprint.save(result, "abc");
+    assertTrue(BuildFingerprint.findFingerprintFile(result).isFile());
+    assertTrue(BuildFingerprint.isUpToDate(result, "abc"));
+    assertFalse(BuildFingerprint.isUpToDate(result, "abd"));
+
+    write(result, "other binary");
+    assertFalse(BuildFingerprint.isUpToDate(result, "abc"));
+
+    BuildFingerprint.delete(result);
+    assertFalse(BuildFingerprint.findFingerprintFile(result).exists());
+  }
+}
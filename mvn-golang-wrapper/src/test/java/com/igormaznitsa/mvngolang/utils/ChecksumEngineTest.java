@@ -0,0 +1,87 @@
+/*
+ * Copyright 2020 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.igormaznitsa.mvngolang.utils;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.zip.Checksum;
+import org.apache.commons.codec.binary.Base64;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.http.Header;
+import org.apache.http.message.BasicHeader;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+public class ChecksumEngineTest {
+
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  @Test
+  public void testCrc32cKnownValue() {
+    final byte[] data = "123456789".getBytes(StandardCharsets.US_ASCII);
+
+    final Crc32c crc = new Crc32c();
+    crc.update(data, 0, data.length);
+    assertEquals(0xE3069283L, crc.getValue());
+
+    crc.reset();
+    for (final byte b : data) {
+      crc.update(b);
+    }
+    assertEquals(0xE3069283L, crc.getValue());
+    assertEquals("e3069283", ChecksumEngine.toHex(crc.getValue()));
+  }
+
+  @Test
+  public void testOwnCrc32cSameAsEngine() {
+    final byte[] data = new byte[100003];
+    new Random(777L).nextBytes(data);
+
+    final Checksum engine = ChecksumEngine.newCrc32c();
+    engine.update(data, 0, data.length);
+
+    final Crc32c own = new Crc32c();
+    own.update(data, 0, 5);
+    own.update(data, 5, 1000);
+    own.update(data, 1005, data.length - 1005);
+
+    assertEquals(engine.getValue(), own.getValue());
+  }
+
+  @Test
+  public void testFileHashes() throws Exception {
+    final byte[] data = new byte[3 * 1024 * 1024 + 17];
+    new Random(1L).nextBytes(data);
+    final File file = this.tempFolder.newFile("sdk.zip");
+    Files.write(file.toPath(), data);
+
+    final Crc32c own = new Crc32c();
+    own.update(data, 0, data.length);
+
+    assertEquals(DigestUtils.md5Hex(data), ChecksumEngine.md5Hex(file));
+    assertEquals(ChecksumEngine.toHex(own.getValue()), ChecksumEngine.crc32cHex(file));
+
+    final String crc32cBase64 = Base64.encodeBase64String(new byte[] {(byte) (own.getValue() >>> 24), (byte) (own.getValue() >>> 16), (byte) (own.getValue() >>> 8), (byte) own.getValue()});
+    assertTrue(new XGoogHashHeader(new Header[] {new BasicHeader("x-goog-hash", "crc32c=" + crc32cBase64)}).isFileOk(new SystemStreamLog(), file));
+    assertTrue(new XGoogHashHeader(new Header[] {new BasicHeader("x-goog-hash", "md5=" + Base64.encodeBase64String(DigestUtils.md5(data)))}).isFileOk(new SystemStreamLog(), file));
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2020 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.igormaznitsa.mvngolang.utils;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class ConsoleCaptureTest {
+
+  private static String makeText() {
+    final StringBuilder result = new StringBuilder();
+    for (int i = 0; i < 20000; i++) {
+      result.append("строка ").append(i).append(" ok\n");
+    }
+    result.append("package github.com/some/pkg: exit status 128\n");
+    return result.toString();
+  }
+
+  @Test
+  public void testKeptInMemory() throws Exception {
+    final ConsoleCapture capture = new ConsoleCapture(1024L);
+    final byte[] data = "hello\nworld".getBytes(StandardCharsets.UTF_8);
+    capture.write(data, 0, data.length);
+    capture.close();
+    assertFalse(capture.isSpilled());
+    assertEquals("hello\nworld", capture.asCharSequence(StandardCharsets.UTF_8));
+    capture.dispose();
+  }
+
+  @Test
+  public void testSpilledLazyText() throws Exception {
+    final String text = makeText();
+    final byte[] data = text.getBytes(StandardCharsets.UTF_8);
+
+    final ConsoleCapture capture = new ConsoleCapture(1000L);
+    int position = 0;
+    while (position < data.length) {
+      final int length = Math.min(777, data.length - position);
+      capture.write(data, position, length);
+      position += length;
+    }
+    capture.close();
+
+    assertTrue(capture.isSpilled());
+    assertEquals(data.length, capture.getSize());
+
+    final CharSequence lazy = capture.asCharSequence(StandardCharsets.UTF_8);
+    assertEquals(text.length(), lazy.length());
+    for (int i = 0; i < text.length(); i += 997) {
+      assertEquals(text.charAt(i), lazy.charAt(i));
+    }
+    assertEquals(text.substring(65000, 140000), lazy.subSequence(65000, 140000).toString());
+
+    final Matcher matcher = Pattern.compile("package\\s+(\\S+):\\s+exit status (\\d+)").matcher(lazy);
+    assertTrue(matcher.find());
+    assertEquals("github.com/some/pkg", matcher.group(1));
+    assertEquals("128", matcher.group(2));
+
+    final StringWriter writer = new StringWriter();
+    ConsoleCapture.writeTo(lazy, writer);
+    assertEquals(text, writer.toString());
+
+    capture.dispose();
+    try {
+      capture.asCharSequence(StandardCharsets.UTF_8);
+      fail("Must throw IOException");
+    } catch (IOException ex) {
+      // expected
+    }
+  }
+}
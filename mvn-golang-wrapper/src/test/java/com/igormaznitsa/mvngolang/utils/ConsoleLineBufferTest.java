@@ -0,0 +1,65 @@
+/*
+ * Copyright 2020 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.igormaznitsa.mvngolang.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class ConsoleLineBufferTest {
+
+  @Test
+  public void testLinesAndTail() throws Exception {
+    final List<String> consumed = new ArrayList<>();
+    final ConsoleLineBuffer buffer = new ConsoleLineBuffer(StandardCharsets.UTF_8, 2, consumed::add, null);
+
+    final byte[] data = "line1\r\nline2\nстрока3\nlast".getBytes(StandardCharsets.UTF_8);
+    buffer.write(data, 0, 3);
+    assertTrue(consumed.isEmpty());
+    buffer.write(data, 3, data.length - 3);
+    assertEquals(Arrays.asList("line1", "line2", "строка3"), consumed);
+
+    buffer.close();
+    assertEquals(Arrays.asList("line1", "line2", "строка3", "last"), consumed);
+    assertEquals(4L, buffer.getLineCounter());
+    assertEquals(2L, buffer.getSkippedLines());
+    assertEquals(Arrays.asList("строка3", "last"), buffer.getTail());
+    assertFalse(buffer.isWholeKept());
+    assertEquals("", buffer.getWhole());
+  }
+
+  @Test
+  public void testWholeKeptAndLongLine() throws Exception {
+    final ConsoleLineBuffer buffer = new ConsoleLineBuffer(StandardCharsets.UTF_8, 10, null, new ConsoleCapture(-1L));
+    final StringBuilder text = new StringBuilder();
+    for (int i = 0; i < 1000; i++) {
+      text.append((char) ('a' + i % 26));
+    }
+    text.append('\n');
+    for (final byte b : text.toString().getBytes(StandardCharsets.UTF_8)) {
+      buffer.write(b);
+    }
+    buffer.close();
+    assertTrue(buffer.isWholeKept());
+    assertEquals(text.toString(), buffer.getWhole().toString());
+    assertEquals(text.substring(0, 1000), buffer.getTail().get(0));
+    assertEquals(0L, buffer.getSkippedLines());
+    buffer.dispose();
+  }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2020 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.igormaznitsa.mvngolang.utils;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.SystemUtils;
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+public class DependencyStoreTest {
+
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private File prepareStored(final DependencyStore store, final AtomicInteger counter) throws Exception {
+    final File archive = this.tempFolder.newFile("some.zip");
+    FileUtils.write(archive, "archive content", StandardCharsets.UTF_8);
+    return store.unpack(archive, folder -> {
+      counter.incrementAndGet();
+      FileUtils.write(new File(folder, "src/some/main.go"), "package main", StandardCharsets.UTF_8);
+      FileUtils.write(new File(folder, "src/some/go.mod"), "module some", StandardCharsets.UTF_8);
+    });
+  }
+
+  @Test
+  public void testUnpackOnce() throws Exception {
+    final DependencyStore store = new DependencyStore(this.tempFolder.newFolder("store"));
+    final AtomicInteger counter = new AtomicInteger();
+    final File first = prepareStored(store, counter);
+    final File second = store.unpack(new File(this.tempFolder.getRoot(), "some.zip"), folder -> counter.incrementAndGet());
+    assertEquals(first, second);
+    assertEquals(1, counter.get());
+    assertTrue(new File(first, "src/some/main.go").isFile());
+    assertEquals(1, first.getParentFile().list().length);
+  }
+
+  @Test
+  public void testPruneNotUsed() throws Exception {
+    final DependencyStore store = new DependencyStore(this.tempFolder.newFolder("store"));
+    final AtomicInteger counter = new AtomicInteger();
+    final File stored = prepareStored(store, counter);
+    final String sha1 = stored.getName();
+    final long now = System.currentTimeMillis();
+
+    assertTrue(store.touch(sha1, now - 10000L));
+    assertEquals(0, store.prune(20000L, now));
+    assertTrue(stored.isDirectory());
+
+    assertEquals(1, store.prune(5000L, now));
+    assertFalse(stored.exists());
+    assertEquals(0, stored.getParentFile().list().length);
+    assertFalse(store.touch(sha1, now));
+
+    assertEquals(stored, store.unpack(new File(this.tempFolder.getRoot(), "some.zip"), folder -> counter.incrementAndGet()));
+    assertEquals(2, counter.get());
+  }
+
+  @Test
+  public void testUnpackErrorDoesNotPublish() throws Exception {
+    final DependencyStore store = new DependencyStore(this.tempFolder.newFolder("store"));
+    final File archive = this.tempFolder.newFile("broken.zip");
+    try {
+      store.unpack(archive, folder -> {
+        throw new IllegalStateException("broken");
+      });
+      fail();
+    } catch (IllegalStateException ex) {
+      assertEquals("broken", ex.getMessage());
+    }
+    assertEquals(0, FileUtils.listFiles(store.getFolder(), null, true).size());
+  }
+
+  @Test
+  public void testMaterializeHardLinksAndDetach() throws Exception {
+    final File stored = prepareStored(new DependencyStore(this.tempFolder.newFolder("store")), new AtomicInteger());
+    final File view = new File(this.tempFolder.getRoot(), "deps/some");
+    final DependencyStore.LinkMode mode = DependencyStore.materialize(stored, view, DependencyStore.LinkMode.HARDLINK);
+    assertNotEquals(DependencyStore.LinkMode.SYMLINK, mode);
+    assertFalse(Files.isSymbolicLink(view.toPath()));
+
+    final File goMod = new File(view, "src/some/go.mod");
+    assertEquals("module some", FileUtils.readFileToString(goMod, StandardCharsets.UTF_8));
+
+    DependencyStore.detach(goMod);
+    FileUtils.write(goMod, "module changed", StandardCharsets.UTF_8);
+    assertEquals("module some", FileUtils.readFileToString(new File(stored, "src/some/go.mod"), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void testMaterializeSymlink() throws Exception {
+    Assume.assumeFalse(SystemUtils.IS_OS_WINDOWS);
+    final File stored = prepareStored(new DependencyStore(this.tempFolder.newFolder("store")), new AtomicInteger());
+    final File view = new File(this.tempFolder.getRoot(), "deps/some");
+    assertEquals(DependencyStore.LinkMode.SYMLINK, DependencyStore.materialize(stored, view, DependencyStore.LinkMode.SYMLINK));
+    assertTrue(Files.isSymbolicLink(view.toPath()));
+    assertTrue(new File(view, "src/some/main.go").isFile());
+
+    FileUtils.deleteDirectory(view);
+    assertFalse(view.exists());
+    assertTrue(new File(stored, "src/some/main.go").isFile());
+  }
+
+  @Test
+  public void testParseLinkMode() {
+    assertEquals(DependencyStore.LinkMode.HARDLINK, DependencyStore.LinkMode.parse(" HardLink "));
+    assertEquals(DependencyStore.LinkMode.COPY, DependencyStore.LinkMode.parse("copy"));
+  }
+}
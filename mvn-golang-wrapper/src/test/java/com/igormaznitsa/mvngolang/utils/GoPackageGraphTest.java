@@ -0,0 +1,97 @@
+/*
+ * Copyright 2020 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.igormaznitsa.mvngolang.utils;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+public class GoPackageGraphTest {
+
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private static void write(final File file, final String text) throws Exception {
+    file.getParentFile().mkdirs();
+    Files.write(file.toPath(), text.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private GoPackageGraph makeGraph(final File a, final File b) {
+    return GoPackageGraph.parse(Arrays.asList(
+        "fmt\t/sdk/src/fmt\ttrue\t\t",
+        "github.com/x/lib\t/cache/lib\tfalse\tgithub.com/x/lib@v1.0.0\tfmt",
+        "example.com/b\t" + b.getAbsolutePath() + "\tfalse\texample.com@\tfmt,github.com/x/lib",
+        "example.com/a\t" + a.getAbsolutePath() + "\tfalse\texample.com@\texample.com/b",
+        "example.com/a [example.com/a.test]\t" + a.getAbsolutePath() + "\tfalse\texample.com@\texample.com/b",
+        "example.com/a.test\t\tfalse\t\texample.com/a [example.com/a.test]",
+        ""
+    ));
+  }
+
+  @Test
+  public void testHashDependsOnTransitiveContent() throws Exception {
+    final File a = this.tempFolder.newFolder("a");
+    final File b = this.tempFolder.newFolder("b");
+    write(new File(a, "a.go"), "package a");
+    write(new File(a, "a_test.go"), "package a");
+    write(new File(b, "b.go"), "package b");
+    write(new File(b, "testdata/in.txt"), "data");
+
+    final String hashA = makeGraph(a, b).makeTestHash("example.com/a");
+    final String hashB = makeGraph(a, b).makeTestHash("example.com/b");
+    assertNotNull(hashA);
+    assertNotNull(hashB);
+    assertEquals(hashA, makeGraph(a, b).makeTestHash("example.com/a"));
+    assertNull(makeGraph(a, b).makeTestHash("example.com/unknown"));
+
+    write(new File(b, "testdata/in.txt"), "changed");
+    assertNotEquals(hashA, makeGraph(a, b).makeTestHash("example.com/a"));
+    assertNotEquals(hashB, makeGraph(a, b).makeTestHash("example.com/b"));
+  }
+
+  @Test
+  public void testGraphHashDependsOnPackagesOutOfSources() throws Exception {
+    final File a = this.tempFolder.newFolder("a");
+    final File b = this.tempFolder.newFolder("b");
+    write(new File(a, "a.go"), "package a");
+    write(new File(b, "b.go"), "package b");
+
+    final String hash = makeGraph(a, b).makeHash();
+    assertEquals(hash, makeGraph(a, b).makeHash());
+
+    write(new File(b, "b.go"), "package b // changed");
+    assertNotEquals(hash, makeGraph(a, b).makeHash());
+  }
+
+  @Test
+  public void testImmutableModule() {
+    assertTrue(GoPackageGraph.isImmutableModule("github.com/x/lib@v1.0.0"));
+    assertTrue(GoPackageGraph.isImmutableModule("github.com/x/lib@v1.0.0=github.com/y/lib@v1.1.0"));
+    assertFalse(GoPackageGraph.isImmutableModule("github.com/x/lib@v1.0.0=../lib@"));
+    assertFalse(GoPackageGraph.isImmutableModule("example.com@"));
+    assertFalse(GoPackageGraph.isImmutableModule(""));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testWrongLine() {
+    GoPackageGraph.parse(Arrays.asList("example.com/a\t/a"));
+  }
+}
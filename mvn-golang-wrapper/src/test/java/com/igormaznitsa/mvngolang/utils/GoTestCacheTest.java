@@ -0,0 +1,44 @@
+/*
+ * Copyright 2020 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.igormaznitsa.mvngolang.utils;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+public class GoTestCacheTest {
+
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  @Test
+  public void testMarkAndPrune() throws Exception {
+    final GoTestCache cache = new GoTestCache(this.tempFolder.newFolder("cache"));
+    final long now = 1600000000000L;
+
+    assertFalse(cache.isPassed("key1", now));
+    cache.markPassed("key1", "example.com/a");
+    cache.markPassed("key2", "example.com/b");
+    assertTrue(cache.isPassed("key1", now));
+    assertTrue(cache.isPassed("key2", now - 10000L));
+    assertFalse(cache.isPassed("key3", now));
+
+    assertEquals(1, cache.prune(5000L, now));
+    assertTrue(cache.isPassed("key1", now));
+    assertFalse(cache.isPassed("key2", now));
+  }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2020 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.igormaznitsa.mvngolang.utils;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class GoTestEventTest {
+
+  @Test
+  public void testParseOutputEvent() {
+    final GoTestEvent event = GoTestEvent.parse("{\"Time\":\"2020-03-01T10:00:00.1+01:00\",\"Action\":\"output\",\"Package\":\"example.com/a\",\"Test\":\"TestOne\",\"Output\":\"=== RUN   TestOne\\n\\t\\\"quoted\\\" \\u00e9\\n\"}");
+    assertNotNull(event);
+    assertEquals("output", event.getAction());
+    assertEquals("example.com/a", event.getPackage());
+    assertEquals("TestOne", event.getTest());
+    assertEquals("=== RUN   TestOne\n\t\"quoted\" é\n", event.getOutput());
+    assertTrue(Double.isNaN(event.getElapsed()));
+  }
+
+  @Test
+  public void testParseResultEventWithUnknownFields() {
+    final GoTestEvent event = GoTestEvent.parse("{\"Action\":\"pass\",\"Package\":\"example.com/a\",\"Extra\":{\"a\":[1,true,null]},\"Elapsed\":1.25}");
+    assertNotNull(event);
+    assertEquals("pass", event.getAction());
+    assertNull(event.getTest());
+    assertEquals(1.25d, event.getElapsed(), 0.0001d);
+  }
+
+  @Test
+  public void testNotEvent() {
+    assertNull(GoTestEvent.parse("ok  \texample.com/a\t0.010s"));
+    assertNull(GoTestEvent.parse("{\"Package\":\"example.com/a\"}"));
+    assertNull(GoTestEvent.parse("{\"Action\":\"pass\""));
+    assertNull(GoTestEvent.parse("{\"Action\":\"pass\"} {}"));
+  }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2020 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.igormaznitsa.mvngolang.utils;
+
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class GoTestMetricsTest {
+
+  private static GoTestEvent event(final String action, final String test, final double elapsed) {
+    return new GoTestEvent(action, "example.com/a", test, elapsed, null);
+  }
+
+  @Test
+  public void testSlowest() {
+    final GoTestMetrics metrics = new GoTestMetrics();
+    final double[] times = {0.5d, 3.0d, 0.1d, 2.0d, 7.0d, 1.0d};
+    for (int i = 0; i < 100; i++) {
+      metrics.onEvent(event("run", "Test" + i, Double.NaN), 0L);
+      metrics.onEvent(event("pass", "Test" + i, i < times.length ? times[i] : 0.01d), 0L);
+    }
+    assertEquals(100, metrics.getCompletedTests());
+
+    final List<String> slowest = metrics.findSlowest(3);
+    assertEquals(3, slowest.size());
+    assertTrue(slowest.get(0).endsWith("example.com/a Test4"));
+    assertTrue(slowest.get(1).endsWith("example.com/a Test1"));
+    assertTrue(slowest.get(2).endsWith("example.com/a Test3"));
+    assertTrue(slowest.get(0).contains("7.000 s"));
+
+    final GoTestMetrics total = new GoTestMetrics();
+    total.addTimes(metrics);
+    total.addTimes(metrics);
+    assertEquals(200, total.getCompletedTests());
+    assertEquals(Arrays.asList(slowest.get(0), slowest.get(0)), total.findSlowest(2));
+    assertTrue(new GoTestMetrics().findSlowest(5).isEmpty());
+  }
+
+  @Test
+  public void testHung() {
+    final GoTestMetrics metrics = new GoTestMetrics();
+    metrics.onEvent(event("run", "TestA", Double.NaN), 1000L);
+    metrics.onEvent(event("run", "TestA/sub", Double.NaN), 2000L);
+    metrics.onEvent(event("run", "TestB", Double.NaN), 1000L);
+    metrics.onEvent(event("pause", "TestB", Double.NaN), 1500L);
+
+    assertNull(metrics.findHung(5000L, 5000L));
+    assertEquals("example.com/a TestA/sub", metrics.findHung(8000L, 5000L));
+
+    metrics.onEvent(event("pass", "TestA/sub", 1.0d), 8000L);
+    assertEquals("example.com/a TestA", metrics.findHung(8000L, 5000L));
+    metrics.onEvent(event("cont", "TestB", Double.NaN), 8000L);
+    assertEquals("example.com/a TestB", metrics.findHung(14000L, 5000L));
+
+    metrics.onEvent(new GoTestEvent("fail", "example.com/a", null, 10.0d, null), 14000L);
+    assertNull(metrics.findHung(100000L, 5000L));
+  }
+}
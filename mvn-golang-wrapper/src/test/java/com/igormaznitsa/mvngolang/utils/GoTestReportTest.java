@@ -0,0 +1,83 @@
+/*
+ * Copyright 2020 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.igormaznitsa.mvngolang.utils;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+public class GoTestReportTest {
+
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private static GoTestEvent event(final String action, final String pkg, final String test, final double elapsed, final String output) {
+    return new GoTestEvent(action, pkg, test, elapsed, output);
+  }
+
+  @Test
+  public void testSurefireReport() throws Exception {
+    final GoTestReport report = new GoTestReport();
+    report.onEvent(event("run", "example.com/a", "TestOk", Double.NaN, null));
+    report.onEvent(event("output", "example.com/a", "TestOk", Double.NaN, "=== RUN   TestOk\n"));
+    report.onEvent(event("pass", "example.com/a", "TestOk", 0.5d, null));
+    report.onEvent(event("run", "example.com/a", "TestBad", Double.NaN, null));
+    report.onEvent(event("output", "example.com/a", "TestBad", Double.NaN, "a_test.go:10: expected <1> & got \u0001 2\n"));
+    report.onEvent(event("fail", "example.com/a", "TestBad", 0.25d, null));
+    report.onEvent(event("run", "example.com/a", "TestSkip", Double.NaN, null));
+    report.onEvent(event("skip", "example.com/a", "TestSkip", 0.0d, null));
+    report.onEvent(event("output", "example.com/a", null, Double.NaN, "FAIL\n"));
+    report.onEvent(event("fail", "example.com/a", null, 1.5d, null));
+
+    report.onEvent(event("output", "example.com/b", null, Double.NaN, "# example.com/b\nb.go:3: syntax error\n"));
+    report.onEvent(event("fail", "example.com/b", null, 0.0d, null));
+
+    report.onEvent(event("skip", "example.com/c", null, 0.0d, null));
+
+    assertEquals("Tests run: 4, Failures: 1, Errors: 1, Skipped: 1", report.makeSummary());
+    assertEquals(1.5d, report.getPackageTimes().get("example.com/a"), 0.0001d);
+    assertEquals(3, report.getPackageTimes().size());
+
+    final File folder = this.tempFolder.newFolder("reports");
+    final List<File> files = report.writeSurefireReports(folder);
+    assertEquals(2, files.size());
+
+    final String a = new String(Files.readAllBytes(new File(folder, "TEST-example.com.a.xml").toPath()), StandardCharsets.UTF_8);
+    assertTrue(a.contains("<testsuite name=\"example.com/a\" tests=\"3\" failures=\"1\" errors=\"0\" skipped=\"1\" time=\"1.500\">"));
+    assertTrue(a.contains("<testcase name=\"TestOk\" classname=\"example.com/a\" time=\"0.500\">"));
+    assertTrue(a.contains("expected &lt;1&gt; &amp; got  2"));
+    assertTrue(a.contains("<skipped"));
+
+    final String b = new String(Files.readAllBytes(new File(folder, "TEST-example.com.b.xml").toPath()), StandardCharsets.UTF_8);
+    assertTrue(b.contains("errors=\"1\""));
+    assertTrue(b.contains("b.go:3: syntax error"));
+
+    assertFalse(new File(folder, "TEST-example.com.c.xml").exists());
+  }
+
+  @Test
+  public void testNotCompletedTestIsError() {
+    final GoTestReport report = new GoTestReport();
+    report.onEvent(event("run", "example.com/a", "TestHang", Double.NaN, null));
+    report.onEvent(event("fail", "example.com/a", null, 10.0d, null));
+    assertEquals("Tests run: 1, Failures: 0, Errors: 1, Skipped: 0", report.makeSummary());
+  }
+}
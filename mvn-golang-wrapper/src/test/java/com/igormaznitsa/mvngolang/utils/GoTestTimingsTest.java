@@ -0,0 +1,69 @@
+/*
+ * Copyright 2020 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.igormaznitsa.mvngolang.utils;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+public class GoTestTimingsTest {
+
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  @Test
+  public void testSaveLoad() throws Exception {
+    final File file = new File(this.tempFolder.getRoot(), "sub/timings.properties");
+    assertTrue(Double.isNaN(GoTestTimings.load(file).find("a")));
+
+    final GoTestTimings timings = new GoTestTimings();
+    timings.update(Collections.singletonMap("example.com/a", 2.5d));
+    timings.save(file);
+
+    assertEquals(2.5d, GoTestTimings.load(file).find("example.com/a"), 0.0001d);
+  }
+
+  @Test
+  public void testSplitBalancedByTime() {
+    final GoTestTimings timings = new GoTestTimings();
+    final Map<String, Double> times = new HashMap<>();
+    times.put("a", 10.0d);
+    times.put("b", 6.0d);
+    times.put("c", 5.0d);
+    times.put("d", 1.0d);
+    timings.update(times);
+
+    final List<List<String>> shards = timings.split(Arrays.asList("d", "c", "b", "a"), 2);
+    assertEquals(2, shards.size());
+    assertEquals(Arrays.asList("a", "d"), shards.get(0));
+    assertEquals(Arrays.asList("b", "c"), shards.get(1));
+  }
+
+  @Test
+  public void testSplitUnknownAndEmptyShards() {
+    final List<List<String>> shards = new GoTestTimings().split(Arrays.asList("a", "b"), 5);
+    assertEquals(2, shards.size());
+    assertEquals(Collections.singletonList("a"), shards.get(0));
+    assertEquals(Collections.singletonList("b"), shards.get(1));
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2020 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.igormaznitsa.mvngolang.utils;
+
+import java.io.File;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+public class InterProcessLockTest {
+
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  @Test(timeout = 10000L)
+  public void testWaitForLockOwnedByAnotherThread() throws Exception {
+    final File lockFile = new File(this.tempFolder.getRoot(), ".go1.14.lock");
+    final CountDownLatch waiting = new CountDownLatch(1);
+    final AtomicBoolean acquired = new AtomicBoolean();
+
+    final Thread thread;
+    try (final InterProcessLock lock = InterProcessLock.acquire(lockFile, null)) {
+      assertTrue(lockFile.isFile());
+      assertEquals(lockFile.getCanonicalFile(), lock.getFile());
+      thread = new Thread(() -> {
+        try (final InterProcessLock other = InterProcessLock.acquire(lockFile, waiting::countDown)) {
+          acquired.set(other.getFile().isFile());
+        } catch (Exception ex) {
+          throw new RuntimeException(ex);
+        }
+      });
+      thread.start();
+      assertTrue(waiting.await(5L, TimeUnit.SECONDS));
+      assertFalse(acquired.get());
+    }
+    thread.join();
+    assertTrue(acquired.get());
+  }
+
+  @Test
+  public void testDifferentFilesDontBlock() throws Exception {
+    try (final InterProcessLock a = InterProcessLock.acquire(new File(this.tempFolder.getRoot(), ".a.lock"), () -> fail("Must not wait"))) {
+      assertTrue(a.getFile().isFile());
+      final AtomicBoolean acquired = new AtomicBoolean();
+      final Thread thread = new Thread(() -> {
+        try (final InterProcessLock b = InterProcessLock.acquire(new File(this.tempFolder.getRoot(), ".b.lock"), null)) {
+          acquired.set(b.getFile().isFile());
+        } catch (Exception ex) {
+          throw new RuntimeException(ex);
+        }
+      });
+      thread.start();
+      thread.join(5000L);
+      assertTrue(acquired.get());
+    }
+  }
+
+  @Test
+  public void testReentrantInSameThread() throws Exception {
+    final File lockFile = new File(this.tempFolder.getRoot(), ".go.lock");
+    try (final InterProcessLock a = InterProcessLock.acquire(lockFile, null)) {
+      try (final InterProcessLock b = InterProcessLock.acquire(lockFile, () -> fail("Must not wait"))) {
+        assertEquals(a.getFile(), b.getFile());
+      }
+    }
+  }
+}
@@ -15,8 +15,28 @@
  */
 package com.igormaznitsa.mvngolang.utils;
 
+import com.igormaznitsa.mvngolang.AbstractGolangMojo;
+import com.igormaznitsa.mvngolang.GolangMvnInstallMojo;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.apache.maven.project.MavenProject;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import static org.junit.Assert.*;
 
 public class MavenUtilsTest {
@@ -45,4 +65,99 @@ public class MavenUtilsTest {
     assertEquals(artifact, MavenUtils.parseArtifactRecord(MavenUtils.makeArtifactRecord(artifact), new MvnGolangArtifactHandler()));
   }
   
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private static Artifact makeGoArtifact(final String id) {
+    return new DefaultArtifact("com.igormaznitsa", id, "1.0", "compile", AbstractGolangMojo.GOARTIFACT_PACKAGING, null, new MvnGolangArtifactHandler());
+  }
+
+  private File makeGoArtifactFile(final String id, final String... dependencies) throws Exception {
+    final File result = this.tempFolder.newFile(id + ".zip");
+    try (final ZipOutputStream out = new ZipOutputStream(new FileOutputStream(result))) {
+      out.putNextEntry(new ZipEntry("src/" + id + "/main.go"));
+      out.write("package main".getBytes(StandardCharsets.UTF_8));
+      out.closeEntry();
+      if (dependencies.length > 0) {
+        final StringBuilder buffer = new StringBuilder();
+        for (final String d : dependencies) {
+          buffer.append(MavenUtils.makeArtifactRecord(makeGoArtifact(d))).append('\n');
+        }
+        out.putNextEntry(new ZipEntry(GolangMvnInstallMojo.MVNGOLANG_DEPENDENCIES_FILE));
+        out.write(buffer.toString().getBytes(StandardCharsets.UTF_8));
+        out.closeEntry();
+      }
+    }
+    return result;
+  }
+
+  private static List<String> scan(final MavenProject project, final Map<String, File> files, final Map<String, AtomicInteger> counters, final int threads, final ConcurrentMap<String, Object> cache) throws Exception {
+    final List<String> result = new ArrayList<>();
+    for (final Tuple<Artifact, File> t : MavenUtils.scanForMvnGoArtifacts(project, true, new SystemStreamLog(), threads, cache, artifact -> {
+      counters.computeIfAbsent(artifact.getArtifactId(), k -> new AtomicInteger()).incrementAndGet();
+      try {
+        Thread.sleep(artifact.getArtifactId().equals("a") ? 200L : 10L);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      }
+      return files.get(artifact.getArtifactId());
+    })) {
+      result.add(t.left().getArtifactId());
+    }
+    return result;
+  }
+
+  @Test
+  public void testScanForMvnGoArtifacts_ConcurrentOrderIsSequential() throws Exception {
+    final Map<String, File> files = new ConcurrentHashMap<>();
+    files.put("a", makeGoArtifactFile("a", "c", "d"));
+    files.put("b", makeGoArtifactFile("b", "d", "e"));
+    files.put("c", makeGoArtifactFile("c", "f"));
+    files.put("d", makeGoArtifactFile("d"));
+    files.put("e", makeGoArtifactFile("e", "a"));
+    files.put("f", makeGoArtifactFile("f"));
+
+    final Set<Artifact> dependencies = new LinkedHashSet<>();
+    dependencies.add(makeGoArtifact("a"));
+    dependencies.add(new DefaultArtifact("com.igormaznitsa", "t", "1.0", "test", "jar", null, new MvnGolangArtifactHandler()));
+    dependencies.add(makeGoArtifact("b"));
+    final MavenProject project = new MavenProject();
+    project.setDependencyArtifacts(dependencies);
+
+    final Map<String, AtomicInteger> sequentialCounters = new ConcurrentHashMap<>();
+    final List<String> sequential = scan(project, files, sequentialCounters, 1, null);
+    final Map<String, AtomicInteger> concurrentCounters = new ConcurrentHashMap<>();
+    final List<String> concurrent = scan(project, files, concurrentCounters, 4, null);
+
+    assertEquals("[a, b, c, d, e, f]", sequential.toString());
+    assertEquals(sequential, concurrent);
+    for (final AtomicInteger c : concurrentCounters.values()) {
+      assertEquals(1, c.get());
+    }
+  }
+
+  @Test
+  public void testScanForMvnGoArtifacts_SessionCache() throws Exception {
+    final Map<String, File> files = new ConcurrentHashMap<>();
+    files.put("a", makeGoArtifactFile("a", "b"));
+    files.put("b", makeGoArtifactFile("b"));
+
+    final Set<Artifact> dependencies = new LinkedHashSet<>();
+    dependencies.add(makeGoArtifact("a"));
+    final MavenProject project = new MavenProject();
+    project.setDependencyArtifacts(dependencies);
+
+    final ConcurrentMap<String, Object> cache = new ConcurrentHashMap<>();
+    final Map<String, AtomicInteger> counters = new ConcurrentHashMap<>();
+
+    assertEquals("[a, b]", scan(project, files, counters, 2, cache).toString());
+    assertEquals("[a, b]", scan(project, files, counters, 2, cache).toString());
+    assertEquals(1, counters.get("a").get());
+    assertEquals(1, counters.get("b").get());
+
+    assertTrue(files.get("b").setLastModified(files.get("b").lastModified() - 10000L));
+    assertEquals("[a, b]", scan(project, files, counters, 2, cache).toString());
+    assertEquals(1, counters.get("a").get());
+    assertEquals(2, counters.get("b").get());
+  }
 }
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2020 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.igormaznitsa.mvngolang.utils;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.message.BasicHttpResponse;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+public class PartialDownloadTest {
+
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private static HttpResponse makeResponse(final String etag) {
+    final HttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, "OK");
+    response.addHeader("ETag", etag);
+    response.addHeader("Last-Modified", "Thu, 09 Jan 2020 18:50:00 GMT");
+    response.addHeader("x-goog-hash", "crc32c=n03x6A==");
+    response.addHeader("x-goog-hash", "md5=Ojk9c3dhfxgoKVVHYwFbHQ==");
+    return response;
+  }
+
+  @Test
+  public void testNoStateForMissingFiles() {
+    assertNull(PartialDownload.load(new File(this.tempFolder.getRoot(), "go.tar.gz")));
+  }
+
+  @Test
+  public void testSaveLoad_SingleStream() throws Exception {
+    final File target = new File(this.tempFolder.getRoot(), "go.tar.gz");
+    final PartialDownload partial = PartialDownload.forFile(target);
+    Files.write(partial.getPartFile().toPath(), new byte[100]);
+    partial.rememberResource(makeResponse("\"abc\""), 1000L);
+    partial.setReceived(200L);
+    partial.save();
+
+    final PartialDownload loaded = PartialDownload.load(target);
+    assertNotNull(loaded);
+    assertEquals("\"abc\"", loaded.getIfRangeValue());
+    assertEquals(1000L, loaded.getContentLength());
+    assertEquals("received must be limited by part file length", 100L, loaded.getReceived());
+    assertTrue(loaded.getSegments().isEmpty());
+    assertTrue(loaded.isSameResource(makeResponse("\"abc\""), 1000L));
+    assertFalse(loaded.isSameResource(makeResponse("\"abd\""), 1000L));
+    assertFalse(loaded.isSameResource(makeResponse("\"abc\""), 1001L));
+
+    final XGoogHashHeader hash = new XGoogHashHeader(loaded.getHashHeaders());
+    assertTrue(hash.hasMd5());
+    assertTrue(hash.hasCrc32c());
+
+    loaded.complete(target);
+    assertTrue(target.isFile());
+    assertFalse(loaded.getPartFile().exists());
+    assertFalse(loaded.getStateFile().exists());
+  }
+
+  @Test
+  public void testSaveLoad_Segments() throws Exception {
+    final File target = new File(this.tempFolder.getRoot(), "go.zip");
+    final PartialDownload partial = PartialDownload.forFile(target);
+    Files.write(partial.getPartFile().toPath(), new byte[10]);
+    partial.rememberResource(makeResponse("\"abc\""), 10L);
+    partial.setSegments(Arrays.asList(new SegmentedDownloader.Segment(0L, 4L, 3L), new SegmentedDownloader.Segment(5L, 9L, 10L)));
+    partial.save();
+
+    final PartialDownload loaded = PartialDownload.load(target);
+    assertNotNull(loaded);
+    assertEquals(2, loaded.getSegments().size());
+    assertEquals(3L, loaded.getSegments().get(0).getLoaded());
+    assertFalse(loaded.getSegments().get(0).isCompleted());
+    assertTrue(loaded.getSegments().get(1).isCompleted());
+
+    loaded.delete();
+    assertFalse(loaded.getPartFile().exists());
+    assertFalse(loaded.getStateFile().exists());
+  }
+}
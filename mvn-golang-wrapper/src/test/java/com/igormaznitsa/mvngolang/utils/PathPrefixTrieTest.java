@@ -0,0 +1,52 @@
+/*
+ * Copyright 2020 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.igormaznitsa.mvngolang.utils;
+
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class PathPrefixTrieTest {
+
+  @Test
+  public void testFindAll() {
+    final PathPrefixTrie trie = new PathPrefixTrie();
+    assertTrue(trie.add("src", 0));
+    assertTrue(trie.add("./lib/src/", 1));
+    assertTrue(trie.add("lib", 2));
+    assertFalse(trie.add("  ", 3));
+    assertFalse(trie.add("../out", 3));
+
+    final List<PathPrefixTrie.Match> matches = trie.findAll("lib/src/a/a.go");
+    assertEquals(2, matches.size());
+    assertEquals(3, matches.get(0).getLength());
+    assertEquals(2, matches.get(0).getPriority());
+    assertEquals(7, matches.get(1).getLength());
+    assertEquals(1, matches.get(1).getPriority());
+
+    assertEquals(1, trie.findAll("src/main.go").size());
+    assertTrue(trie.findAll("srcx/main.go").isEmpty());
+    assertTrue(trie.findAll("other/src/main.go").isEmpty());
+  }
+
+  @Test
+  public void testMaxPriorityKept() {
+    final PathPrefixTrie trie = new PathPrefixTrie();
+    trie.add("src", 5);
+    trie.add("src/", 1);
+    assertEquals(5, trie.findAll("src/a.go").get(0).getPriority());
+  }
+}
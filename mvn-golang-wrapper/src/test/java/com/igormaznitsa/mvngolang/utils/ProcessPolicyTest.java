@@ -0,0 +1,65 @@
+/*
+ * Copyright 2020 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.igormaznitsa.mvngolang.utils;
+
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.SystemUtils;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.Assume;
+import org.junit.Test;
+import org.zeroturnaround.exec.ProcessExecutor;
+import org.zeroturnaround.exec.ProcessResult;
+import static org.junit.Assert.*;
+
+public class ProcessPolicyTest {
+
+  @Test
+  public void testMakeBackoff() {
+    final ProcessPolicy policy = new ProcessPolicy(0L, 0L, 10, 1000L, false);
+    assertEquals(1000L, policy.makeBackoff(1));
+    assertEquals(2000L, policy.makeBackoff(2));
+    assertEquals(4000L, policy.makeBackoff(3));
+    assertEquals(60000L, policy.makeBackoff(10));
+    assertEquals(0L, ProcessPolicy.NONE.makeBackoff(3));
+  }
+
+  @Test
+  public void testNoWatchdogWithoutTimeout() {
+    assertNull(ProcessPolicy.NONE.registerWatchdog(new ProcessExecutor("sh"), new SystemStreamLog()));
+  }
+
+  @Test(timeout = 30000L)
+  public void testWatchdogStopsProcess() throws Exception {
+    Assume.assumeFalse(SystemUtils.IS_OS_WINDOWS);
+    final ProcessPolicy policy = new ProcessPolicy(500L, 1000L, 0, 0L, false);
+    final ProcessExecutor executor = new ProcessExecutor("sh", "-c", "sleep 60 & sleep 60");
+    final ProcessWatchdog watchdog = policy.registerWatchdog(executor, new SystemStreamLog());
+    assertNotNull(watchdog);
+    final ProcessResult result = executor.executeNoTimeout();
+    assertTrue(watchdog.isKilled());
+    assertNotEquals(0, result.getExitValue());
+  }
+
+  @Test(timeout = 30000L)
+  public void testWatchdogDoesNotTouchFastProcess() throws Exception {
+    Assume.assumeFalse(SystemUtils.IS_OS_WINDOWS);
+    final ProcessPolicy policy = new ProcessPolicy(TimeUnit.SECONDS.toMillis(30L), 1000L, 0, 0L, false);
+    final ProcessExecutor executor = new ProcessExecutor("sh", "-c", "exit 0");
+    final ProcessWatchdog watchdog = policy.registerWatchdog(executor, new SystemStreamLog());
+    assertEquals(0, executor.executeNoTimeout().getExitValue());
+    assertFalse(watchdog.isKilled());
+  }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2020 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.igormaznitsa.mvngolang.utils;
+
+import java.io.File;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.message.BasicHttpResponse;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+public class SdkListCacheTest {
+
+  private static final String URL = "https://storage.googleapis.com/golang/?prefix=go1.14.linux-amd64";
+
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  @Test
+  public void testSaveLoadAndValidators() throws Exception {
+    final File folder = this.tempFolder.getRoot();
+
+    final SdkListCache empty = SdkListCache.forUrl(folder, URL);
+    assertNull(empty.getContent());
+    assertFalse(empty.isFresh(1000L, 0L));
+    final HttpGet noValidators = new HttpGet(URL);
+    empty.addValidators(noValidators);
+    assertEquals(0, noValidators.getAllHeaders().length);
+
+    final HttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, "OK");
+    response.addHeader("ETag", "\"abc\"");
+    response.addHeader("Last-Modified", "Tue, 15 Nov 1994 12:45:26 GMT");
+    empty.update(response, "<ListBucketResult/>", 10000L);
+
+    final SdkListCache loaded = SdkListCache.forUrl(folder, URL);
+    assertEquals("<ListBucketResult/>", loaded.getContent());
+    assertEquals(10000L, loaded.getCheckedTime());
+    assertTrue(loaded.isFresh(1000L, 10500L));
+    assertFalse(loaded.isFresh(1000L, 11000L));
+    assertFalse(loaded.isFresh(0L, 10000L));
+
+    final HttpGet get = new HttpGet(URL);
+    loaded.addValidators(get);
+    assertEquals("\"abc\"", get.getFirstHeader("If-None-Match").getValue());
+    assertEquals("Tue, 15 Nov 1994 12:45:26 GMT", get.getFirstHeader("If-Modified-Since").getValue());
+
+    loaded.markChecked(20000L);
+    assertEquals(20000L, SdkListCache.forUrl(folder, URL).getCheckedTime());
+    assertEquals("<ListBucketResult/>", SdkListCache.forUrl(folder, URL).getContent());
+  }
+
+  @Test
+  public void testOtherUrlIsNotMixed() throws Exception {
+    final File folder = this.tempFolder.getRoot();
+    SdkListCache.forUrl(folder, URL).update(new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, "OK"), "first", 1L);
+    assertNull(SdkListCache.forUrl(folder, URL + "1").getContent());
+    assertEquals("first", SdkListCache.forUrl(folder, URL).getContent());
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2020 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.igormaznitsa.mvngolang.utils;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+public class SdkManifestTest {
+
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private File makeSdk() throws Exception {
+    final File sdk = this.tempFolder.newFolder("go1.14.linux-amd64");
+    final File bin = new File(sdk, "bin");
+    assertTrue(bin.mkdirs());
+    Files.write(new File(bin, "go").toPath(), "go binary".getBytes(StandardCharsets.UTF_8));
+    Files.write(new File(sdk, "VERSION").toPath(), "go1.14".getBytes(StandardCharsets.UTF_8));
+    return sdk;
+  }
+
+  @Test
+  public void testCreateSaveLoad() throws Exception {
+    final File sdk = makeSdk();
+    final SdkManifest manifest = SdkManifest.create(sdk);
+    assertEquals(2, manifest.getEntries().size());
+    assertEquals("VERSION", manifest.getEntries().get(0).getPath());
+    assertEquals("bin/go", manifest.getEntries().get(1).getPath());
+
+    final File manifestFile = SdkManifest.findManifestFile(sdk);
+    assertEquals(new File(sdk.getParentFile(), ".go1.14.linux-amd64.manifest"), manifestFile);
+    manifest.save(manifestFile);
+
+    final SdkManifest loaded = SdkManifest.load(manifestFile);
+    assertNotNull(loaded);
+    assertEquals(manifest.getContentHash(), loaded.getContentHash());
+    assertNull(loaded.findMismatch(sdk));
+  }
+
+  @Test
+  public void testDamagedManifestIsIgnored() throws Exception {
+    final File sdk = makeSdk();
+    final File manifestFile = SdkManifest.findManifestFile(sdk);
+    SdkManifest.create(sdk).save(manifestFile);
+
+    final String text = new String(Files.readAllBytes(manifestFile.toPath()), StandardCharsets.UTF_8);
+    Files.write(manifestFile.toPath(), text.replace("bin/go", "bin/gx").getBytes(StandardCharsets.UTF_8));
+    assertNull(SdkManifest.load(manifestFile));
+    assertNull(SdkManifest.load(new File(sdk, "unknown")));
+  }
+
+  @Test
+  public void testFindMismatch() throws Exception {
+    final File sdk = makeSdk();
+    final SdkManifest manifest = SdkManifest.create(sdk);
+
+    Files.write(new File(sdk, "extra").toPath(), new byte[1]);
+    assertNull("Extra files must be ignored", manifest.findMismatch(sdk));
+
+    Files.write(new File(sdk, "VERSION").toPath(), "go1.14.1".getBytes(StandardCharsets.UTF_8));
+    assertTrue(manifest.findMismatch(sdk).contains("VERSION"));
+
+    Files.write(new File(sdk, "VERSION").toPath(), "go1.14".getBytes(StandardCharsets.UTF_8));
+    assertTrue(new File(sdk, "bin/go").delete());
+    assertTrue(manifest.findMismatch(sdk).contains("bin/go"));
+  }
+}
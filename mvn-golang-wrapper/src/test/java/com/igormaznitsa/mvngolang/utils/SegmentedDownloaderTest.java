@@ -0,0 +1,233 @@
+/*
+ * Copyright 2020 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.igormaznitsa.mvngolang.utils;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpHead;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+public class SegmentedDownloaderTest {
+
+  private static final Pattern RANGE = Pattern.compile("bytes=(\\d+)-(\\d+)");
+
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private HttpServer server;
+  private ExecutorService serverExecutor;
+  private byte[] content;
+  private final AtomicInteger rangeRequests = new AtomicInteger();
+  private volatile boolean allowRanges;
+  private volatile String etag;
+  private volatile long contentRangeShift;
+
+  @Before
+  public void startServer() throws Exception {
+    this.content = new byte[(int) (SegmentedDownloader.MIN_SEGMENT_SIZE * 3 + 12345)];
+    new Random(1234L).nextBytes(this.content);
+
+    this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    this.server.createContext("/sdk.tar.gz", this::handle);
+    this.serverExecutor = Executors.newCachedThreadPool();
+    this.server.setExecutor(this.serverExecutor);
+    this.server.start();
+  }
+
+  @After
+  public void stopServer() {
+    this.server.stop(0);
+    this.serverExecutor.shutdownNow();
+  }
+
+  private void handle(final HttpExchange exchange) throws IOException {
+    exchange.getResponseHeaders().add("Content-Type", "application/octet-stream");
+    if (this.allowRanges) {
+      exchange.getResponseHeaders().add("Accept-Ranges", "bytes");
+    }
+    if (this.etag != null) {
+      exchange.getResponseHeaders().add("ETag", this.etag);
+    }
+    final String range = exchange.getRequestHeaders().getFirst("Range");
+    final String ifRange = exchange.getRequestHeaders().getFirst("If-Range");
+    if ("HEAD".equals(exchange.getRequestMethod())) {
+      exchange.getResponseHeaders().add("Content-Length", Integer.toString(this.content.length));
+      exchange.sendResponseHeaders(200, -1);
+    } else if (range != null && this.allowRanges && (ifRange == null || ifRange.equals(this.etag))) {
+      final Matcher m = RANGE.matcher(range);
+      assertTrue(m.matches());
+      final int start = Integer.parseInt(m.group(1));
+      final int end = Integer.parseInt(m.group(2));
+      this.rangeRequests.incrementAndGet();
+      exchange.getResponseHeaders().add("Content-Range", "bytes " + (start + this.contentRangeShift) + '-' + (end + this.contentRangeShift) + '/' + this.content.length);
+      exchange.sendResponseHeaders(206, end - start + 1);
+      try (final OutputStream out = exchange.getResponseBody()) {
+        out.write(this.content, start, end - start + 1);
+      }
+    } else {
+      exchange.sendResponseHeaders(200, this.content.length);
+      try (final OutputStream out = exchange.getResponseBody()) {
+        out.write(this.content);
+      }
+    }
+    exchange.close();
+  }
+
+  private String makeUrl() {
+    return "http://127.0.0.1:" + this.server.getAddress().getPort() + "/sdk.tar.gz";
+  }
+
+  @Test
+  public void testSplitIntoSegments() {
+    final List<SegmentedDownloader.Segment> segments = SegmentedDownloader.splitIntoSegments(10L, 3);
+    assertEquals(3, segments.size());
+    assertEquals(0L, segments.get(0).getStart());
+    assertEquals(2L, segments.get(0).getEnd());
+    assertEquals(3L, segments.get(1).getStart());
+    assertEquals(5L, segments.get(1).getEnd());
+    assertEquals(6L, segments.get(2).getStart());
+    assertEquals(9L, segments.get(2).getEnd());
+    assertEquals(4L, segments.get(2).getLength());
+  }
+
+  @Test
+  public void testCalculateSegmentNumber() {
+    assertEquals(1, SegmentedDownloader.calculateSegmentNumber(-1L, 8));
+    assertEquals(1, SegmentedDownloader.calculateSegmentNumber(100L, 8));
+    assertEquals(1, SegmentedDownloader.calculateSegmentNumber(SegmentedDownloader.MIN_SEGMENT_SIZE * 10, 1));
+    assertEquals(3, SegmentedDownloader.calculateSegmentNumber(SegmentedDownloader.MIN_SEGMENT_SIZE * 3, 8));
+    assertEquals(8, SegmentedDownloader.calculateSegmentNumber(SegmentedDownloader.MIN_SEGMENT_SIZE * 100, 8));
+  }
+
+  @Test
+  public void testDownloadThroughRanges() throws Exception {
+    this.allowRanges = true;
+    final File target = new File(this.tempFolder.getRoot(), "sdk.tar.gz");
+    try (final CloseableHttpClient client = HttpClients.custom().setMaxConnPerRoute(8).setMaxConnTotal(8).build()) {
+      final HttpResponse head = client.execute(new HttpHead(makeUrl()));
+      assertTrue(SegmentedDownloader.isRangeSupported(head));
+
+      final long[] lastProgress = new long[1];
+      SegmentedDownloader.download(new SystemStreamLog(), client, null, makeUrl(), null, target, this.content.length, 4, x -> lastProgress[0] = x);
+      assertEquals(this.content.length, lastProgress[0]);
+    }
+    assertEquals(4, this.rangeRequests.get());
+    assertArrayEquals(this.content, Files.readAllBytes(target.toPath()));
+  }
+
+  @Test
+  public void testContinuePartiallyLoadedSegments() throws Exception {
+    this.allowRanges = true;
+    final File target = new File(this.tempFolder.getRoot(), "sdk.tar.gz");
+
+    final int half = this.content.length / 2;
+    final byte[] partial = new byte[this.content.length];
+    System.arraycopy(this.content, 0, partial, 0, half);
+    Files.write(target.toPath(), partial);
+
+    final List<SegmentedDownloader.Segment> segments = Arrays.asList(
+        new SegmentedDownloader.Segment(0L, half - 1L, half),
+        new SegmentedDownloader.Segment(half, this.content.length - 1L, half));
+
+    try (final CloseableHttpClient client = HttpClients.custom().setMaxConnPerRoute(8).build()) {
+      SegmentedDownloader.download(new SystemStreamLog(), client, null, makeUrl(), null, target, this.content.length, segments, null);
+    }
+    assertEquals("Only incomplete segment must be requested", 1, this.rangeRequests.get());
+    assertTrue(segments.get(1).isCompleted());
+    assertArrayEquals(this.content, Files.readAllBytes(target.toPath()));
+  }
+
+  @Test
+  public void testRangesNotAdvertised() throws Exception {
+    this.allowRanges = false;
+    try (final CloseableHttpClient client = HttpClients.createDefault()) {
+      assertFalse(SegmentedDownloader.isRangeSupported(client.execute(new HttpHead(makeUrl()))));
+    }
+  }
+
+  @Test(expected = IOException.class)
+  public void testErrorIfServerIgnoresRange() throws Exception {
+    this.allowRanges = false;
+    final File target = new File(this.tempFolder.getRoot(), "sdk.tar.gz");
+    try (final CloseableHttpClient client = HttpClients.custom().setMaxConnPerRoute(8).build()) {
+      SegmentedDownloader.download(new SystemStreamLog(), client, null, makeUrl(), null, target, this.content.length, 4, null);
+    }
+  }
+
+  @Test
+  public void testIsContentRange() {
+    assertTrue(SegmentedDownloader.isContentRange("bytes 10-19/100", 10L, 19L, 100L));
+    assertTrue(SegmentedDownloader.isContentRange(" bytes 10-19/* ", 10L, 19L, 100L));
+    assertFalse(SegmentedDownloader.isContentRange("bytes 0-19/100", 10L, 19L, 100L));
+    assertFalse(SegmentedDownloader.isContentRange("bytes 10-19/101", 10L, 19L, 100L));
+    assertFalse(SegmentedDownloader.isContentRange("bytes */100", 10L, 19L, 100L));
+    assertFalse(SegmentedDownloader.isContentRange(null, 10L, 19L, 100L));
+  }
+
+  @Test
+  public void testDownloadWithIfRange() throws Exception {
+    this.allowRanges = true;
+    this.etag = "\"v1\"";
+    final File target = new File(this.tempFolder.getRoot(), "sdk.tar.gz");
+    try (final CloseableHttpClient client = HttpClients.custom().setMaxConnPerRoute(8).build()) {
+      SegmentedDownloader.download(new SystemStreamLog(), client, null, makeUrl(), "\"v1\"", target, this.content.length, 4, null);
+    }
+    assertEquals(4, this.rangeRequests.get());
+    assertArrayEquals(this.content, Files.readAllBytes(target.toPath()));
+  }
+
+  @Test(expected = IOException.class)
+  public void testErrorIfResourceChanged() throws Exception {
+    this.allowRanges = true;
+    this.etag = "\"v2\"";
+    final File target = new File(this.tempFolder.getRoot(), "sdk.tar.gz");
+    try (final CloseableHttpClient client = HttpClients.custom().setMaxConnPerRoute(8).build()) {
+      SegmentedDownloader.download(new SystemStreamLog(), client, null, makeUrl(), "\"v1\"", target, this.content.length, 4, null);
+    }
+  }
+
+  @Test(expected = IOException.class)
+  public void testErrorIfWrongContentRange() throws Exception {
+    this.allowRanges = true;
+    this.contentRangeShift = 1L;
+    final File target = new File(this.tempFolder.getRoot(), "sdk.tar.gz");
+    try (final CloseableHttpClient client = HttpClients.custom().setMaxConnPerRoute(8).build()) {
+      SegmentedDownloader.download(new SystemStreamLog(), client, null, makeUrl(), null, target, this.content.length, 4, null);
+    }
+  }
+}
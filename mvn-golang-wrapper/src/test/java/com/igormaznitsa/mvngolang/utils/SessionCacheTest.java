@@ -0,0 +1,36 @@
+/*
+ * Copyright 2020 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.igormaznitsa.mvngolang.utils;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class SessionCacheTest {
+
+  @Test
+  public void testStoragePerSession() {
+    final Object session1 = new Object();
+    final Object session2 = new Object();
+
+    SessionCache.forSession(session1).put("goroot", "/sdk/go1.14");
+    assertSame(SessionCache.forSession(session1), SessionCache.forSession(session1));
+    assertEquals("/sdk/go1.14", SessionCache.forSession(session1).get("goroot"));
+    assertNull(SessionCache.forSession(session2).get("goroot"));
+
+    SessionCache.clear(session1);
+    assertNull(SessionCache.forSession(session1).get("goroot"));
+  }
+}
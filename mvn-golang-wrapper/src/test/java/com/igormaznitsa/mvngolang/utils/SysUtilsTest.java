@@ -15,6 +15,9 @@
  */
 package com.igormaznitsa.mvngolang.utils;
 
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.SystemUtils;
+import org.junit.Assume;
 import org.junit.Test;
 import static org.junit.Assert.*;
 
@@ -31,5 +34,13 @@ public class SysUtilsTest {
     assertEquals("amd64",SysUtils.decodeGoSdkArchType("amd64"));
     assertEquals("s390x",SysUtils.decodeGoSdkArchType("s390"));
   }
+
+  @Test
+  public void testDestroyProcessTree() throws Exception {
+    Assume.assumeFalse(SystemUtils.IS_OS_WINDOWS);
+    final Process process = new ProcessBuilder("sh", "-c", "sleep 60 & sleep 60").start();
+    SysUtils.destroyProcessTree(process);
+    assertTrue(process.waitFor(10L, TimeUnit.SECONDS));
+  }
   
 }
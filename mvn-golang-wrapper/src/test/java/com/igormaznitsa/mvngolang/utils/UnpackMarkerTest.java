@@ -0,0 +1,73 @@
+/*
+ * Copyright 2020 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.igormaznitsa.mvngolang.utils;
+
+import java.io.File;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+public class UnpackMarkerTest {
+
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  @Test
+  public void testMarkerFileIsOutOfFolder() {
+    final File folder = new File(this.tempFolder.getRoot(), "some-1.0");
+    assertEquals(new File(this.tempFolder.getRoot(), ".some-1.0.unpacked"), UnpackMarker.findMarkerFile(folder));
+  }
+
+  @Test
+  public void testIsActual() throws Exception {
+    final File archive = this.tempFolder.newFile("some-1.0.zip");
+    FileUtils.write(archive, "first", StandardCharsets.UTF_8);
+    final File folder = this.tempFolder.newFolder("some-1.0");
+
+    assertFalse(UnpackMarker.isActual(folder, archive));
+
+    UnpackMarker.of(archive).save(folder, archive);
+    assertTrue(UnpackMarker.isActual(folder, archive));
+
+    assertTrue(archive.setLastModified(archive.lastModified() - 10000L));
+    assertTrue(UnpackMarker.isActual(folder, archive));
+    assertEquals(archive.lastModified(), Long.parseLong(loadProperty(folder, "lastModified")));
+
+    FileUtils.write(archive, "second", StandardCharsets.UTF_8);
+    assertFalse(UnpackMarker.isActual(folder, archive));
+
+    UnpackMarker.delete(folder);
+    assertNull(UnpackMarker.load(folder));
+  }
+
+  @Test
+  public void testBrokenMarker() throws Exception {
+    final File folder = this.tempFolder.newFolder("some");
+    FileUtils.write(UnpackMarker.findMarkerFile(folder), "length=abc\nsha1=123", StandardCharsets.UTF_8);
+    assertNull(UnpackMarker.load(folder));
+  }
+
+  private static String loadProperty(final File folder, final String key) throws Exception {
+    final Properties properties = new Properties();
+    properties.load(new StringReader(FileUtils.readFileToString(UnpackMarker.findMarkerFile(folder), StandardCharsets.ISO_8859_1)));
+    return properties.getProperty(key);
+  }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2020 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.igormaznitsa.mvngolang.utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.apache.commons.codec.binary.Base64;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.http.Header;
+import org.apache.http.message.BasicHeader;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+public class UnpackUtilsTest {
+
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private static byte[] makeTarGz() throws IOException {
+    final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    try (final TarArchiveOutputStream out = new TarArchiveOutputStream(new GZIPOutputStream(buffer))) {
+      out.putArchiveEntry(new TarArchiveEntry("go/bin/", TarArchiveEntry.LF_DIR));
+      out.closeArchiveEntry();
+      addFile(out, "go/bin/go", "binary");
+      addFile(out, "go/VERSION", "go1.14");
+      addFile(out, "other/README", "ignored");
+    }
+    return buffer.toByteArray();
+  }
+
+  private static void addFile(final TarArchiveOutputStream out, final String name, final String text) throws IOException {
+    final byte[] data = text.getBytes(StandardCharsets.UTF_8);
+    final TarArchiveEntry entry = new TarArchiveEntry(name);
+    entry.setSize(data.length);
+    out.putArchiveEntry(entry);
+    out.write(data);
+    out.closeArchiveEntry();
+  }
+
+  @Test
+  public void testUnpackTarGzStreamWithHash() throws Exception {
+    final byte[] archive = makeTarGz();
+    final File folder = this.tempFolder.newFolder("sdk");
+
+    final XGoogHashHeader header = new XGoogHashHeader(new Header[] {new BasicHeader("x-goog-hash", "md5=" + Base64.encodeBase64String(DigestUtils.md5(archive)))});
+    final XGoogHashHeader.HashingInputStream in = header.makeHashingStream(new ByteArrayInputStream(archive));
+
+    assertEquals(2, UnpackUtils.unpackTarGzStreamToFolder(new SystemStreamLog(), "go", in, folder, false));
+    while (in.read() >= 0) {
+      // read rest of archive
+    }
+
+    assertTrue(in.isHashOk(new SystemStreamLog()));
+    assertEquals("binary", new String(Files.readAllBytes(new File(folder, "bin/go").toPath()), StandardCharsets.UTF_8));
+    assertEquals("go1.14", new String(Files.readAllBytes(new File(folder, "VERSION").toPath()), StandardCharsets.UTF_8));
+    assertFalse(new File(folder, "README").exists());
+  }
+
+  @Test
+  public void testHashingStreamDetectsWrongHash() throws Exception {
+    final byte[] archive = makeTarGz();
+    final XGoogHashHeader header = new XGoogHashHeader(new Header[] {new BasicHeader("x-goog-hash", "md5=" + Base64.encodeBase64String(DigestUtils.md5("other")))});
+    final XGoogHashHeader.HashingInputStream in = header.makeHashingStream(new ByteArrayInputStream(archive));
+    UnpackUtils.unpackTarGzStreamToFolder(new SystemStreamLog(), null, in, this.tempFolder.newFolder("sdk"), false);
+    while (in.read() >= 0) {
+      // read rest of archive
+    }
+    assertFalse(in.isHashOk(new SystemStreamLog()));
+  }
+
+  @Test
+  public void testUnpackZipConcurrently() throws Exception {
+    final File zip = new File(this.tempFolder.getRoot(), "sdk.zip");
+    try (final ZipOutputStream out = new ZipOutputStream(new FileOutputStream(zip))) {
+      out.putNextEntry(new ZipEntry("go/"));
+      out.closeEntry();
+      for (int i = 0; i < 200; i++) {
+        out.putNextEntry(new ZipEntry("go/pkg" + (i % 7) + "/file" + i + ".txt"));
+        out.write(("content" + i).getBytes(StandardCharsets.UTF_8));
+        out.closeEntry();
+      }
+      out.putNextEntry(new ZipEntry("other/file.txt"));
+      out.write(1);
+      out.closeEntry();
+    }
+
+    final File sequential = this.tempFolder.newFolder("seq");
+    final File concurrent = this.tempFolder.newFolder("con");
+    assertEquals(200, UnpackUtils.unpackFileToFolder(new SystemStreamLog(), "go", zip, sequential, true));
+    assertEquals(200, UnpackUtils.unpackFileToFolder(new SystemStreamLog(), "go", zip, concurrent, true, 4));
+
+    for (int i = 0; i < 200; i++) {
+      final File file = new File(concurrent, "pkg" + (i % 7) + "/file" + i + ".txt");
+      assertEquals("content" + i, new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+      assertEquals(new File(sequential, "pkg" + (i % 7) + "/file" + i + ".txt").canExecute(), file.canExecute());
+    }
+    assertFalse(new File(concurrent, "file.txt").exists());
+  }
+
+  @Test
+  public void testUnpackZipFoldersBySinglePass() throws Exception {
+    final File archive = this.tempFolder.newFile("dependency.zip");
+    try (final ZipOutputStream out = new ZipOutputStream(new FileOutputStream(archive))) {
+      for (final String[] e : new String[][] {
+        {".mvn-golang-build-folders", "src\nother/src\n"},
+        {"src/a/a.go", "package a"},
+        {"src/same.go", "first"},
+        {"other/src/b/b.go", "package b"},
+        {"other/src/same.go", "second"},
+        {"other/README", "ignored"},
+        {"srcx/c.go", "ignored"}
+      }) {
+        out.putNextEntry(new ZipEntry(e[0]));
+        out.write(e[1].getBytes(StandardCharsets.UTF_8));
+        out.closeEntry();
+      }
+    }
+
+    final File folder = this.tempFolder.newFolder("deps");
+    try (final ZipFile zip = new ZipFile(archive)) {
+      assertArrayEquals("src\nother/src\n".getBytes(StandardCharsets.UTF_8), UnpackUtils.readZipEntry(zip, ".mvn-golang-build-folders"));
+      assertNull(UnpackUtils.readZipEntry(zip, "unknown"));
+      assertEquals(3, UnpackUtils.unpackZipFolders(new SystemStreamLog(), zip, Arrays.asList("src", "other/src/"), folder, 2));
+    }
+
+    assertEquals("package a", new String(Files.readAllBytes(new File(folder, "a/a.go").toPath()), StandardCharsets.UTF_8));
+    assertEquals("package b", new String(Files.readAllBytes(new File(folder, "b/b.go").toPath()), StandardCharsets.UTF_8));
+    assertEquals("second", new String(Files.readAllBytes(new File(folder, "same.go").toPath()), StandardCharsets.UTF_8));
+    assertFalse(new File(folder, "c.go").exists());
+    assertFalse(new File(folder, "README").exists());
+  }
+}